@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.model.test.ModelTestModelControllerService;
+import org.jboss.as.model.test.ModelTestOperationValidatorFilter;
+import org.jboss.as.model.test.StringConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * An in-memory controller booted with a {@link BenchmarkModel}, using the model test framework's controller service.
+ */
+final class BenchmarkController implements AutoCloseable {
+
+    private final ServiceContainer container;
+    private final ExecutorService executor;
+    private final ModelController controller;
+    private final ModelControllerClient client;
+
+    /**
+     * Boots a controller.
+     *
+     * @param bootOperations the boot operations, e.g. from {@link BenchmarkModel#createBootOperations(int, int, int)}
+     * @throws Exception if the controller fails to boot
+     */
+    BenchmarkController(List<ModelNode> bootOperations) throws Exception {
+        container = ServiceContainer.Factory.create("benchmark");
+        executor = Executors.newCachedThreadPool();
+        boolean booted = false;
+        try {
+            final ControllerService svc = new ControllerService(bootOperations);
+            container.subTarget().addService(ServiceName.of("benchmark", "controller"), svc).install();
+            svc.waitForSetup();
+            if (!svc.isSuccessfulBoot()) {
+                throw new IllegalStateException("Boot failed", svc.getBootError());
+            }
+            controller = svc.getValue();
+            client = controller.createClient(executor);
+            booted = true;
+        } finally {
+            if (!booted) {
+                close();
+            }
+        }
+    }
+
+    ModelController getController() {
+        return controller;
+    }
+
+    ModelControllerClient getClient() {
+        return client;
+    }
+
+    /**
+     * Executes an operation, failing if it does not succeed.
+     *
+     * @param operation the operation
+     * @return the response
+     */
+    ModelNode execute(ModelNode operation) throws IOException {
+        final ModelNode response = client.execute(operation);
+        if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.toString());
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // in-memory clients don't fail to close
+            }
+        }
+        container.shutdown();
+        container.awaitTermination(30, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    private static final class ControllerService extends ModelTestModelControllerService {
+
+        ControllerService(List<ModelNode> bootOperations) {
+            super(ProcessType.STANDALONE_SERVER, new RunningModeControl(RunningMode.NORMAL), null,
+                    new StringConfigurationPersister(bootOperations, null, false), ModelTestOperationValidatorFilter.createValidateNone(),
+                    new SimpleResourceDefinition(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()),
+                    null, new CapabilityRegistry(true));
+        }
+
+        @Override
+        protected void initExtraModel(ManagementModel managementModel) {
+            final ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            // Described notifications, so that adding resources doesn't log a warning for each
+            GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+            rootRegistration.registerSubModel(BenchmarkModel.SUBSYSTEM_DEFINITION);
+        }
+    }
+}
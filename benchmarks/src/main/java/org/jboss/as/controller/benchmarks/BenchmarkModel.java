@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * The synthetic management model the benchmarks run against: any number of {@code subsystem=benchmark-<n>}
+ * resources, each with {@code item=<n>} children that in turn have {@code child=<n>} children. All resources are
+ * model only, so the benchmarks measure the controller rather than any runtime services.
+ */
+final class BenchmarkModel {
+
+    static final String SUBSYSTEM_PREFIX = "benchmark-";
+    static final String ITEM = "item";
+    static final String CHILD = "child";
+
+    static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .build();
+    static final SimpleAttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT, true)
+            .setAllowExpression(true)
+            .build();
+    static final SimpleAttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .build();
+
+    private static final AttributeDefinition[] ITEM_ATTRIBUTES = { VALUE, SIZE, ENABLED };
+    private static final AttributeDefinition[] CHILD_ATTRIBUTES = { VALUE };
+
+    /** The definition of {@code subsystem=*}, registered under the root */
+    static final ResourceDefinition SUBSYSTEM_DEFINITION = new ModelOnlyResourceDefinition(PathElement.pathElement(SUBSYSTEM),
+            new AttributeDefinition[0],
+            new ModelOnlyResourceDefinition(PathElement.pathElement(ITEM), ITEM_ATTRIBUTES,
+                    new ModelOnlyResourceDefinition(PathElement.pathElement(CHILD), CHILD_ATTRIBUTES)));
+
+    private BenchmarkModel() {
+    }
+
+    static PathAddress getSubsystemAddress(int subsystem) {
+        return PathAddress.pathAddress(SUBSYSTEM, SUBSYSTEM_PREFIX + subsystem);
+    }
+
+    static PathAddress getItemAddress(int subsystem, int item) {
+        return getSubsystemAddress(subsystem).append(ITEM, String.valueOf(item));
+    }
+
+    static PathAddress getChildAddress(int subsystem, int item, int child) {
+        return getItemAddress(subsystem, item).append(CHILD, String.valueOf(child));
+    }
+
+    /**
+     * Creates the operations that add a model of the given size.
+     *
+     * @param subsystems the number of subsystems
+     * @param items the number of items in each subsystem
+     * @param children the number of children of each item
+     * @return the operations
+     */
+    static List<ModelNode> createBootOperations(int subsystems, int items, int children) {
+        final List<ModelNode> ops = new ArrayList<>(subsystems * (1 + items * (1 + children)));
+        for (int s = 0; s < subsystems; s++) {
+            ops.add(Util.createAddOperation(getSubsystemAddress(s)));
+            for (int i = 0; i < items; i++) {
+                ops.add(createItemAddOperation(getItemAddress(s, i), i));
+                for (int c = 0; c < children; c++) {
+                    ModelNode op = Util.createAddOperation(getChildAddress(s, i, c));
+                    op.get(VALUE.getName()).set("child-" + c);
+                    ops.add(op);
+                }
+            }
+        }
+        return ops;
+    }
+
+    static ModelNode createItemAddOperation(PathAddress address, int index) {
+        ModelNode op = Util.createAddOperation(address);
+        op.get(VALUE.getName()).set("item-" + index);
+        op.get(SIZE.getName()).set(index);
+        op.get(ENABLED.getName()).set(index % 2 == 0);
+        return op;
+    }
+
+    private static final class ModelOnlyResourceDefinition extends SimpleResourceDefinition {
+
+        private final AttributeDefinition[] attributes;
+        private final ResourceDefinition[] children;
+
+        ModelOnlyResourceDefinition(PathElement path, AttributeDefinition[] attributes, ResourceDefinition... children) {
+            super(new Parameters(path, new NonResolvingResourceDescriptionResolver())
+                    .setAddHandler(new ModelOnlyAddStepHandler(attributes))
+                    .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE));
+            this.attributes = attributes;
+            this.children = children;
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            final ModelOnlyWriteAttributeHandler writeHandler = new ModelOnlyWriteAttributeHandler(attributes);
+            for (AttributeDefinition attribute : attributes) {
+                resourceRegistration.registerReadWriteAttribute(attribute, null, writeHandler);
+            }
+        }
+
+        @Override
+        public void registerChildren(ManagementResourceRegistration resourceRegistration) {
+            for (ResourceDefinition child : children) {
+                resourceRegistration.registerSubModel(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures booting a controller with a large synthetic model, from its boot operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BootBenchmark {
+
+    private static final int SUBSYSTEMS = 10;
+    private static final int CHILDREN = 5;
+
+    /** The number of items in each subsystem */
+    @Param({"100", "1000"})
+    public int items;
+
+    private List<ModelNode> bootOperations;
+    private List<ModelNode> invocationOperations;
+    private BenchmarkController controller;
+
+    @Setup
+    public void setup() {
+        bootOperations = BenchmarkModel.createBootOperations(SUBSYSTEMS, items, CHILDREN);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        // Boot from a copy, as a boot may modify its operations.
+        // Boots take milliseconds, so the overhead of per-invocation fixtures is negligible
+        invocationOperations = new ArrayList<>(bootOperations.size());
+        for (ModelNode op : bootOperations) {
+            invocationOperations.add(op.clone());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutdown() throws InterruptedException {
+        if (controller != null) {
+            controller.close();
+            controller = null;
+        }
+    }
+
+    @Benchmark
+    public BenchmarkController boot() throws Exception {
+        controller = new BenchmarkController(invocationOperations);
+        return controller;
+    }
+}
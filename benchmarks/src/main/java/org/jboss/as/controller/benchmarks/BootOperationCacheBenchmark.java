@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.persistence.BootOperationCache;
+import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
+import org.jboss.as.controller.persistence.XmlConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading the boot operations of a large configuration file by parsing it, against loading them from a
+ * {@link BootOperationCache}, as enabled by the {@value BootOperationCache#ENABLED_PROPERTY} system property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BootOperationCacheBenchmark {
+
+    private static final String NAMESPACE = "urn:jboss:benchmark:1.0";
+    private static final QName ROOT_ELEMENT = new QName(NAMESPACE, "server");
+    private static final int SUBSYSTEMS = 10;
+    private static final int CHILDREN = 5;
+
+    /** The number of items in each subsystem */
+    @Param({"100", "1000"})
+    public int items;
+
+    private File directory;
+    private XmlConfigurationPersister parsing;
+    private XmlConfigurationPersister cached;
+
+    @Setup
+    public void setup() throws IOException, ConfigurationPersistenceException {
+        directory = Files.createTempDirectory("boot-operation-cache").toFile();
+        final File configuration = new File(directory, "benchmark.xml");
+        writeConfiguration(configuration);
+
+        parsing = new XmlConfigurationPersister(configuration, ROOT_ELEMENT, new Parser(), null);
+        cached = new XmlConfigurationPersister(configuration, ROOT_ELEMENT, new Parser(), null);
+        cached.setBootOperationCache(new BootOperationCache(new File(directory, "benchmark.xml.boot-ops"), Module.getBootModuleLoader()));
+
+        final int expected = BenchmarkModel.createBootOperations(SUBSYSTEMS, items, CHILDREN).size();
+        // Populate the cache, and check both load the whole configuration
+        if (cached.load().size() != expected || cached.load().size() != expected || parsing.load().size() != expected) {
+            throw new IllegalStateException();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public List<ModelNode> parse() throws ConfigurationPersistenceException {
+        return parsing.load();
+    }
+
+    @Benchmark
+    public List<ModelNode> cached() throws ConfigurationPersistenceException {
+        return cached.load();
+    }
+
+    private void writeConfiguration(File file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<server xmlns=\"" + NAMESPACE + "\">\n");
+            for (int s = 0; s < SUBSYSTEMS; s++) {
+                writer.write("    <subsystem name=\"" + BenchmarkModel.SUBSYSTEM_PREFIX + s + "\">\n");
+                for (int i = 0; i < items; i++) {
+                    writer.write("        <item name=\"" + i + "\" value=\"item-" + i + "\" size=\"" + i
+                            + "\" enabled=\"" + (i % 2 == 0) + "\">\n");
+                    for (int c = 0; c < CHILDREN; c++) {
+                        writer.write("            <child name=\"" + c + "\" value=\"child-" + c + "\"/>\n");
+                    }
+                    writer.write("        </item>\n");
+                }
+                writer.write("    </subsystem>\n");
+            }
+            writer.write("</server>\n");
+        }
+    }
+
+    /** Parses the configuration into the same operations as {@link BenchmarkModel#createBootOperations} */
+    private static final class Parser implements XMLElementReader<List<ModelNode>> {
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> ops) throws XMLStreamException {
+            while (reader.nextTag() != END_ELEMENT) {
+                final PathAddress subsystem = PathAddress.pathAddress(SUBSYSTEM, reader.getAttributeValue(null, NAME));
+                ops.add(Util.createAddOperation(subsystem));
+                while (reader.nextTag() != END_ELEMENT) {
+                    final PathAddress itemAddress = subsystem.append(BenchmarkModel.ITEM, reader.getAttributeValue(null, NAME));
+                    final ModelNode item = Util.createAddOperation(itemAddress);
+                    BenchmarkModel.VALUE.parseAndSetParameter(reader.getAttributeValue(null, BenchmarkModel.VALUE.getXmlName()), item, reader);
+                    BenchmarkModel.SIZE.parseAndSetParameter(reader.getAttributeValue(null, BenchmarkModel.SIZE.getXmlName()), item, reader);
+                    BenchmarkModel.ENABLED.parseAndSetParameter(reader.getAttributeValue(null, BenchmarkModel.ENABLED.getXmlName()), item, reader);
+                    ops.add(item);
+                    while (reader.nextTag() != END_ELEMENT) {
+                        final ModelNode child = Util.createAddOperation(itemAddress.append(BenchmarkModel.CHILD, reader.getAttributeValue(null, NAME)));
+                        BenchmarkModel.VALUE.parseAndSetParameter(reader.getAttributeValue(null, BenchmarkModel.VALUE.getXmlName()), child, reader);
+                        ops.add(child);
+                        // No content
+                        reader.nextTag();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@code read-attribute} while another thread continuously writes to the model, against
+ * the same reads with no writes. Read-only operations execute against a snapshot of the published model, so
+ * the {@code readWhileWriting} reads should not be held up by the writes' hold on the controller lock.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentReadWriteBenchmark {
+
+    private static final int SUBSYSTEMS = 4;
+    private static final int ITEMS = 500;
+    private static final int CHILDREN = 5;
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private BenchmarkController controller;
+    private ModelNode read;
+    private PathAddress written;
+
+    @Setup
+    public void setup() throws Exception {
+        controller = new BenchmarkController(BenchmarkModel.createBootOperations(SUBSYSTEMS, ITEMS, CHILDREN));
+        // Read and write the same subsystem, so the reads would see the writes' changes if not isolated from them
+        read = Util.getReadAttributeOperation(BenchmarkModel.getItemAddress(0, 0), BenchmarkModel.VALUE.getName());
+        written = BenchmarkModel.getItemAddress(0, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        controller.close();
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(3)
+    public ModelNode readOnly() throws IOException {
+        return controller.execute(read);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public ModelNode readDuringWrites() throws IOException {
+        return controller.execute(read);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public ModelNode write() throws IOException {
+        return controller.execute(Util.getWriteAttributeOperation(written, BenchmarkModel.SIZE.getName(), counter.incrementAndGet()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code read-resource} of a single item, and recursively of a whole subsystem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReadResourceBenchmark {
+
+    private static final int SUBSYSTEMS = 4;
+    private static final int CHILDREN = 5;
+
+    /** The number of items in each subsystem */
+    @Param({"100", "1000"})
+    public int items;
+
+    private BenchmarkController controller;
+    private ModelNode readItem;
+    private ModelNode readSubsystemRecursive;
+
+    @Setup
+    public void setup() throws Exception {
+        controller = new BenchmarkController(BenchmarkModel.createBootOperations(SUBSYSTEMS, items, CHILDREN));
+        readItem = Util.createEmptyOperation(READ_RESOURCE_OPERATION, BenchmarkModel.getItemAddress(0, items / 2));
+        readSubsystemRecursive = Util.createEmptyOperation(READ_RESOURCE_OPERATION, BenchmarkModel.getSubsystemAddress(0));
+        readSubsystemRecursive.get(RECURSIVE).set(true);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        controller.close();
+    }
+
+    @Benchmark
+    public ModelNode readResource() throws IOException {
+        return controller.execute(readItem);
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive() throws IOException {
+        return controller.execute(readSubsystemRecursive);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.ModelControllerClientConfiguration;
+import org.jboss.as.controller.client.PooledModelControllerClientFactory;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.remote.ModelControllerClientOperationHandler;
+import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
+import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
+import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
+import org.jboss.dmr.ModelNode;
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.Endpoint;
+import org.jboss.remoting3.OpenListener;
+import org.jboss.remoting3.Registration;
+import org.jboss.remoting3.spi.NetworkServerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.security.auth.realm.SimpleMapBackedSecurityRealm;
+import org.wildfly.security.auth.server.MechanismConfiguration;
+import org.wildfly.security.auth.server.SaslAuthenticationFactory;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.permission.PermissionVerifier;
+import org.wildfly.security.sasl.util.SaslFactories;
+import org.xnio.IoUtils;
+import org.xnio.OptionMap;
+import org.xnio.StreamConnection;
+import org.xnio.channels.AcceptingChannel;
+
+/**
+ * Measures tooling that creates a remote client for each operation, such as a monitoring agent polling the
+ * controller, with a new connection per client and with clients from a {@link PooledModelControllerClientFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShortLivedClientBenchmark {
+
+    private static final int SUBSYSTEMS = 1;
+    private static final int ITEMS = 10;
+    private static final int CHILDREN = 1;
+
+    private BenchmarkController controller;
+    private ExecutorService executor;
+    private ResponseAttachmentInputStreamSupport responseAttachmentSupport;
+    private Endpoint endpoint;
+    private AcceptingChannel<StreamConnection> server;
+    private Registration registration;
+    private ModelControllerClientConfiguration.Builder clientConfiguration;
+    private PooledModelControllerClientFactory pooledFactory;
+    private ModelNode readItem;
+
+    @Setup
+    public void setup() throws Exception {
+        controller = new BenchmarkController(BenchmarkModel.createBootOperations(SUBSYSTEMS, ITEMS, CHILDREN));
+        executor = Executors.newCachedThreadPool();
+        responseAttachmentSupport = new ResponseAttachmentInputStreamSupport();
+        endpoint = Endpoint.builder().setEndpointName("benchmark-server").build();
+        final SecurityDomain.Builder domainBuilder = SecurityDomain.builder();
+        domainBuilder.addRealm("default", new SimpleMapBackedSecurityRealm()).build();
+        domainBuilder.setDefaultRealmName("default");
+        domainBuilder.setPermissionMapper((permissionMappable, roles) -> PermissionVerifier.ALL);
+        final SaslAuthenticationFactory saslAuthenticationFactory = SaslAuthenticationFactory.builder()
+                .setSecurityDomain(domainBuilder.build())
+                .setMechanismConfigurationSelector(mechanismInformation -> "ANONYMOUS".equals(mechanismInformation.getMechanismName()) ? MechanismConfiguration.EMPTY : null)
+                .setFactory(SaslFactories.getElytronSaslServerFactory())
+                .build();
+        server = endpoint.getConnectionProviderInterface("remote", NetworkServerProvider.class)
+                .createServer(new InetSocketAddress("127.0.0.1", 0), OptionMap.EMPTY, saslAuthenticationFactory, null);
+        registration = endpoint.registerService("management", new OpenListener() {
+            @Override
+            public void channelOpened(Channel channel) {
+                final ManagementChannelHandler handler = new ManagementChannelHandler(ManagementClientChannelStrategy.create(channel), executor);
+                handler.addHandlerFactory(new ModelControllerClientOperationHandler(controller.getController(), handler, responseAttachmentSupport, executor));
+                channel.addCloseHandler((closed, exception) -> handler.shutdownNow());
+                channel.receiveMessage(handler.getReceiver());
+            }
+
+            @Override
+            public void registrationTerminated() {
+            }
+        }, OptionMap.EMPTY);
+
+        clientConfiguration = new ModelControllerClientConfiguration.Builder()
+                .setProtocol("remote")
+                .setHostName("127.0.0.1")
+                .setPort(server.getLocalAddress(InetSocketAddress.class).getPort());
+        pooledFactory = PooledModelControllerClientFactory.create(clientConfiguration.build());
+        readItem = Util.createEmptyOperation(READ_RESOURCE_OPERATION, BenchmarkModel.getItemAddress(0, 0));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        pooledFactory.close();
+        IoUtils.safeClose(server);
+        IoUtils.safeClose(registration);
+        endpoint.closeAsync();
+        endpoint.awaitClosed();
+        responseAttachmentSupport.shutdown();
+        controller.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ModelNode connectionPerClient() throws IOException {
+        try (ModelControllerClient client = ModelControllerClient.Factory.create(clientConfiguration.build())) {
+            return execute(client);
+        }
+    }
+
+    @Benchmark
+    public ModelNode pooledClient() throws IOException {
+        try (ModelControllerClient client = pooledFactory.createClient()) {
+            return execute(client);
+        }
+    }
+
+    private ModelNode execute(ModelControllerClient client) throws IOException {
+        final ModelNode response = client.execute(readItem);
+        if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.toString());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.ResourceTransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures transforming a subsystem's resources, and an operation on one of them, for a legacy model version. The
+ * transformation rejects expressions, discards undefined attributes, renames an attribute and redirects a child
+ * type, as typical subsystem transformers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransformerBenchmark {
+
+    private static final ModelVersion LEGACY_VERSION = ModelVersion.create(1);
+    private static final int CHILDREN = 5;
+
+    /** The number of items in the subsystem */
+    @Param({"100", "1000"})
+    public int items;
+
+    private Resource root;
+    private ManagementResourceRegistration rootRegistration;
+    private Transformers transformers;
+    private TransformationTarget target;
+    private ModelNode writeAttribute;
+    private ModelNode add;
+
+    @Setup
+    public void setup() {
+        final PathAddress subsystem = BenchmarkModel.getSubsystemAddress(0);
+        final ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createInstance(subsystem.getLastElement());
+        builder.addChildResource(PathElement.pathElement(BenchmarkModel.ITEM))
+                .getAttributeBuilder()
+                    .addRejectCheck(RejectAttributeChecker.SIMPLE_EXPRESSIONS, BenchmarkModel.VALUE, BenchmarkModel.SIZE)
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, BenchmarkModel.ENABLED)
+                    .addRename(BenchmarkModel.ENABLED, "active")
+                    .end()
+                .addChildRedirection(PathElement.pathElement(BenchmarkModel.CHILD), PathElement.pathElement("entry"))
+                    .getAttributeBuilder()
+                    .addRejectCheck(RejectAttributeChecker.SIMPLE_EXPRESSIONS, BenchmarkModel.VALUE)
+                    .end();
+        final TransformerRegistry registry = TransformerRegistry.Factory.create();
+        TransformationDescription.Tools.register(builder.build(), registry.getServerRegistration(LEGACY_VERSION));
+
+        rootRegistration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.STANDALONE_SERVER)
+                .createRegistration(new SimpleResourceDefinition(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()));
+        rootRegistration.registerSubModel(BenchmarkModel.SUBSYSTEM_DEFINITION);
+
+        root = Resource.Factory.create();
+        final Resource subsystemResource = Resource.Factory.create();
+        root.registerChild(subsystem.getLastElement(), subsystemResource);
+        for (int i = 0; i < items; i++) {
+            final Resource item = Resource.Factory.create();
+            final ModelNode op = BenchmarkModel.createItemAddOperation(BenchmarkModel.getItemAddress(0, i), i);
+            item.getModel().get(BenchmarkModel.VALUE.getName()).set(op.get(BenchmarkModel.VALUE.getName()));
+            item.getModel().get(BenchmarkModel.SIZE.getName()).set(op.get(BenchmarkModel.SIZE.getName()));
+            item.getModel().get(BenchmarkModel.ENABLED.getName()).set(op.get(BenchmarkModel.ENABLED.getName()));
+            for (int c = 0; c < CHILDREN; c++) {
+                final Resource child = Resource.Factory.create();
+                child.getModel().get(BenchmarkModel.VALUE.getName()).set("child-" + c);
+                item.registerChild(PathElement.pathElement(BenchmarkModel.CHILD, String.valueOf(c)), child);
+            }
+            subsystemResource.registerChild(PathElement.pathElement(BenchmarkModel.ITEM, String.valueOf(i)), item);
+        }
+
+        target = TransformationTargetImpl.create(null, registry, LEGACY_VERSION, Collections.<PathAddress, ModelVersion>emptyMap(),
+                TransformationTarget.TransformationTargetType.SERVER);
+        transformers = Transformers.Factory.create(target);
+        writeAttribute = Util.getWriteAttributeOperation(BenchmarkModel.getItemAddress(0, 0), BenchmarkModel.ENABLED.getName(), true);
+        add = BenchmarkModel.createItemAddOperation(BenchmarkModel.getItemAddress(0, items), items);
+    }
+
+    @Benchmark
+    public Resource transformResource() throws OperationFailedException {
+        return transformers.transformResource(createContext(), root);
+    }
+
+    @Benchmark
+    public OperationTransformer.TransformedOperation transformWriteAttribute() throws OperationFailedException {
+        return transformers.transformOperation(createContext(), writeAttribute);
+    }
+
+    @Benchmark
+    public OperationTransformer.TransformedOperation transformAdd() throws OperationFailedException {
+        return transformers.transformOperation(createContext(), add);
+    }
+
+    private ResourceTransformationContext createContext() {
+        return Transformers.Factory.create(target, root, rootRegistration, ExpressionResolver.TEST_RESOLVER,
+                RunningMode.NORMAL, ProcessType.STANDALONE_SERVER, null);
+    }
+}
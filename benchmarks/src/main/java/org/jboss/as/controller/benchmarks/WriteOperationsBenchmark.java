@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmarks;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures operations that modify the model: {@code write-attribute}, a {@code composite} of writes to several
+ * resources, and adding then removing a resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WriteOperationsBenchmark {
+
+    private static final int SUBSYSTEMS = 4;
+    private static final int CHILDREN = 5;
+    private static final int COMPOSITE_STEPS = 10;
+
+    /** The number of items in each subsystem */
+    @Param({"100", "1000"})
+    public int items;
+
+    private BenchmarkController controller;
+    private PathAddress item;
+    private PathAddress added;
+    private int counter;
+
+    @Setup
+    public void setup() throws Exception {
+        controller = new BenchmarkController(BenchmarkModel.createBootOperations(SUBSYSTEMS, items, CHILDREN));
+        item = BenchmarkModel.getItemAddress(0, items / 2);
+        added = BenchmarkModel.getSubsystemAddress(0).append(BenchmarkModel.ITEM, "added");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        controller.close();
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() throws IOException {
+        return controller.execute(Util.getWriteAttributeOperation(item, BenchmarkModel.SIZE.getName(), counter++));
+    }
+
+    @Benchmark
+    public ModelNode composite() throws IOException {
+        final ModelNode composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        final ModelNode steps = composite.get(STEPS);
+        final int value = counter++;
+        for (int i = 0; i < COMPOSITE_STEPS; i++) {
+            PathAddress address = BenchmarkModel.getItemAddress(i % SUBSYSTEMS, i % items);
+            steps.add(Util.getWriteAttributeOperation(address, BenchmarkModel.SIZE.getName(), value));
+        }
+        return controller.execute(composite);
+    }
+
+    @Benchmark
+    public ModelNode addRemove() throws IOException {
+        controller.execute(BenchmarkModel.createItemAddOperation(added, counter++));
+        return controller.execute(Util.createRemoveOperation(added));
+    }
+}
@@ -28,6 +28,7 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.security.GeneralSecurityException;
+import java.util.Iterator;
 import java.util.Map;
 
 import javax.net.ssl.SSLContext;
@@ -178,6 +179,19 @@ public interface ModelControllerClient extends Closeable {
      */
     AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler);
 
+    /**
+     * Execute a sequence of independent operations, keeping up to {@code window} of them in flight at the same
+     * time rather than waiting for each response before sending the next operation. The returned pipeline
+     * provides the completions in the order they arrive.
+     *
+     * @param operations the operations to execute. Operations are only taken from it as earlier ones complete
+     * @param window the maximum number of operations in flight. Must be at least 1
+     * @return the pipeline. Will not be {@code null}
+     */
+    default OperationPipeline executePipelined(Iterator<? extends Operation> operations, int window) {
+        return new OperationPipeline(this, operations, window);
+    }
+
     /** Factory methods for creating a {@code ModelControllerClient}. */
     class Factory {
 
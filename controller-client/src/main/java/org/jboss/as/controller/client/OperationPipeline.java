@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.wildfly.common.Assert;
+
+/**
+ * Executes a sequence of independent operations with a bounded number of them in flight at the same time.
+ * <p>
+ * Rather than waiting for the response to each operation before sending the next one, up to {@code window}
+ * operations are {@link ModelControllerClient#executeAsync(Operation, OperationMessageHandler) executed
+ * asynchronously}, so a remote client pays roughly one round trip per window instead of one per operation. The
+ * completions are returned by this iterator in the order they arrive, which need not be the order the
+ * operations were submitted in; {@link Completion#getIndex()} identifies the operation.
+ * <p>
+ * Operations are only taken from the source iterator as completions are consumed, so no more than
+ * {@code window} operations are ever in flight or awaiting consumption. A pipeline is not thread safe and is
+ * meant to be consumed by a single thread. {@link #close() Closing} the pipeline cancels any operations still
+ * in flight.
+ *
+ * @see ModelControllerClient#executePipelined(Iterator, int)
+ */
+public final class OperationPipeline implements Iterator<OperationPipeline.Completion>, AutoCloseable {
+
+    private final ModelControllerClient client;
+    private final Iterator<? extends Operation> operations;
+    private final int window;
+    private final BlockingQueue<Completion> completed = new LinkedBlockingQueue<>();
+    private final List<AsyncFuture<ModelNode>> inFlight = new ArrayList<>();
+    private int submitted;
+    private int consumed;
+    private boolean closed;
+
+    OperationPipeline(final ModelControllerClient client, final Iterator<? extends Operation> operations, final int window) {
+        this.client = Assert.checkNotNullParam("client", client);
+        this.operations = Assert.checkNotNullParam("operations", operations);
+        Assert.checkMinimumParameter("window", 1, window);
+        this.window = window;
+    }
+
+    @Override
+    public boolean hasNext() {
+        submit();
+        return consumed < submitted;
+    }
+
+    /**
+     * Waits for the next operation to complete.
+     *
+     * @return the completion. Will not be {@code null}
+     * @throws NoSuchElementException if all operations have completed and been returned
+     * @throws CancellationException if the calling thread is interrupted while waiting; the pipeline is closed
+     */
+    @Override
+    public Completion next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Completion completion;
+        try {
+            completion = completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            final CancellationException ce = new CancellationException();
+            ce.initCause(e);
+            throw ce;
+        }
+        consumed++;
+        inFlight.remove(completion.future);
+        return completion;
+    }
+
+    /**
+     * Stops submitting operations and cancels those still in flight.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            for (AsyncFuture<ModelNode> future : inFlight) {
+                future.asyncCancel(true);
+            }
+        }
+    }
+
+    private void submit() {
+        while (!closed && submitted - consumed < window && operations.hasNext()) {
+            final Operation operation = operations.next();
+            final int index = submitted++;
+            final AsyncFuture<ModelNode> future = client.executeAsync(operation, OperationMessageHandler.DISCARD);
+            inFlight.add(future);
+            future.addListener(new AsyncFuture.AbstractListener<ModelNode, Void>() {
+                @Override
+                public void handleComplete(final AsyncFuture<? extends ModelNode> future, final Void attachment) {
+                    completed.add(new Completion(index, operation, future));
+                }
+
+                @Override
+                public void handleFailed(final AsyncFuture<? extends ModelNode> future, final Throwable cause, final Void attachment) {
+                    completed.add(new Completion(index, operation, future));
+                }
+
+                @Override
+                public void handleCancelled(final AsyncFuture<? extends ModelNode> future, final Void attachment) {
+                    completed.add(new Completion(index, operation, future));
+                }
+            }, null);
+        }
+    }
+
+    /**
+     * The outcome of one of the operations executed by a pipeline.
+     */
+    public static final class Completion {
+
+        private final int index;
+        private final Operation operation;
+        private final AsyncFuture<? extends ModelNode> future;
+
+        private Completion(final int index, final Operation operation, final AsyncFuture<? extends ModelNode> future) {
+            this.index = index;
+            this.operation = operation;
+            this.future = future;
+        }
+
+        /**
+         * Gets the position of the operation in the sequence of operations executed by the pipeline.
+         *
+         * @return the zero-based index of the operation
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the operation that was executed.
+         *
+         * @return the operation. Will not be {@code null}
+         */
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Gets the response to the operation.
+         *
+         * @return the response. Will not be {@code null}
+         * @throws IOException if the operation could not be executed
+         * @throws CancellationException if the operation was cancelled
+         */
+        public ModelNode getResponse() throws IOException {
+            try {
+                return future.getUninterruptibly();
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+        }
+    }
+}
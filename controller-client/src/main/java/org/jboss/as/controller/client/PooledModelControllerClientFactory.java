@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.impl.PooledConnectionManager;
+import org.wildfly.common.Assert;
+
+/**
+ * Creates {@link ModelControllerClient} instances which share a pool of authenticated connections.
+ * <p>
+ * {@link ModelControllerClient.Factory} opens a new remoting endpoint and connection for every client, including
+ * the authentication handshake. Tooling creating short-lived clients at a high rate, such as monitoring agents
+ * creating a client per poll, can instead create them from this factory: every client gets its own channel,
+ * multiplexed on a connection shared with other clients, and closing the client only closes the channel. The
+ * connections are closed when idle for too long and when the factory is closed.
+ */
+public final class PooledModelControllerClientFactory implements Closeable {
+
+    /**
+     * The default maximum number of clients sharing a connection.
+     */
+    public static final int DEFAULT_MAX_CHANNELS_PER_CONNECTION = 16;
+
+    /**
+     * The default time in seconds after which a connection without clients is closed.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 60;
+
+    private final PooledConnectionManager connectionManager;
+
+    private PooledModelControllerClientFactory(final PooledConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Creates a factory with the default pool settings.
+     *
+     * @param configuration the configuration of the connections. It is owned by the factory and closed with it
+     * @return the factory
+     * @throws IOException if the factory cannot be created
+     */
+    public static PooledModelControllerClientFactory create(final ModelControllerClientConfiguration configuration) throws IOException {
+        return create(configuration, DEFAULT_MAX_CHANNELS_PER_CONNECTION, DEFAULT_IDLE_TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a factory.
+     *
+     * @param configuration the configuration of the connections. It is owned by the factory and closed with it
+     * @param maxChannelsPerConnection the maximum number of clients sharing a connection. Must be at least 1
+     * @param idleTimeout the time after which a connection without clients is closed
+     * @param unit the unit of {@code idleTimeout}
+     * @return the factory
+     * @throws IOException if the factory cannot be created
+     */
+    public static PooledModelControllerClientFactory create(final ModelControllerClientConfiguration configuration, final int maxChannelsPerConnection,
+                                                            final long idleTimeout, final TimeUnit unit) throws IOException {
+        Assert.checkNotNullParam("configuration", configuration);
+        Assert.checkMinimumParameter("maxChannelsPerConnection", 1, maxChannelsPerConnection);
+        Assert.checkNotNullParam("unit", unit);
+        return new PooledModelControllerClientFactory(new PooledConnectionManager(configuration, maxChannelsPerConnection, idleTimeout, unit));
+    }
+
+    /**
+     * Creates a client. The client must be closed once it is no longer needed, which releases its channel.
+     *
+     * @return the client
+     * @throws IOException if no connection could be established
+     */
+    public ModelControllerClient createClient() throws IOException {
+        return connectionManager.createClient();
+    }
+
+    /**
+     * Gets the number of currently pooled connections.
+     *
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return connectionManager.getConnectionCount();
+    }
+
+    /**
+     * Closes all pooled connections, and with them any clients still open.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        connectionManager.close();
+    }
+}
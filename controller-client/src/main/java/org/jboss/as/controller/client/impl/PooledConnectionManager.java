@@ -0,0 +1,339 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.ModelControllerClientConfiguration;
+import org.jboss.as.controller.client.logging.ControllerClientLogger;
+import org.jboss.as.protocol.ProtocolConnectionConfiguration;
+import org.jboss.as.protocol.ProtocolConnectionUtils;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.as.protocol.logging.ProtocolLogger;
+import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
+import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
+import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
+import org.jboss.as.protocol.mgmt.TimeoutWheel;
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.Connection;
+import org.jboss.remoting3.Endpoint;
+import org.xnio.IoFuture;
+
+/**
+ * Shares authenticated remoting connections between {@link ModelControllerClient} instances.
+ * <p>
+ * Each client opens its own channel on one of the pooled connections, so creating a client only costs a channel
+ * open rather than a connection and SASL handshake, and clients can be used concurrently. A new connection is
+ * only opened once all pooled connections carry the maximum number of channels. Opening the channel validates
+ * the connection: a connection that fails to open one is evicted and the client is created on a new connection
+ * instead. Connections that were closed by the peer are evicted, as are connections left without channels for
+ * longer than the idle timeout.
+ */
+public final class PooledConnectionManager implements Closeable {
+
+    private static final String CHANNEL_SERVICE_TYPE = "management";
+
+    private final ModelControllerClientConfiguration clientConfiguration;
+    private final Endpoint endpoint;
+    private final ProtocolConnectionConfiguration configuration;
+    private final int maxChannelsPerConnection;
+    private final long idleTimeout;
+    private final List<PooledConnection> connections = new ArrayList<>();
+    // Idle timeouts need no more than a second of precision
+    private final TimeoutWheel idleTimer = new TimeoutWheel(1, TimeUnit.SECONDS, 64, "management-client-idle-timeout");
+    private boolean closed;
+
+    /**
+     * Creates a new connection manager.
+     *
+     * @param clientConfiguration the configuration of the connections, which is closed with the manager
+     * @param maxChannelsPerConnection the maximum number of clients sharing a connection
+     * @param idleTimeout the time after which a connection without clients is closed
+     * @param unit the unit of {@code idleTimeout}
+     * @throws IOException if the remoting endpoint cannot be created
+     */
+    public PooledConnectionManager(final ModelControllerClientConfiguration clientConfiguration, final int maxChannelsPerConnection,
+                                   final long idleTimeout, final TimeUnit unit) throws IOException {
+        this.clientConfiguration = clientConfiguration;
+        this.maxChannelsPerConnection = maxChannelsPerConnection;
+        this.idleTimeout = unit.toMillis(idleTimeout);
+        this.endpoint = Endpoint.builder().setEndpointName("management-client").build();
+        try {
+            this.configuration = ProtocolConfigurationFactory.create(clientConfiguration, endpoint);
+        } catch (Exception e) {
+            endpoint.closeAsync();
+            throw new IOException(e);
+        }
+        configuration.setCallbackHandler(clientConfiguration.getCallbackHandler());
+        configuration.setSaslOptions(clientConfiguration.getSaslOptions());
+        configuration.setSslContext(clientConfiguration.getSSLContext());
+    }
+
+    /**
+     * Creates a client using a channel on one of the pooled connections.
+     *
+     * @return the client
+     * @throws IOException if no connection could be established
+     */
+    public ModelControllerClient createClient() throws IOException {
+        IOException failure = null;
+        // Retry once, as a pooled connection might have died without that being noticed yet
+        for (int attempt = 0; attempt < 2; attempt++) {
+            final PooledConnection connection = acquire();
+            final Channel channel;
+            try {
+                channel = connection.openChannel();
+            } catch (IOException e) {
+                release(connection);
+                evict(connection);
+                failure = e;
+                continue;
+            }
+            return PooledModelControllerClient.create(channel, clientConfiguration, () -> release(connection));
+        }
+        throw failure;
+    }
+
+    /**
+     * Gets the number of pooled connections.
+     *
+     * @return the number of connections
+     */
+    public synchronized int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (PooledConnection connection : connections) {
+                connection.close();
+            }
+            connections.clear();
+        }
+        idleTimer.stop();
+        try {
+            endpoint.closeAsync();
+            endpoint.awaitClosed();
+        } catch (InterruptedException e) {
+            final InterruptedIOException cause = new InterruptedIOException(e.getLocalizedMessage());
+            cause.initCause(e);
+            throw cause;
+        } finally {
+            StreamUtils.safeClose(clientConfiguration);
+        }
+    }
+
+    private PooledConnection acquire() throws IOException {
+        final PooledConnection connection = reserve();
+        if (connection.connecting.compareAndSet(true, false)) {
+            // Connect outside the lock, so other clients can use the pooled connections in the meantime
+            connection.connect();
+        }
+        try {
+            connection.awaitConnected();
+        } catch (IOException | RuntimeException e) {
+            release(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Reserves a channel on a pooled connection, adding a connection still to be established if all are full.
+     */
+    private synchronized PooledConnection reserve() {
+        if (closed) {
+            throw ControllerClientLogger.ROOT_LOGGER.objectIsClosed(getClass().getSimpleName());
+        }
+        for (final Iterator<PooledConnection> i = connections.iterator(); i.hasNext(); ) {
+            final PooledConnection connection = i.next();
+            if (connection.dead) {
+                i.remove();
+                connection.close();
+            } else if (connection.channels < maxChannelsPerConnection) {
+                connection.acquire();
+                return connection;
+            }
+        }
+        final PooledConnection connection = new PooledConnection();
+        connections.add(connection);
+        connection.acquire();
+        return connection;
+    }
+
+    private synchronized void release(final PooledConnection connection) {
+        if (--connection.channels == 0 && !closed && !connection.dead) {
+            connection.idle = idleTimer.schedule(() -> {
+                // Don't contend for the pool on the timer thread
+                try {
+                    clientConfiguration.getExecutor().execute(() -> evictIfIdle(connection));
+                } catch (RejectedExecutionException e) {
+                    // The executor is shut down; the connection is closed along with the manager
+                }
+            }, idleTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void evictIfIdle(final PooledConnection connection) {
+        // The connection might have been used again since its idle timeout expired
+        if (connection.channels == 0 && connection.idle != null && connection.idle.isExpired()) {
+            evict(connection);
+        }
+    }
+
+    private synchronized void evict(final PooledConnection connection) {
+        if (connections.remove(connection)) {
+            connection.close();
+        }
+    }
+
+    private final class PooledConnection {
+
+        private final CompletableFuture<Connection> connection = new CompletableFuture<>();
+        // Set until the thread that reserved the connection takes over establishing it
+        private final AtomicBoolean connecting = new AtomicBoolean(true);
+        private volatile boolean dead;
+        // Guarded by the manager
+        private int channels;
+        private TimeoutWheel.Timeout idle;
+
+        void connect() {
+            try {
+                final Connection established = ProtocolConnectionUtils.connectSync(configuration);
+                established.addCloseHandler((closed, exception) -> dead = true);
+                connection.complete(established);
+            } catch (IOException | RuntimeException e) {
+                dead = true;
+                evict(this);
+                connection.completeExceptionally(e);
+            }
+        }
+
+        void awaitConnected() throws IOException {
+            try {
+                connection.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final InterruptedIOException cause = new InterruptedIOException(e.getLocalizedMessage());
+                cause.initCause(e);
+                throw cause;
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        void acquire() {
+            channels++;
+            if (idle != null) {
+                idle.cancel();
+                idle = null;
+            }
+        }
+
+        Channel openChannel() throws IOException {
+            final IoFuture<Channel> future = connection.join().openChannel(CHANNEL_SERVICE_TYPE, configuration.getOptionMap());
+            if (future.await(configuration.getConnectionTimeout(), TimeUnit.MILLISECONDS) == IoFuture.Status.WAITING) {
+                future.cancel();
+                throw ProtocolLogger.ROOT_LOGGER.channelTimedOut();
+            }
+            return future.get();
+        }
+
+        void close() {
+            if (idle != null) {
+                idle.cancel();
+                idle = null;
+            }
+            // A connection still being established is closed once it is
+            connection.thenAccept(Connection::closeAsync);
+        }
+    }
+
+    /**
+     * A client using its own channel on a pooled connection.
+     */
+    private static final class PooledModelControllerClient extends AbstractModelControllerClient {
+
+        private final ManagementChannelHandler handler;
+        private final Channel channel;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PooledModelControllerClient(final Channel channel, final ModelControllerClientConfiguration configuration) {
+            this.channel = channel;
+            this.handler = new ManagementChannelHandler(ManagementClientChannelStrategy.create(channel), configuration.getExecutor(), this);
+        }
+
+        static ModelControllerClient create(final Channel channel, final ModelControllerClientConfiguration configuration, final Runnable release) {
+            final PooledModelControllerClient client = new PooledModelControllerClient(channel, configuration);
+            channel.addCloseHandler((closed, exception) -> {
+                client.handler.handleChannelClosed(closed, exception);
+                if (client.released.compareAndSet(false, true)) {
+                    release.run();
+                }
+            });
+            channel.receiveMessage(client.handler.getReceiver());
+            return client;
+        }
+
+        @Override
+        protected ManagementChannelAssociation getChannelAssociation() {
+            return handler;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Don't allow any new request
+            handler.shutdown();
+            // Closing the channel releases it from its connection
+            channel.closeAsync();
+            handler.shutdownNow();
+            try {
+                handler.awaitCompletion(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link OperationPipeline}.
+ */
+public class OperationPipelineTestCase {
+
+    @Test
+    public void testWindowIsApplied() throws IOException {
+        final TestClient client = new TestClient();
+        final OperationPipeline pipeline = client.executePipelined(createOperations(10), 3);
+
+        assertTrue(pipeline.hasNext());
+        assertEquals(3, client.futures.size());
+
+        // Completions are returned in arrival order, and only then is another operation submitted
+        client.futures.get(1).complete();
+        OperationPipeline.Completion completion = pipeline.next();
+        assertEquals(1, completion.getIndex());
+        assertEquals(1, completion.getResponse().get("index").asInt());
+        assertEquals(1, completion.getOperation().getOperation().get("index").asInt());
+        assertTrue(pipeline.hasNext());
+        assertEquals(4, client.futures.size());
+
+        final BitSet seen = new BitSet();
+        seen.set(1);
+        while (pipeline.hasNext()) {
+            client.futures.stream().filter(f -> !f.isDone()).forEach(TestFuture::complete);
+            completion = pipeline.next();
+            assertFalse(seen.get(completion.getIndex()));
+            seen.set(completion.getIndex());
+            assertTrue(client.futures.stream().filter(f -> !f.isDone()).count() <= 3);
+        }
+        assertEquals(10, seen.cardinality());
+        assertEquals(10, client.futures.size());
+    }
+
+    @Test
+    public void testFailure() {
+        final TestClient client = new TestClient();
+        final OperationPipeline pipeline = client.executePipelined(createOperations(1), 1);
+        assertTrue(pipeline.hasNext());
+        client.futures.get(0).fail(new IOException("broken"));
+        try {
+            pipeline.next().getResponse();
+            fail();
+        } catch (IOException e) {
+            assertEquals("broken", e.getMessage());
+        }
+        assertFalse(pipeline.hasNext());
+    }
+
+    @Test
+    public void testCloseCancelsInFlight() {
+        final TestClient client = new TestClient();
+        final OperationPipeline pipeline = client.executePipelined(createOperations(5), 2);
+        assertTrue(pipeline.hasNext());
+        pipeline.close();
+        assertEquals(2, client.futures.size());
+        for (TestFuture future : client.futures) {
+            assertEquals(AsyncFuture.Status.CANCELLED, future.getStatus());
+        }
+        // Cancelled operations are still reported, but no more are submitted
+        for (int i = 0; i < 2; i++) {
+            assertEquals(AsyncFuture.Status.CANCELLED, client.futures.get(pipeline.next().getIndex()).getStatus());
+        }
+        assertFalse(pipeline.hasNext());
+        assertEquals(2, client.futures.size());
+    }
+
+    private static Iterator<Operation> createOperations(final int count) {
+        final List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final ModelNode op = new ModelNode();
+            op.get("index").set(i);
+            operations.add(Operation.Factory.create(op));
+        }
+        return operations.iterator();
+    }
+
+    private static class TestFuture extends AsyncFutureTask<ModelNode> {
+
+        private final Operation operation;
+
+        TestFuture(final Operation operation) {
+            super(Runnable::run);
+            this.operation = operation;
+        }
+
+        void complete() {
+            setResult(operation.getOperation().clone());
+        }
+
+        void fail(final Throwable cause) {
+            setFailed(cause);
+        }
+
+        @Override
+        public void asyncCancel(final boolean interruptionDesired) {
+            setCancelled();
+        }
+    }
+
+    private static class TestClient implements ModelControllerClient {
+
+        private final List<TestFuture> futures = new ArrayList<>();
+
+        @Override
+        public OperationResponse executeOperation(final Operation operation, final OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+            final TestFuture future = new TestFuture(operation);
+            futures.add(future);
+            return future;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> executeOperationAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.Connection;
+import org.jboss.remoting3.Endpoint;
+import org.jboss.remoting3.MessageInputStream;
+import org.jboss.remoting3.OpenListener;
+import org.jboss.remoting3.Registration;
+import org.jboss.remoting3.spi.NetworkServerProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.security.auth.realm.SimpleMapBackedSecurityRealm;
+import org.wildfly.security.auth.server.MechanismConfiguration;
+import org.wildfly.security.auth.server.SaslAuthenticationFactory;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.permission.PermissionVerifier;
+import org.wildfly.security.sasl.util.SaslFactories;
+import org.xnio.IoUtils;
+import org.xnio.OptionMap;
+import org.xnio.StreamConnection;
+import org.xnio.channels.AcceptingChannel;
+
+/**
+ * Tests of {@link PooledModelControllerClientFactory} against a remoting server accepting management channels.
+ */
+public class PooledModelControllerClientFactoryTestCase {
+
+    private final Map<Connection, Set<Channel>> serverChannels = new ConcurrentHashMap<>();
+    private Endpoint endpoint;
+    private Registration registration;
+    private AcceptingChannel<StreamConnection> server;
+    private int port;
+
+    @Before
+    public void startServer() throws Exception {
+        endpoint = Endpoint.builder().setEndpointName("server").build();
+        final SecurityDomain.Builder domainBuilder = SecurityDomain.builder();
+        domainBuilder.addRealm("default", new SimpleMapBackedSecurityRealm()).build();
+        domainBuilder.setDefaultRealmName("default");
+        domainBuilder.setPermissionMapper((permissionMappable, roles) -> PermissionVerifier.ALL);
+        final SaslAuthenticationFactory saslAuthenticationFactory = SaslAuthenticationFactory.builder()
+                .setSecurityDomain(domainBuilder.build())
+                .setMechanismConfigurationSelector(mechanismInformation -> "ANONYMOUS".equals(mechanismInformation.getMechanismName()) ? MechanismConfiguration.EMPTY : null)
+                .setFactory(SaslFactories.getElytronSaslServerFactory())
+                .build();
+        server = endpoint.getConnectionProviderInterface("remote", NetworkServerProvider.class)
+                .createServer(new InetSocketAddress("127.0.0.1", 0), OptionMap.EMPTY, saslAuthenticationFactory, null);
+        port = server.getLocalAddress(InetSocketAddress.class).getPort();
+        registration = endpoint.registerService("management", new OpenListener() {
+            @Override
+            public void channelOpened(Channel channel) {
+                final Set<Channel> channels = serverChannels.computeIfAbsent(channel.getConnection(), c -> ConcurrentHashMap.newKeySet());
+                channels.add(channel);
+                channel.addCloseHandler((closed, exception) -> channels.remove(closed));
+                channel.receiveMessage(new Channel.Receiver() {
+                    @Override
+                    public void handleError(Channel channel, IOException error) {
+                        channel.closeAsync();
+                    }
+
+                    @Override
+                    public void handleEnd(Channel channel) {
+                        channel.closeAsync();
+                    }
+
+                    @Override
+                    public void handleMessage(Channel channel, MessageInputStream message) {
+                        IoUtils.safeClose(message);
+                        channel.receiveMessage(this);
+                    }
+                });
+            }
+
+            @Override
+            public void registrationTerminated() {
+            }
+        }, OptionMap.EMPTY);
+    }
+
+    @After
+    public void stopServer() throws Exception {
+        IoUtils.safeClose(server);
+        IoUtils.safeClose(registration);
+        if (endpoint != null) {
+            endpoint.closeAsync();
+            endpoint.awaitClosed();
+        }
+    }
+
+    @Test
+    public void testClientsShareConnections() throws Exception {
+        try (PooledModelControllerClientFactory factory = createFactory(2, 60)) {
+            final ModelControllerClient first = factory.createClient();
+            final ModelControllerClient second = factory.createClient();
+            assertEquals(1, factory.getConnectionCount());
+            awaitServerConnections(1);
+
+            // The connection is full, so a new one is opened
+            final ModelControllerClient third = factory.createClient();
+            assertEquals(2, factory.getConnectionCount());
+            awaitServerConnections(2);
+
+            // Closing a client frees a channel for the next one
+            first.close();
+            awaitServerChannels(2);
+            final ModelControllerClient fourth = factory.createClient();
+            assertEquals(2, factory.getConnectionCount());
+            awaitServerChannels(3);
+            awaitServerConnections(2);
+
+            second.close();
+            third.close();
+            fourth.close();
+        }
+    }
+
+    @Test
+    public void testIdleConnectionIsClosed() throws Exception {
+        try (PooledModelControllerClientFactory factory = createFactory(2, 1)) {
+            factory.createClient().close();
+            assertEquals(1, factory.getConnectionCount());
+            final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (factory.getConnectionCount() > 0 && System.nanoTime() < end) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, factory.getConnectionCount());
+        }
+    }
+
+    @Test
+    public void testDeadConnectionIsEvicted() throws Exception {
+        try (PooledModelControllerClientFactory factory = createFactory(2, 60)) {
+            final ModelControllerClient client = factory.createClient();
+            awaitServerConnections(1);
+            final Connection connection = serverChannels.keySet().iterator().next();
+            connection.close();
+            client.close();
+
+            factory.createClient().close();
+            assertEquals(1, factory.getConnectionCount());
+            awaitServerConnections(2);
+            assertTrue(serverChannels.keySet().stream().anyMatch(c -> c != connection));
+        }
+    }
+
+    @Test
+    public void testConcurrentClientsReserveChannels() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (PooledModelControllerClientFactory factory = createFactory(4, 60)) {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<ModelControllerClient>> clients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    return factory.createClient();
+                }));
+            }
+            start.countDown();
+            for (Future<ModelControllerClient> client : clients) {
+                client.get(10, TimeUnit.SECONDS);
+            }
+            // Clients waiting for a connection being established share it rather than opening their own
+            assertEquals(2, factory.getConnectionCount());
+            awaitServerConnections(2);
+            awaitServerChannels(8);
+            for (Future<ModelControllerClient> client : clients) {
+                client.get().close();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PooledModelControllerClientFactory createFactory(int maxChannelsPerConnection, long idleTimeoutSeconds) throws Exception {
+        final ModelControllerClientConfiguration configuration = new ModelControllerClientConfiguration.Builder()
+                .setProtocol("remote")
+                .setHostName("127.0.0.1")
+                .setPort(port)
+                .build();
+        return PooledModelControllerClientFactory.create(configuration, maxChannelsPerConnection, idleTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    private void awaitServerConnections(int expected) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (serverChannels.size() != expected && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, serverChannels.size());
+    }
+
+    private void awaitServerChannels(int expected) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (serverChannels.values().stream().mapToInt(Set::size).sum() != expected && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, serverChannels.values().stream().mapToInt(Set::size).sum());
+    }
+}
@@ -618,6 +618,8 @@ public abstract class AbstractControllerService implements Service<ModelControll
             @Override
             public void run() {
                 try {
+                    // Ensure any deferred configuration writes complete before a reload or shutdown proceeds
+                    configurationPersister.flush();
                     stopAsynchronous(context);
                 } finally {
                     try {
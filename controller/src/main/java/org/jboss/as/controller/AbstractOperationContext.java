@@ -156,6 +156,10 @@ abstract class AbstractOperationContext implements OperationContext {
     private final Queue<String> missingNotificationDescriptionWarnings;
 
     Stage currentStage = Stage.MODEL;
+    /** Times the stages of the operation if operation statistics are enabled */
+    private ManagementOperationStatistics.StageTimer stageTimer;
+    /** The operation whose response goes to the outside caller */
+    private OperationId primaryOperationId;
 
     ResultAction resultAction;
     /** Tracks whether we've detected cancellation */
@@ -240,6 +244,15 @@ abstract class AbstractOperationContext implements OperationContext {
      */
     abstract ModelControllerImpl.ManagementModelImpl getManagementModel();
 
+    /**
+     * Gets the controller this context executes operations for.
+     *
+     * @return the controller. May be {@code null}
+     */
+    ModelControllerImpl getModelController() {
+        return controller;
+    }
+
     /**
      * Internal helper to read a resource from a given management model.
      *
@@ -460,6 +473,10 @@ abstract class AbstractOperationContext implements OperationContext {
     ResultAction executeOperation() {
 
         assert isControllingThread();
+        final ManagementOperationStatistics statistics = isBooting() ? null : getOperationStatistics();
+        if (statistics != null) {
+            stageTimer = statistics.startOperation();
+        }
         try {
             /** Execution has begun */
             executing = true;
@@ -492,12 +509,26 @@ abstract class AbstractOperationContext implements OperationContext {
                     }
                 }
             }
+            if (stageTimer != null && primaryOperationId != null && primaryOperationId.name != null) {
+                stageTimer.complete(primaryOperationId.name, primaryOperationId.address,
+                        getManagementModel().getRootResourceRegistration());
+            }
+            stageTimer = null;
         }
 
 
         return resultAction;
     }
 
+    /**
+     * Gets the statistics to which the timings of this operation should be recorded.
+     *
+     * @return the statistics, or {@code null} if timings should not be recorded
+     */
+    ManagementOperationStatistics getOperationStatistics() {
+        return null;
+    }
+
     /** Opportunity to do required cleanup after an exception propagated all the way to {@link #executeOperation()}.*/
     void handleUncaughtException(RuntimeException e) {
     }
@@ -707,6 +738,9 @@ abstract class AbstractOperationContext implements OperationContext {
                 // Proceed to the next stage
                 if (currentStage.hasNext()) {
                     currentStage = currentStage.next();
+                    if (stageTimer != null) {
+                        stageTimer.stageStarted(currentStage);
+                    }
                     if (currentStage == Stage.VERIFY) {
                         // a change was made to the runtime. Thus, we must wait
                         // for stability before resuming in to verify.
@@ -732,6 +766,10 @@ abstract class AbstractOperationContext implements OperationContext {
                 // The response to the first step is what goes to the outside caller
                 if (primaryResponse == null) {
                     primaryResponse = step.response;
+                    primaryOperationId = step.operationId;
+                }
+                if (stageTimer != null) {
+                    stageTimer.stepExecuted();
                 }
                 // Execute the step, but make sure we always finalize any steps
                 Throwable toThrow = null;
@@ -816,8 +854,12 @@ abstract class AbstractOperationContext implements OperationContext {
             // Prepare persistence of any configuration changes
             ConfigurationPersister.PersistenceResource persistenceResource = null;
             if (resultAction != ResultAction.ROLLBACK) {
+                final long persistenceStart = stageTimer == null ? 0 : System.nanoTime();
                 try {
                     persistenceResource = createPersistenceResource();
+                    if (stageTimer != null && persistenceResource != null) {
+                        stageTimer.persisted(persistenceStart);
+                    }
                 } catch (ConfigurationPersistenceException e) {
                     MGMT_OP_LOGGER.failedToPersistConfigurationChange(e);
                     primaryResponse.get(OUTCOME).set(FAILED);
@@ -849,11 +891,15 @@ abstract class AbstractOperationContext implements OperationContext {
 
             // Commit the persistence of any configuration changes
             if (persistenceResource != null) {
+                final long persistenceStart = stageTimer == null ? 0 : System.nanoTime();
                 if (resultAction == ResultAction.ROLLBACK) {
                     persistenceResource.rollback();
                 } else {
                     persistenceResource.commit();
                 }
+                if (stageTimer != null) {
+                    stageTimer.persisted(persistenceStart);
+                }
             }
         } catch (Throwable t) {
             toThrow = t;
@@ -1030,7 +1076,9 @@ abstract class AbstractOperationContext implements OperationContext {
             }
         } catch (Throwable t) {
             // Handling for throwables that don't implement OperationClientException marker interface
-            MGMT_OP_LOGGER.operationFailed(t, step.operation.get(OP), step.operation.get(OP_ADDR));
+            if (isUnexpectedFailureLogged()) {
+                MGMT_OP_LOGGER.operationFailed(t, step.operation.get(OP), step.operation.get(OP_ADDR));
+            }
 
             // Provide a failure description if there isn't one already
             if (!step.hasFailed()) {
@@ -1080,6 +1128,16 @@ abstract class AbstractOperationContext implements OperationContext {
         return isBooting() || currentStage == Stage.RUNTIME || currentStage == Stage.VERIFY;
     }
 
+    /**
+     * Gets whether the failure of a step that threw an exception not implementing {@link OperationClientException}
+     * should be logged.
+     *
+     * @return {@code true} unless the operation will be executed again by another context
+     */
+    boolean isUnexpectedFailureLogged() {
+        return true;
+    }
+
     private void handleContainerStabilityFailure(ModelNode response, Exception cause) {
         boolean interrupted = cause instanceof InterruptedException;
         assert interrupted || cause instanceof TimeoutException;
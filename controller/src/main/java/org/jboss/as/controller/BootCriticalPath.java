@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The critical path of a stage of parallel boot: the task that completed last, and so gated the stage, along with
+ * the task it had to wait for before starting, if any, and the slowest operations those tasks executed.
+ */
+final class BootCriticalPath {
+
+    /**
+     * A task executing boot operations concurrently with other tasks.
+     */
+    interface Task {
+
+        /**
+         * Gets the name of the task, e.g. the name of the subsystem whose operations it executes.
+         *
+         * @return the name. Will not return {@code null}
+         */
+        String getName();
+
+        /**
+         * Gets the {@link System#nanoTime() time} the task was scheduled.
+         *
+         * @return the time
+         */
+        long getScheduledTime();
+
+        /**
+         * Gets the {@link System#nanoTime() time} the task completed its operations.
+         *
+         * @return the time
+         */
+        long getPreparedTime();
+
+        /**
+         * Gets the task that had to complete before this one started.
+         *
+         * @return the task, or {@code null} if this task did not wait for another
+         */
+        Task getPredecessor();
+
+        /**
+         * Gets the timings of the operations this task executed.
+         *
+         * @return the timings. Will not return {@code null}
+         */
+        List<? extends OperationTime> getOperationTimes();
+    }
+
+    /**
+     * The time taken by the initial execution of a boot operation's handler.
+     */
+    interface OperationTime {
+
+        /**
+         * Gets the name of the operation.
+         *
+         * @return the name. Will not return {@code null}
+         */
+        String getOperationName();
+
+        /**
+         * Gets the address of the operation.
+         *
+         * @return the address. Will not return {@code null}
+         */
+        PathAddress getAddress();
+
+        /**
+         * Gets how long the handler took to execute.
+         *
+         * @return the time in nanoseconds
+         */
+        long getElapsedTime();
+    }
+
+    private final String task;
+    private final String predecessor;
+    private final long elapsedMillis;
+    private final List<String> slowestOperations;
+
+    private BootCriticalPath(final String task, final String predecessor, final long elapsedMillis, final List<String> slowestOperations) {
+        this.task = task;
+        this.predecessor = predecessor;
+        this.elapsedMillis = elapsedMillis;
+        this.slowestOperations = slowestOperations;
+    }
+
+    /**
+     * Determines the critical path of a stage.
+     *
+     * @param tasks the tasks that executed the stage's operations
+     * @param maxOperations the maximum number of operations to report
+     * @return the critical path, or {@code null} if there were no tasks
+     */
+    static BootCriticalPath of(final List<? extends Task> tasks, final int maxOperations) {
+        Task last = null;
+        long start = Long.MAX_VALUE;
+        for (Task task : tasks) {
+            start = Math.min(start, task.getScheduledTime());
+            if (last == null || task.getPreparedTime() > last.getPreparedTime()) {
+                last = task;
+            }
+        }
+        if (last == null) {
+            return null;
+        }
+        final Task predecessor = last.getPredecessor();
+        final List<OperationTime> times = new ArrayList<>(last.getOperationTimes());
+        if (predecessor != null) {
+            times.addAll(predecessor.getOperationTimes());
+        }
+        times.sort((a, b) -> Long.compare(b.getElapsedTime(), a.getElapsedTime()));
+        final List<String> slowest = new ArrayList<>(Math.min(maxOperations, times.size()));
+        for (OperationTime time : times.subList(0, Math.min(maxOperations, times.size()))) {
+            slowest.add(time.getOperationName() + ' ' + time.getAddress().toCLIStyleString()
+                    + " [" + TimeUnit.NANOSECONDS.toMillis(time.getElapsedTime()) + " ms]");
+        }
+        return new BootCriticalPath(last.getName(), predecessor == null ? null : predecessor.getName(),
+                TimeUnit.NANOSECONDS.toMillis(last.getPreparedTime() - start), Collections.unmodifiableList(slowest));
+    }
+
+    /**
+     * Gets the name of the task that completed last.
+     *
+     * @return the name. Will not return {@code null}
+     */
+    String getTask() {
+        return task;
+    }
+
+    /**
+     * Gets the name of the task the last task waited for.
+     *
+     * @return the name, or {@code null} if the last task did not wait for another
+     */
+    String getPredecessor() {
+        return predecessor;
+    }
+
+    /**
+     * Gets the time from when the first task was scheduled until the last task completed.
+     *
+     * @return the time in milliseconds
+     */
+    long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets descriptions of the slowest operations of the last task and its predecessor, slowest first.
+     *
+     * @return the descriptions. Will not return {@code null}
+     */
+    List<String> getSlowestOperations() {
+        return slowestOperations;
+    }
+
+    @Override
+    public String toString() {
+        return (predecessor == null ? task : task + " following " + predecessor) + " after [" + elapsedMillis
+                + "] ms; slowest operations: " + String.join(", ", slowestOperations);
+    }
+}
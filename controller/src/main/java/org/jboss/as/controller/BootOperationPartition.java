@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits the {@link OperationContext.Stage#RUNTIME runtime} boot operations of a subsystem into lanes that can
+ * execute concurrently.
+ * <p>
+ * Operations are related if they target the same resource, if one targets a descendant of the other's resource
+ * other than the subsystem resource itself, or if a capability registered by one's resource requires a capability
+ * registered by the other's. Each group of related operations executes in its original order within a single
+ * lane, with unrelated groups distributed across the lanes. Operations targeting the subsystem resource itself
+ * form the {@link #getHead() head}, which must complete before any lane starts, as the subsystem's other
+ * resources commonly depend on it without expressing that via capabilities.
+ */
+final class BootOperationPartition {
+
+    private final List<ParsedBootOp> head;
+    private final List<List<ParsedBootOp>> lanes;
+
+    private BootOperationPartition(final List<ParsedBootOp> head, final List<List<ParsedBootOp>> lanes) {
+        this.head = head;
+        this.lanes = lanes;
+    }
+
+    /**
+     * Gets the operations that must complete before any lane starts.
+     *
+     * @return the operations. Will not return {@code null}
+     */
+    List<ParsedBootOp> getHead() {
+        return head;
+    }
+
+    /**
+     * Gets the lanes of operations, which can execute concurrently with each other.
+     *
+     * @return the lanes. Will not return {@code null}
+     */
+    List<List<ParsedBootOp>> getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Partitions a subsystem's boot operations.
+     *
+     * @param ops the subsystem's operations, in execution order
+     * @param requirementProviders map of the address of a resource that registered capabilities to the addresses
+     *                             of the resources registering capabilities they require
+     * @param maxLanes the maximum number of lanes to create
+     * @return the partition. Will not return {@code null}
+     */
+    static BootOperationPartition partition(final List<ParsedBootOp> ops, final Map<PathAddress, Set<PathAddress>> requirementProviders,
+                                            final int maxLanes) {
+        final List<ParsedBootOp> head = new ArrayList<>();
+        final List<ParsedBootOp> rest = new ArrayList<>();
+        for (ParsedBootOp op : ops) {
+            (op.address.size() <= 1 ? head : rest).add(op);
+        }
+
+        final int[] parents = new int[rest.size()];
+        final Map<PathAddress, Integer> byAddress = new HashMap<>();
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+            Integer existing = byAddress.putIfAbsent(rest.get(i).address, i);
+            if (existing != null) {
+                union(parents, existing, i);
+            }
+        }
+        for (int i = 0; i < parents.length; i++) {
+            PathAddress address = rest.get(i).address;
+            for (PathAddress ancestor = address.getParent(); ancestor.size() > 1; ancestor = ancestor.getParent()) {
+                Integer parent = byAddress.get(ancestor);
+                if (parent != null) {
+                    union(parents, parent, i);
+                    break;
+                }
+            }
+            Set<PathAddress> providers = requirementProviders.get(address);
+            if (providers != null) {
+                for (PathAddress provider : providers) {
+                    Integer providerIndex = byAddress.get(provider);
+                    if (providerIndex != null) {
+                        union(parents, providerIndex, i);
+                    }
+                }
+            }
+        }
+
+        // Group in order of each group's first operation, retaining the order within a group
+        final Map<Integer, List<ParsedBootOp>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < parents.length; i++) {
+            groups.computeIfAbsent(find(parents, i), k -> new ArrayList<>()).add(rest.get(i));
+        }
+        if (groups.size() < 2 || maxLanes < 2) {
+            // Nothing to gain from splitting
+            return new BootOperationPartition(Collections.<ParsedBootOp>emptyList(), Collections.singletonList(ops));
+        }
+
+        // Assign the largest remaining group to the least loaded lane
+        final List<List<ParsedBootOp>> sorted = new ArrayList<>(groups.values());
+        sorted.sort(Comparator.comparingInt(List::size));
+        Collections.reverse(sorted);
+        final List<List<ParsedBootOp>> lanes = new ArrayList<>();
+        for (List<ParsedBootOp> group : sorted) {
+            if (lanes.size() < maxLanes) {
+                lanes.add(new ArrayList<>(group));
+            } else {
+                List<ParsedBootOp> smallest = lanes.get(0);
+                for (List<ParsedBootOp> lane : lanes) {
+                    if (lane.size() < smallest.size()) {
+                        smallest = lane;
+                    }
+                }
+                smallest.addAll(group);
+            }
+        }
+        return new BootOperationPartition(head, lanes);
+    }
+
+    private static int find(final int[] parents, final int i) {
+        int root = i;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        for (int j = i; parents[j] != root; ) {
+            int next = parents[j];
+            parents[j] = root;
+            j = next;
+        }
+        return root;
+    }
+
+    private static void union(final int[] parents, final int a, final int b) {
+        int rootA = find(parents, a);
+        int rootB = find(parents, b);
+        if (rootA != rootB) {
+            // Keep the earliest operation as the root
+            if (rootA < rootB) {
+                parents[rootB] = rootA;
+            } else {
+                parents[rootA] = rootB;
+            }
+        }
+    }
+}
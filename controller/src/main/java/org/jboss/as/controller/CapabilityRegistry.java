@@ -908,6 +908,41 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    /**
+     * Gets the addresses of the resources that provide the capabilities required by the capabilities registered
+     * by other resources. Only requirements that are satisfied by a single capability are included.
+     *
+     * @return map of the address of a resource that registered a capability with requirements to the addresses of
+     *         the resources that registered the required capabilities. Will not return {@code null}
+     */
+    Map<PathAddress, Set<PathAddress>> getRequirementProviderPoints() {
+        readLock.lock();
+        try {
+            final Map<PathAddress, Set<PathAddress>> result = new HashMap<>();
+            for (Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirementMap : Arrays.asList(requirements, runtimeOnlyRequirements)) {
+                for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirementMap.entrySet()) {
+                    for (RuntimeRequirementRegistration req : entry.getValue().values()) {
+                        SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), entry.getKey().getScope(), false);
+                        RuntimeCapabilityRegistration provider = satisfactory == null || satisfactory.singleCapability == null
+                                ? null : capabilities.get(satisfactory.singleCapability);
+                        if (provider == null) {
+                            continue;
+                        }
+                        for (RegistrationPoint dependentPoint : req.getRegistrationPoints()) {
+                            Set<PathAddress> providers = result.computeIfAbsent(dependentPoint.getAddress(), k -> new HashSet<>());
+                            for (RegistrationPoint providerPoint : provider.getRegistrationPoints()) {
+                                providers.add(providerPoint.getAddress());
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     private void recordConsistentSets(Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency, Map<CapabilityScope, Set<CapabilityScope>> consistentSets, CapabilityScope dependentContext, Set<CapabilityScope> consistentSet, RuntimeRequirementRegistration req, SatisfactoryCapability satisfactory, CapabilityScope reqDependent) {
         Set<RuntimeRequirementRegistration> requiresForDependent = requiresConsistency.get(reqDependent);
         if (requiresForDependent == null) {
@@ -21,13 +21,18 @@
 */
 package org.jboss.as.controller;
 
+import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.dmr.ValueExpression;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Basic {@link ExpressionResolver} implementation.
@@ -40,7 +45,22 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * System property that, if {@code true}, enables caching of the result of resolving each expression string.
+     * Cached results are discarded by {@link #invalidateResolutionCaches()}, which the handlers for management
+     * resources that change system properties or vault configuration call, but not when other code changes
+     * system properties directly. Results that include a value provided by
+     * {@link #resolvePluggableExpression(ModelNode) pluggable resolution}, e.g. from a vault or credential store,
+     * are never cached.
+     */
+    public static final String RESOLUTION_CACHE_PROPERTY = "jboss.as.management.expression-resolution-cache";
+
+    private static final int MAX_CACHED_EXPRESSIONS = 4096;
+    private static final AtomicInteger RESOLUTION_CACHE_GENERATION = new AtomicInteger();
+
     private final boolean lenient;
+    private final boolean cacheResolution;
+    private volatile ResolutionCache resolutionCache;
 
     /**
      * Creates a new {@code ExpressionResolverImpl} configured to throw an OFE
@@ -58,7 +78,20 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      *                           if the node should be left as an unresolved expression
      */
     protected ExpressionResolverImpl(boolean lenient) {
+        this(lenient, Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(RESOLUTION_CACHE_PROPERTY, "false")));
+    }
+
+    ExpressionResolverImpl(boolean lenient, boolean cacheResolution) {
         this.lenient = lenient;
+        this.cacheResolution = cacheResolution;
+    }
+
+    /**
+     * Discards any results of expression resolution cached by resolvers. Must be called after a change that may
+     * alter the value an expression resolves to, e.g. setting a system property.
+     */
+    public static void invalidateResolutionCaches() {
+        RESOLUTION_CACHE_GENERATION.incrementAndGet();
     }
 
     @Override
@@ -81,7 +114,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         ModelType type = node.getType();
         ModelNode resolved;
         if (type == ModelType.EXPRESSION) {
-            resolved = resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true);
+            resolved = resolveExpression(node.asExpression().getExpressionString());
         } else if (type == ModelType.OBJECT) {
             resolved = node.clone();
             for (Property prop : resolved.asPropertyList()) {
@@ -105,6 +138,49 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return resolved;
     }
 
+    /**
+     * Resolve an expression string, using the result of a previous resolution if it is cached.
+     *
+     * @param expressionString the expression string from a node of {@link ModelType#EXPRESSION}
+     * @return the resolved node
+     * @throws OperationFailedException if the expression cannot be resolved
+     */
+    private ModelNode resolveExpression(final String expressionString) throws OperationFailedException {
+        final ResolutionCache cache = getResolutionCache();
+        if (cache == null) {
+            return resolveExpressionStringRecursively(expressionString, lenient, true, null);
+        }
+        final String cached = cache.resolved.get(expressionString);
+        if (cached != null) {
+            return new ModelNode(cached);
+        }
+        final AtomicBoolean pluggable = new AtomicBoolean();
+        final ModelNode resolved = resolveExpressionStringRecursively(expressionString, lenient, true, pluggable);
+        // Expressions left unresolved by a lenient resolver may become resolvable without invalidation,
+        // e.g. once a deferred system property is set, so only cache complete resolutions. Values from pluggable
+        // sources may be secrets and may change without invalidation, e.g. when a credential store is updated
+        if (resolved.getType() == ModelType.STRING && !pluggable.get() && cache.resolved.size() < MAX_CACHED_EXPRESSIONS) {
+            cache.resolved.put(expressionString, resolved.asString());
+        }
+        return resolved;
+    }
+
+    private ResolutionCache getResolutionCache() {
+        // Resolution is subject to permission checks against the caller, so don't share results under a security manager
+        if (!cacheResolution || WildFlySecurityManager.isChecking()) {
+            return null;
+        }
+        final int generation = RESOLUTION_CACHE_GENERATION.get();
+        ResolutionCache cache = resolutionCache;
+        if (cache == null || cache.generation != generation) {
+            // A resolution that was in progress during invalidation may still be stored in the replaced cache, but
+            // will not be read from it
+            cache = new ResolutionCache(generation);
+            resolutionCache = cache;
+        }
+        return cache;
+    }
+
     /**
      * Attempt to resolve the expression {@link org.jboss.dmr.ModelNode#asString() encapsulated in the given node},
      * setting the value of {@code node} to the resolved string if successful, or leaving {@code node} unaltered
@@ -131,6 +207,8 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      * @param ignoreDMRResolutionFailure {@code false} if {@link org.jboss.dmr.ModelNode#resolve() basic DMR resolution}
      *                            failures should be ignored, and {@code new ModelNode(expressionType.asString())} returned
      * @param initial {@code true} if this call originated outside this method; {@code false} if it is a recursive call
+     * @param pluggable set to {@code true} if any part of the string was resolved by
+     *                  {@link #resolvePluggableExpression(ModelNode)}; may be {@code null}
      *
      * @return a node of {@link ModelType#STRING} where the encapsulated string is the resolved expression, or a node
      *         of {@link ModelType#EXPRESSION} if {@code ignoreDMRResolutionFailure} and {@code initial} are
@@ -139,13 +217,13 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      * @throws OperationFailedException if the expression cannot be resolved
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
-                                                         final boolean initial) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure);
+                                                         final boolean initial, final AtomicBoolean pluggable) throws OperationFailedException {
+        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure, pluggable);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
             // that expressions must not resolve to something that *looks like* an expression but isn't
-            return resolveExpressionStringRecursively(resolved.result, true, false);
+            return resolveExpressionStringRecursively(resolved.result, true, false, pluggable);
         } else if (resolved.modified) {
             // Typical case
             return new ModelNode(resolved.result);
@@ -165,7 +243,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
-    private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
+    private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient, AtomicBoolean pluggable) throws OperationFailedException {
 
 
         final StringBuilder builder = new StringBuilder();
@@ -243,11 +321,11 @@ public class ExpressionResolverImpl implements ExpressionResolver {
                                 continue;
                             }
                             String toResolve = getStringToResolve(initialValue, stack, i);
-                            final String resolved = resolveExpressionString(toResolve); // TODO we could catch OFE here
-                                                                                        // and if lenient respond with
-                                                                                        // the initial value, else rethrow
-                                                                                        // But for now it's a corner case
-                                                                                        // so follow KISS and just throw
+                            final String resolved = resolveExpressionString(toResolve, pluggable); // TODO we could catch OFE here
+                                                                                                   // and if lenient respond with
+                                                                                                   // the initial value, else rethrow
+                                                                                                   // But for now it's a corner case
+                                                                                                   // so follow KISS and just throw
                             // We only successfully resolved if toResolve != resolved
                             if (!toResolve.equals(resolved)) {
                                 if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
@@ -327,7 +405,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     }
 
     /** Resolve the given string using any plugin and the DMR resolve method */
-    private String resolveExpressionString(final String unresolvedString) throws OperationFailedException {
+    private String resolveExpressionString(final String unresolvedString, final AtomicBoolean pluggable) throws OperationFailedException {
 
         // parseAndResolve should only be providing expressions with no leading or trailing chars
         assert unresolvedString.startsWith("${") && unresolvedString.endsWith("}");
@@ -350,6 +428,9 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         } else {
             // resolvePluggableExpression made progress
             result = resolveNode.asString();
+            if (pluggable != null) {
+                pluggable.set(true);
+            }
         }
 
         return result;
@@ -471,6 +552,15 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    private static class ResolutionCache {
+        private final int generation;
+        private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+        private ResolutionCache(int generation) {
+            this.generation = generation;
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
@@ -0,0 +1,326 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_STATISTICS;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Latency statistics of the management operations executed by a {@link ModelControllerImpl}, recorded if the
+ * {@value #ENABLED_PROPERTY} system property is {@code true}.
+ * <p>
+ * Each operation is tracked both by the name of the {@link OperationEntry} that handled it and by the address of the
+ * resource registration it targets, so the number of histograms is bounded by what is registered rather than by what
+ * clients send. Operations with no registered handler, which fail, are tracked together as {@value #UNREGISTERED}.
+ * Each has separate histograms of the time spent in each {@link OperationContext.Stage stage}, in persisting
+ * the configuration and in total. The time spent waiting to acquire the controller lock is tracked per kind of lock.
+ * Histograms use power of two buckets of {@link LongAdder}s, so recording never blocks and the reported percentiles
+ * are upper bounds accurate to within a factor of two. All times are reported in microseconds.
+ */
+final class ManagementOperationStatistics {
+
+    static final String ENABLED_PROPERTY = "jboss.as.management.operation-statistics";
+
+    static final String PERSISTENCE = "persistence";
+    static final String TOTAL = "total";
+    static final String UNREGISTERED = "unregistered";
+    static final String COUNT = "count";
+    static final String MEAN_TIME = "mean-time";
+    static final String MAX_TIME = "max-time";
+    static final String PERCENTILE_50 = "percentile-50";
+    static final String PERCENTILE_90 = "percentile-90";
+    static final String PERCENTILE_99 = "percentile-99";
+
+    private static final OperationContext.Stage[] STAGES = OperationContext.Stage.values();
+    /** Index of the persistence histogram, after those of the stages; DONE is not tracked as a stage */
+    private static final int PERSISTENCE_INDEX = OperationContext.Stage.DONE.ordinal();
+    private static final int TOTAL_INDEX = PERSISTENCE_INDEX + 1;
+
+    /** The kinds of controller lock acquisition whose wait time is tracked */
+    enum LockType {
+        WRITE, READ;
+
+        private final String localName = name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+    }
+
+    private final ConcurrentMap<String, LatencyHistograms> byName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<PathAddress, LatencyHistograms> byAddress = new ConcurrentHashMap<>();
+    private final LatencyHistograms unregistered = new LatencyHistograms();
+    private final LatencyHistogram[] lockWaits = new LatencyHistogram[LockType.values().length];
+
+    ManagementOperationStatistics() {
+        for (int i = 0; i < lockWaits.length; i++) {
+            lockWaits[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Creates the statistics if enabled.
+     *
+     * @return the statistics, or {@code null} if not enabled via {@value #ENABLED_PROPERTY}
+     */
+    static ManagementOperationStatistics create() {
+        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"))) {
+            return new ManagementOperationStatistics();
+        }
+        return null;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return a timer to be used by the thread executing the operation
+     */
+    StageTimer startOperation() {
+        return new StageTimer();
+    }
+
+    /**
+     * Records the time spent waiting for a lock.
+     *
+     * @param type the kind of lock
+     * @param startTime the {@link System#nanoTime()} at which the wait began
+     */
+    void recordLockWait(LockType type, long startTime) {
+        lockWaits[type.ordinal()].record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Adds the current statistics to the given model.
+     *
+     * @param model the model of the {@code service=management-operations} resource
+     */
+    void addModel(ModelNode model) {
+        ModelNode operations = model.get(OPERATION_STATISTICS).setEmptyObject();
+        for (Map.Entry<String, LatencyHistograms> entry : byName.entrySet()) {
+            entry.getValue().addModel(operations.get(entry.getKey()));
+        }
+        ModelNode addresses = model.get(ADDRESS_STATISTICS).setEmptyObject();
+        for (Map.Entry<PathAddress, LatencyHistograms> entry : byAddress.entrySet()) {
+            entry.getValue().addModel(addresses.get(entry.getKey().toCLIStyleString()));
+        }
+        if (unregistered.getCount() > 0) {
+            unregistered.addModel(operations.get(UNREGISTERED));
+            unregistered.addModel(addresses.get(UNREGISTERED));
+        }
+        ModelNode locks = model.get(LOCK_WAIT_STATISTICS).setEmptyObject();
+        for (LockType type : LockType.values()) {
+            lockWaits[type.ordinal()].addModel(locks.get(type.localName));
+        }
+    }
+
+    /**
+     * Gets the histograms of the given group, creating them if needed.
+     */
+    private static <K> LatencyHistograms getHistograms(ConcurrentMap<K, LatencyHistograms> map, K key) {
+        LatencyHistograms histograms = map.get(key);
+        return histograms != null ? histograms : map.computeIfAbsent(key, k -> new LatencyHistograms());
+    }
+
+    /**
+     * Times the stages of a single operation. Not thread safe; used only by the thread executing the operation's
+     * steps.
+     */
+    final class StageTimer {
+
+        private final long startTime = System.nanoTime();
+        private final long[] times = new long[TOTAL_INDEX];
+        private final boolean[] executed = new boolean[TOTAL_INDEX];
+        private long stageStartTime = startTime;
+        private int stage = OperationContext.Stage.MODEL.ordinal();
+
+        private StageTimer() {
+        }
+
+        /** Notes that a step was executed in the current stage, so the stage's time is recorded */
+        void stepExecuted() {
+            executed[stage] = true;
+        }
+
+        /**
+         * Moves on to the next stage.
+         *
+         * @param next the stage being entered
+         */
+        void stageStarted(OperationContext.Stage next) {
+            long now = System.nanoTime();
+            times[stage] += now - stageStartTime;
+            stageStartTime = now;
+            stage = next.ordinal();
+        }
+
+        /**
+         * Records time spent on persisting the configuration.
+         *
+         * @param persistenceStartTime the {@link System#nanoTime()} at which this piece of persistence work began
+         */
+        void persisted(long persistenceStartTime) {
+            times[PERSISTENCE_INDEX] += System.nanoTime() - persistenceStartTime;
+            executed[PERSISTENCE_INDEX] = true;
+        }
+
+        /**
+         * Completes timing and records the results against the registered handler of the operation, if any.
+         *
+         * @param operationName the name of the operation, as sent by the client
+         * @param address the address of the operation, as sent by the client
+         * @param rootRegistration the root resource registration against which the operation was executed
+         */
+        void complete(String operationName, PathAddress address, ImmutableManagementResourceRegistration rootRegistration) {
+            long now = System.nanoTime();
+            if (stage < PERSISTENCE_INDEX) {
+                times[stage] += now - stageStartTime;
+            }
+            long total = now - startTime;
+            ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+            OperationEntry entry = registration == null ? null : registration.getOperationEntry(PathAddress.EMPTY_ADDRESS, operationName);
+            if (entry == null) {
+                unregistered.record(times, executed, total);
+                return;
+            }
+            // Any address below a proxy is registered, so track operations proxied to another process by the
+            // registration of the proxy
+            ImmutableManagementResourceRegistration parent = registration.getParent();
+            while (registration.isRemote() && parent != null && parent.isRemote()) {
+                registration = parent;
+                parent = registration.getParent();
+            }
+            getHistograms(byName, entry.getOperationDefinition().getName()).record(times, executed, total);
+            getHistograms(byAddress, registration.getPathAddress()).record(times, executed, total);
+        }
+    }
+
+    /** The histograms of the stages, persistence and total time of a group of operations */
+    private static final class LatencyHistograms {
+
+        private final LatencyHistogram[] histograms = new LatencyHistogram[TOTAL_INDEX + 1];
+
+        private LatencyHistograms() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        private long getCount() {
+            return histograms[TOTAL_INDEX].getCount();
+        }
+
+        private void record(long[] times, boolean[] executed, long total) {
+            for (int i = 0; i < times.length; i++) {
+                if (executed[i]) {
+                    histograms[i].record(times[i]);
+                }
+            }
+            histograms[TOTAL_INDEX].record(total);
+        }
+
+        private void addModel(ModelNode model) {
+            for (int i = 0; i < PERSISTENCE_INDEX; i++) {
+                if (histograms[i].getCount() > 0) {
+                    histograms[i].addModel(model.get(STAGES[i].toString().toLowerCase(Locale.ENGLISH)));
+                }
+            }
+            if (histograms[PERSISTENCE_INDEX].getCount() > 0) {
+                histograms[PERSISTENCE_INDEX].addModel(model.get(PERSISTENCE));
+            }
+            histograms[TOTAL_INDEX].addModel(model.get(TOTAL));
+        }
+    }
+
+    /**
+     * A histogram of latencies, with bucket {@code 0} counting those under a microsecond and bucket {@code i}
+     * those of at least 2<sup>i-1</sup> but less than 2<sup>i</sup> microseconds.
+     */
+    static final class LatencyHistogram {
+
+        private static final int BUCKETS = 40;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros))].increment();
+            totalTime.add(micros);
+            maxTime.accumulate(micros);
+        }
+
+        long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        void addModel(ModelNode model) {
+            // Read the buckets only once so the values are consistent with each other
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            long max = maxTime.get();
+            model.get(COUNT).set(count);
+            model.get(MEAN_TIME).set(count == 0 ? 0 : totalTime.sum() / count);
+            model.get(MAX_TIME).set(max);
+            model.get(PERCENTILE_50).set(getPercentile(counts, count, max, 50));
+            model.get(PERCENTILE_90).set(getPercentile(counts, count, max, 90));
+            model.get(PERCENTILE_99).set(getPercentile(counts, count, max, 99));
+        }
+
+        private static long getPercentile(long[] counts, long count, long max, int percentile) {
+            long rank = (count * percentile + 99) / 100;
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(max, (1L << i) - 1);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHANGES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EPOCH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESYNC_REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REVISION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Tracks the revision of the model published by a {@link ModelControllerImpl}, which is incremented each time an
+ * updated resource tree is published, along with a bounded journal of the changes made by recent revisions.
+ * <p>
+ * The journal is kept if the {@value #SIZE_PROPERTY} system property specifies the maximum number of changes to
+ * retain. Changes are found by comparing the published root resource with the one replacing it. As updates copy
+ * only the resources they modify, with the rest of the tree shared with the previous revision, the comparison only
+ * descends into subtrees that are not shared, so its cost is proportional to the size of the update rather than
+ * that of the model. Runtime-only and proxy resources are ignored. A change is one of
+ * <ul>
+ *     <li>{@code resource-added}: a resource was added, along with any children it has,</li>
+ *     <li>{@code resource-removed}: a resource was removed, along with any children it had,</li>
+ *     <li>{@code attribute-value-written}: the value of an attribute of a resource changed.</li>
+ * </ul>
+ * <p>
+ * Changes made during boot are not journaled, so the earliest revision changes can be read from is the one
+ * published at the end of boot. Older changes are discarded once the journal is full.
+ * <p>
+ * Each journal has a random epoch. Revisions restart from zero when the process is restarted or reloaded, which
+ * creates a new journal, so a revision only identifies a model together with the epoch it was read in.
+ * <p>
+ * The journal of the controller is {@link OperationContext#getAttachment(OperationContext.AttachmentKey) attached}
+ * to each operation context under {@link #ATTACHMENT_KEY}.
+ */
+final class ModelChangeJournal {
+
+    static final String SIZE_PROPERTY = "jboss.as.management.change-journal-size";
+
+    static final String MAX_WATCHES_PROPERTY = "jboss.as.management.max-concurrent-watches";
+
+    /** The default maximum number of {@link WatchChangesHandler watches} that can wait for changes at once */
+    static final int DEFAULT_MAX_WATCHES = 16;
+
+    static final OperationContext.AttachmentKey<ModelChangeJournal> ATTACHMENT_KEY = OperationContext.AttachmentKey.create(ModelChangeJournal.class);
+
+    private static final ModelNode UNDEFINED = new ModelNode();
+
+    static {
+        UNDEFINED.protect();
+    }
+
+    /** The maximum number of changes to retain, or zero if changes are not journaled */
+    private final int maxChanges;
+    private final String epoch = UUID.randomUUID().toString();
+    /** The journaled revisions, oldest first */
+    private final Deque<Revision> revisions = new ArrayDeque<>();
+    private int changeCount;
+    private long revision;
+    /** The oldest revision changes since which are known */
+    private long horizon;
+    /** Permits for the watches waiting for a new revision, each of which holds a management thread */
+    private final Semaphore watchPermits;
+
+    ModelChangeJournal(final int maxChanges, final int maxWatches) {
+        this.maxChanges = Math.max(maxChanges, 0);
+        this.watchPermits = new Semaphore(Math.max(maxWatches, 0));
+    }
+
+    /**
+     * Creates a journal retaining the number of changes given by the {@value #SIZE_PROPERTY} system property,
+     * allowing the number of concurrent watches given by the {@value #MAX_WATCHES_PROPERTY} system property.
+     *
+     * @return the journal. Will not return {@code null}
+     */
+    static ModelChangeJournal create() {
+        return new ModelChangeJournal(getIntProperty(SIZE_PROPERTY, 0), getIntProperty(MAX_WATCHES_PROPERTY, DEFAULT_MAX_WATCHES));
+    }
+
+    private static int getIntProperty(final String name, final int defaultValue) {
+        final String val = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        try {
+            return val == null ? defaultValue : Integer.parseInt(val.trim());
+        } catch (NumberFormatException ignored) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Attempts to start a watch that will {@link #awaitRevision(long, long, TimeUnit) wait} for a new revision. The
+     * number of concurrent watches is limited, as each holds a management thread while waiting. A started watch
+     * must be {@link #endWatch() ended}.
+     *
+     * @return {@code true} if the watch was started, or {@code false} if too many watches are already waiting
+     */
+    boolean startWatch() {
+        return watchPermits.tryAcquire();
+    }
+
+    /**
+     * Ends a watch {@link #startWatch() started} earlier.
+     */
+    void endWatch() {
+        watchPermits.release();
+    }
+
+    /**
+     * Gets the revision of the most recently published model.
+     *
+     * @return the revision
+     */
+    synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Records the publication of a new revision of the model. Must be called by the thread publishing it,
+     * before any other model can be published.
+     *
+     * @param previousRoot the root resource of the previous revision. Cannot be {@code null}
+     * @param root the root resource of the new revision. Cannot be {@code null}
+     * @param booting {@code true} if the process is booting, in which case changes are not journaled
+     */
+    synchronized void recordRevision(final Resource previousRoot, final Resource root, final boolean booting) {
+        revision++;
+        // Wake those awaiting a new revision once we are done
+        notifyAll();
+        List<ModelNode> changes = null;
+        if (maxChanges > 0 && !booting) {
+            changes = new ArrayList<>();
+            try {
+                if (!compare(previousRoot, root, PathAddress.EMPTY_ADDRESS, changes)) {
+                    changes = null;
+                }
+            } catch (RuntimeException e) {
+                ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Failed to determine the changes of model revision %d", revision);
+                changes = null;
+            }
+        }
+        if (changes == null) {
+            // Changes since any earlier revision are unknown
+            revisions.clear();
+            changeCount = 0;
+            horizon = revision;
+            return;
+        }
+        revisions.addLast(new Revision(revision, changes));
+        changeCount += changes.size();
+        while (changeCount > maxChanges) {
+            final Revision discarded = revisions.removeFirst();
+            changeCount -= discarded.changes.size();
+            horizon = discarded.revision;
+        }
+    }
+
+    /**
+     * Waits until a revision later than the given one is published.
+     *
+     * @param revision the revision
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if a later revision has been published, {@code false} if the timeout expired first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    synchronized boolean awaitRevision(final long revision, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (this.revision <= revision) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the changes made to the model since the given revision.
+     *
+     * @param epoch the epoch in which {@code since} was read, or {@code null} if not known
+     * @param since the revision
+     * @return a node with the current {@code epoch} and {@code revision}, and either {@code resync-required}
+     *         {@code false} and the list of {@code changes} made since {@code since}, oldest first, or
+     *         {@code resync-required} {@code true} if the changes are not known, including if {@code since} is from
+     *         a different epoch. Will not return {@code null}
+     */
+    ModelNode readChangesSince(final String epoch, final long since) {
+        final ModelNode result = new ModelNode();
+        List<Revision> journaled = new ArrayList<>();
+        final long current;
+        synchronized (this) {
+            current = revision;
+            if (!this.epoch.equals(epoch) || since < horizon || since > revision) {
+                journaled = null;
+            } else {
+                for (Revision rev : revisions) {
+                    if (rev.revision > since) {
+                        journaled.add(rev);
+                    }
+                }
+            }
+        }
+        result.get(EPOCH).set(this.epoch);
+        result.get(REVISION).set(current);
+        result.get(RESYNC_REQUIRED).set(journaled == null);
+        if (journaled != null) {
+            final ModelNode changes = result.get(CHANGES).setEmptyList();
+            for (Revision rev : journaled) {
+                for (ModelNode change : rev.changes) {
+                    changes.add(change);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the changes between two versions of a resource to a list.
+     *
+     * @return {@code false} if the number of changes exceeds the size of the journal, in which case the list is
+     *         incomplete
+     */
+    private boolean compare(final Resource previous, final Resource current, final PathAddress address, final List<ModelNode> changes) {
+        if (previous == current) {
+            return true;
+        }
+        final ModelNode previousModel = previous.getModel();
+        final ModelNode currentModel = current.getModel();
+        if (!previousModel.equals(currentModel)) {
+            final Set<String> names = new LinkedHashSet<>(keys(previousModel));
+            names.addAll(keys(currentModel));
+            for (String name : names) {
+                final ModelNode oldValue = value(previousModel, name);
+                final ModelNode newValue = value(currentModel, name);
+                if (!oldValue.equals(newValue)) {
+                    final ModelNode change = createChange(ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION, address);
+                    change.get(NAME).set(name);
+                    change.get(GlobalNotifications.OLD_VALUE).set(oldValue);
+                    change.get(GlobalNotifications.NEW_VALUE).set(newValue);
+                    changes.add(change);
+                }
+            }
+        }
+        final Set<String> types = new LinkedHashSet<>(previous.getChildTypes());
+        types.addAll(current.getChildTypes());
+        for (String type : types) {
+            final Set<String> previousNames = previous.getChildrenNames(type);
+            final Set<String> currentNames = current.getChildrenNames(type);
+            for (String name : previousNames) {
+                if (!currentNames.contains(name)) {
+                    final PathElement element = PathElement.pathElement(type, name);
+                    if (isConfiguration(previous.getChild(element))) {
+                        changes.add(createChange(RESOURCE_REMOVED_NOTIFICATION, address.append(element)));
+                    }
+                }
+            }
+            for (String name : currentNames) {
+                final PathElement element = PathElement.pathElement(type, name);
+                final Resource child = current.getChild(element);
+                if (!isConfiguration(child)) {
+                    continue;
+                }
+                if (!previousNames.contains(name)) {
+                    changes.add(createChange(RESOURCE_ADDED_NOTIFICATION, address.append(element)));
+                } else {
+                    final Resource previousChild = previous.getChild(element);
+                    if (isConfiguration(previousChild) && !compare(previousChild, child, address.append(element), changes)) {
+                        return false;
+                    }
+                }
+            }
+            if (changes.size() > maxChanges) {
+                return false;
+            }
+        }
+        return changes.size() <= maxChanges;
+    }
+
+    private static boolean isConfiguration(final Resource resource) {
+        return resource != null && !resource.isRuntime() && !resource.isProxy();
+    }
+
+    private static Set<String> keys(final ModelNode model) {
+        return model.getType() == ModelType.OBJECT ? model.keys() : Collections.emptySet();
+    }
+
+    private static ModelNode value(final ModelNode model, final String name) {
+        return model.hasDefined(name) ? model.get(name) : UNDEFINED;
+    }
+
+    private ModelNode createChange(final String type, final PathAddress address) {
+        final ModelNode change = new ModelNode();
+        change.get(REVISION).set(revision);
+        change.get(TYPE).set(type);
+        change.get(ADDRESS).set(address.toModelNode());
+        return change;
+    }
+
+    private static final class Revision {
+        private final long revision;
+        private final List<ModelNode> changes;
+
+        private Revision(final long revision, final List<ModelNode> changes) {
+            this.revision = revision;
+            this.changes = changes;
+        }
+    }
+}
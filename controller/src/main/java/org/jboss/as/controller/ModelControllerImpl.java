@@ -32,6 +32,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOS
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_HANDLER_STATISTICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -81,6 +82,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.CopyOnWriteScope;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -116,6 +118,11 @@ class ModelControllerImpl implements ModelController {
     private final ServiceRegistry serviceRegistry;
     private final ServiceTarget serviceTarget;
     private final ModelControllerLock controllerLock = new ModelControllerLock();
+    /** Latency statistics of executed operations, or {@code null} if not enabled */
+    private final ManagementOperationStatistics operationStatistics = ManagementOperationStatistics.create();
+    /** The revision of the published model and the changes made by recent revisions */
+    private final ModelChangeJournal changeJournal = ModelChangeJournal.create();
+    private final int multiTargetParallelism = MultiTargetStepExecutor.getConfiguredParallelism();
     private final ContainerStateMonitor stateMonitor;
     private final AtomicReference<ManagementModelImpl> managementModel = new AtomicReference<>();
     private final ConfigurationPersister persister;
@@ -400,7 +407,7 @@ class ModelControllerImpl implements ModelController {
             final Integer operationID = random.nextInt();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, runningModeControl.getRunningMode(),
-                    headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
+                    headers, handler, attachments, getExecutionModel(operation), originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), hostServerGroupTracker, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
             // Try again if the operation-id is already taken
@@ -460,6 +467,36 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * Gets the model an operation should initially execute against. Once boot is complete, operations registered
+     * as {@link OperationEntry.Flag#READ_ONLY read-only} execute against a {@link ManagementModelImpl#snapshot() snapshot}
+     * of the currently published model. Published models are never modified, so such operations see a consistent
+     * view of the model for their entire execution without ever waiting for a concurrent write to complete.
+     * Any other operation executes against the current model.
+     *
+     * @param operation the operation
+     * @return the model. Will not return {@code null}
+     */
+    private ManagementModelImpl getExecutionModel(final ModelNode operation) {
+        final ManagementModelImpl current = managementModel.get();
+        if (!bootingFlag.get() && isReadOnlyOperation(operation)) {
+            return current.snapshot();
+        }
+        return current;
+    }
+
+    private boolean isReadOnlyOperation(final ModelNode operation) {
+        final PathAddress address;
+        try {
+            address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        } catch (IllegalArgumentException e) {
+            // Let the operation context report the problem
+            return false;
+        }
+        final OperationEntry entry = resolveOperationHandler(address, operation.get(OP).asString());
+        return entry != null && entry.getFlags().contains(OperationEntry.Flag.READ_ONLY);
+    }
+
     private static OperationResponse handleExternalRequestDuringBoot() {
         ModelNode result = new ModelNode();
         result.get(OUTCOME).set(FAILED);
@@ -694,6 +731,7 @@ class ModelControllerImpl implements ModelController {
                                                           final boolean resourceRegistrationModified) throws ConfigurationPersistenceException {
         final ConfigurationPersister.PersistenceResource delegate;
         if (resourceTreeModified) {
+            model.completeCopyOnWrite();
             // Don't do an expensive Resource.Tools.readModel if the persister isn't going to use the result
             if (persister.isPersisting()) {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
@@ -724,7 +762,9 @@ class ModelControllerImpl implements ModelController {
                     model.capabilityRegistry.publish();
                 }
                 if (resourceTreeModified) {
+                    final Resource previousRoot = managementModel.get().rootResource;
                     model.publish();
+                    changeJournal.recordRevision(previousRoot, model.rootResource, bootingFlag.get());
                     if (delegate != null) {
                         delegate.commit();
                     }
@@ -757,7 +797,54 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * Gets the latency statistics of executed operations.
+     *
+     * @return the statistics, or {@code null} if not enabled
+     */
+    ManagementOperationStatistics getOperationStatistics() {
+        return operationStatistics;
+    }
+
+    /**
+     * Gets the revision of the published model and the changes made by recent revisions.
+     *
+     * @return the journal. Will not return {@code null}
+     */
+    ModelChangeJournal getChangeJournal() {
+        return changeJournal;
+    }
+
+    /**
+     * Gets the executor used for the parallel execution of work on behalf of operations.
+     *
+     * @return the executor, or {@code null} if there is none
+     */
+    ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Gets the maximum number of targets of an operation addressed to multiple targets to execute concurrently.
+     *
+     * @return the number of targets. A value less than 2 means targets are not executed concurrently
+     */
+    int getMultiTargetParallelism() {
+        return multiTargetParallelism;
+    }
+
+    private long lockWaitStartTime() {
+        return operationStatistics == null ? 0 : System.nanoTime();
+    }
+
+    private void recordLockWait(ManagementOperationStatistics.LockType type, long startTime) {
+        if (operationStatistics != null) {
+            operationStatistics.recordLockWait(type, startTime);
+        }
+    }
+
     void acquireWriteLock(Integer permit, final boolean interruptibly) throws InterruptedException {
+        final long start = lockWaitStartTime();
         if (interruptibly) {
             //noinspection LockAcquiredButNotSafelyReleased
             controllerLock.lockInterruptibly(permit);
@@ -765,9 +852,11 @@ class ModelControllerImpl implements ModelController {
             //noinspection LockAcquiredButNotSafelyReleased
             controllerLock.lock(permit);
         }
+        recordLockWait(ManagementOperationStatistics.LockType.WRITE, start);
     }
 
     void acquireReadLock(Integer permit, final boolean interruptibly) throws InterruptedException {
+        final long start = lockWaitStartTime();
         if (interruptibly) {
             //noinspection LockAcquiredButNotSafelyReleased
             controllerLock.lockSharedInterruptibly(permit);
@@ -775,6 +864,7 @@ class ModelControllerImpl implements ModelController {
             //noinspection LockAcquiredButNotSafelyReleased
             controllerLock.lockShared(permit);
         }
+        recordLockWait(ManagementOperationStatistics.LockType.READ, start);
     }
 
     boolean acquireWriteLock(Integer permit, final boolean interruptibly, long timeout) throws InterruptedException {
@@ -1000,6 +1090,21 @@ class ModelControllerImpl implements ModelController {
             super(SERVICE, MANAGEMENT_OPERATIONS);
         }
 
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
+        @Override
+        public ModelNode getModel() {
+            final ModelNode model = new ModelNode();
+            if (operationStatistics != null) {
+                operationStatistics.addModel(model);
+            }
+            model.get(NOTIFICATION_HANDLER_STATISTICS).set(notificationSupport.getHandlerStatistics());
+            return model;
+        }
+
         @Override
         public boolean hasChild(PathElement element) {
             try {
@@ -1085,16 +1190,34 @@ class ModelControllerImpl implements ModelController {
         private final Resource delegatingResource;
         // The capability registry
         private final CapabilityRegistry capabilityRegistry;
+        // The published root Resource our root was copied from, or null if we are not a copy or have been published
+        private volatile Resource originalRootResource;
+        // The scope in which our root was copied from originalRootResource, or null if we are not a copy
+        private final CopyOnWriteScope copyOnWriteScope;
+        // Whether we keep exposing our own root Resource after being published
+        private final boolean snapshot;
 
         private volatile boolean published;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, capabilityRegistry, null, null, false);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                                    final Resource rootResource,
+                                    final CapabilityRegistry capabilityRegistry,
+                                    final Resource originalRootResource,
+                                    final CopyOnWriteScope copyOnWriteScope,
+                                    final boolean snapshot) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
+            this.originalRootResource = originalRootResource;
+            this.copyOnWriteScope = copyOnWriteScope;
+            this.snapshot = snapshot;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
             // to the ModelController, and from then on callers should get whatever the MC has as current.
             // If 'false' we haven't been published; we are a local copy created by some OperationContext,
@@ -1118,7 +1241,7 @@ class ModelControllerImpl implements ModelController {
                 @Override
                 public Resource getDelegateResource() {
                     Resource result;
-                    if (published) {
+                    if (published && !snapshot) {
                         result = ModelControllerImpl.this.managementModel.get().rootResource;
                     } else {
                         result = rootResource;
@@ -1176,9 +1299,11 @@ class ModelControllerImpl implements ModelController {
         */
 
         /**
-         * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link Resource}.
+         * Creates a new {@code ManagementModelImpl} that uses a copy-on-write copy of this one's root {@link Resource}.
          * The caller can safely modify that {@code Resource} without changes being exposed
-         * to other callers. Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
+         * to other callers; only the resources along the paths the caller navigates are actually copied, with
+         * the rest of the tree being shared with the original. Use
+         * {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
          * to publish changes.
          *
          * @return the new {@code ManagementModelImpl}. Will not return {@code null}
@@ -1201,12 +1326,50 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
-            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
+            CopyOnWriteScope scope = new CopyOnWriteScope();
+            Resource clone = scope.copy(currentResource);
+            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps, currentResource, scope, false);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
 
+        /**
+         * Creates a new {@code ManagementModelImpl} that exposes the currently published root {@link Resource}
+         * for its entire lifetime, rather than whatever root is current when it is read, giving read-only callers
+         * a consistent, immutable view of the model. Like a published model, the snapshot is cloned from the
+         * currently published model if {@link #cloneRootResource() a writable copy} is requested, so a caller that
+         * unexpectedly writes will not lose concurrent updates.
+         *
+         * @return the snapshot. Will not return {@code null}
+         */
+        ManagementModelImpl snapshot() {
+            ManagementModelImpl current = published ? ModelControllerImpl.this.managementModel.get() : this;
+            ManagementModelImpl result = new ManagementModelImpl(current.resourceRegistration, current.rootResource,
+                    current.capabilityRegistry, current.rootResource, null, true);
+            result.published = true;
+            return result;
+        }
+
+        /**
+         * Gets whether this model is a {@link #snapshot() snapshot}, whose root resource is never modified.
+         *
+         * @return {@code true} if this is a snapshot
+         */
+        boolean isSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Gets the published root {@link Resource} this model's root was copied from or, if this model
+         * is not a copy, the currently published root {@code Resource}. The returned resource is shared
+         * with the published model and must not be modified.
+         *
+         * @return the original root resource. Will not return {@code null}
+         */
+        Resource getOriginalRootResource() {
+            return originalRootResource != null ? originalRootResource : ModelControllerImpl.this.managementModel.get().rootResource;
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1225,9 +1388,21 @@ class ModelControllerImpl implements ModelController {
                 return CapabilityRegistry.CapabilityValidation.OK;
             }
         }
+        /**
+         * Stops copying resources shared with the original root {@link Resource} on access. Must be called
+         * once all modifications to the root resource are complete, before it is read for persistence and published.
+         */
+        private void completeCopyOnWrite() {
+            if (copyOnWriteScope != null) {
+                copyOnWriteScope.close();
+            }
+        }
+
         private void publish() {
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
+            // From now on our original is whatever is published, and the tree we were copied from can be collected
+            originalRootResource = null;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
         }
 
@@ -1237,6 +1412,8 @@ class ModelControllerImpl implements ModelController {
             // will now see the value of ModelControllerImpl.this.managementModel.get,
             // which will be
             published = true;
+            originalRootResource = null;
+            completeCopyOnWrite();
             // Don't roll back the capability registry here; let that happen via finally block calls to MCI.discardModel
             // capabilityRegistry.rollback();
             ControllerLogger.MGMT_OP_LOGGER.tracef("discarded %s", this);
@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTION_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller._private.ConcurrentTargetExecutor;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Executes the steps for the individual targets of an operation addressed to multiple targets, such as
+ * {@code /subsystem=datasources/data-source=*:read-resource(include-runtime=true)}, concurrently rather than
+ * one after the other, so the latency of the operation is that of its slowest target rather than the sum over all
+ * targets.
+ * <p>
+ * Each target executes in its own {@link ReadOnlyContext} reading from the same snapshot of the model as the
+ * operation itself, on the controller's executor, as the caller of the operation. Only a configured number of
+ * targets execute at once, one of them on the calling thread. The response of each target executed concurrently
+ * holds the time in microseconds it took to execute as its {@code execution-time} response header. A target whose
+ * handler makes a call the
+ * {@code ReadOnlyContext} does not support, such as emitting a notification, is left to be executed as a step of the
+ * operation.
+ * <p>
+ * Only operations executing against a snapshot, i.e. read-only operations not part of a composite that writes, are
+ * executed concurrently. Concurrent execution is disabled by default. It is enabled by setting the
+ * {@value #PARALLELISM_PROPERTY} system property to the maximum number of targets to execute at once, in which case
+ * {@link #create(OperationContext)} is attached to each operation's context as the
+ * {@link ConcurrentTargetExecutor#ATTACHMENT_KEY}.
+ */
+final class MultiTargetStepExecutor implements ConcurrentTargetExecutor {
+
+    static final String PARALLELISM_PROPERTY = "jboss.as.management.multi-target-parallelism";
+
+    private final AbstractOperationContext primaryContext;
+    private final ModelControllerImpl controller;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int operationId;
+    private final SecurityIdentity identity;
+    private final List<Target> targets = new ArrayList<>();
+
+    private MultiTargetStepExecutor(final AbstractOperationContext primaryContext, final ModelControllerImpl controller,
+                                    final ExecutorService executor, final int parallelism, final int operationId) {
+        this.primaryContext = primaryContext;
+        this.controller = controller;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.operationId = operationId;
+        this.identity = primaryContext.getSecurityIdentity();
+    }
+
+    /**
+     * Creates an executor for the targets of the operation executing in the given context, if they can be executed
+     * concurrently.
+     *
+     * @param context the context of the operation. Cannot be {@code null}
+     * @return the executor, or {@code null} if the targets must be executed as ordinary steps of {@code context}
+     */
+    @SuppressWarnings("deprecation")
+    static MultiTargetStepExecutor create(final OperationContext context) {
+        // Targets executing concurrently don't execute their own targets concurrently as well
+        if (!(context instanceof OperationContextImpl)) {
+            return null;
+        }
+        final AbstractOperationContext primaryContext = (AbstractOperationContext) context;
+        final ModelControllerImpl controller = primaryContext.getModelController();
+        if (controller == null || controller.getMultiTargetParallelism() < 2 || controller.getExecutorService() == null) {
+            return null;
+        }
+        final ModelControllerImpl.ManagementModelImpl model = primaryContext.getManagementModel();
+        final Integer operationId = CurrentOperationIdHolder.getCurrentOperationID();
+        if (model == null || !model.isSnapshot() || operationId == null) {
+            return null;
+        }
+        return new MultiTargetStepExecutor(primaryContext, controller, controller.getExecutorService(),
+                controller.getMultiTargetParallelism(), operationId);
+    }
+
+    /**
+     * Gets the maximum number of targets to execute at once configured by the {@value #PARALLELISM_PROPERTY}
+     * system property.
+     *
+     * @return the number of targets. A value less than 2 means targets are not executed concurrently
+     */
+    static int getConfiguredParallelism() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(PARALLELISM_PROPERTY, null);
+        if (value == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            ControllerLogger.MGMT_OP_LOGGER.debugf("Ignoring invalid value %s of %s", value, PARALLELISM_PROPERTY);
+            return 1;
+        }
+    }
+
+    /**
+     * Adds a target to execute.
+     *
+     * @param operation the operation to execute for the target
+     * @param handler the handler of the operation
+     * @param response the node to hold the response of the target
+     */
+    @Override
+    public void addTarget(final ModelNode operation, final OperationStepHandler handler, final ModelNode response) {
+        targets.add(new Target(operation, handler, response));
+    }
+
+    /**
+     * Executes all added targets, and waits until they have all completed.
+     */
+    @Override
+    public void execute() {
+        final AtomicInteger next = new AtomicInteger();
+        final List<Worker> workers = new ArrayList<>();
+        for (int i = 1; i < Math.min(parallelism, targets.size()); i++) {
+            final Worker worker = new Worker(next);
+            try {
+                executor.execute(worker);
+                workers.add(worker);
+            } catch (RejectedExecutionException e) {
+                // The calling thread will execute the targets
+                break;
+            }
+        }
+        final Worker local = new Worker(next);
+        local.run();
+        try {
+            for (Worker worker : workers) {
+                worker.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ControllerLogger.ROOT_LOGGER.operationCancelledAsynchronously();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void execute(final Target target) {
+        final Integer previousOperationId = CurrentOperationIdHolder.getCurrentOperationID();
+        CurrentOperationIdHolder.setCurrentOperationID(operationId);
+        try {
+            final ReadOnlyContext context = new ReadOnlyContext(primaryContext.getProcessType(), primaryContext.getRunningMode(),
+                    null, primaryContext.processState, false, primaryContext.getManagementModel(), primaryContext, controller,
+                    operationId, () -> identity);
+            context.setSerialFallback();
+            context.addStep(target.response, target.operation, target.handler, OperationContext.Stage.MODEL);
+            final long start = System.nanoTime();
+            context.executeOperation();
+            if (context.isUnsupportedCallMade()) {
+                // The handler needs more than a read-only context allows; the target is executed as a step of the operation
+                target.response.set(new ModelNode());
+            } else {
+                target.response.get(RESPONSE_HEADERS, EXECUTION_TIME).set(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        } finally {
+            CurrentOperationIdHolder.setCurrentOperationID(previousOperationId);
+        }
+    }
+
+    private static final class Target {
+        private final ModelNode operation;
+        private final OperationStepHandler handler;
+        private final ModelNode response;
+
+        private Target(final ModelNode operation, final OperationStepHandler handler, final ModelNode response) {
+            this.operation = operation;
+            this.handler = handler;
+            this.response = response;
+        }
+    }
+
+    /** Executes targets until none are left */
+    private final class Worker implements Runnable {
+        private final AtomicInteger next;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Worker(final AtomicInteger next) {
+            this.next = next;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                for (int i = next.getAndIncrement(); i < targets.size(); i = next.getAndIncrement()) {
+                    execute(targets.get(i));
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        /** Waits for the worker to complete, unless it has not started yet, in which case it never will */
+        private void await() throws InterruptedException {
+            if (!started.compareAndSet(false, true)) {
+                done.await();
+            }
+        }
+    }
+}
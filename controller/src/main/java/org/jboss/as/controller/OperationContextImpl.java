@@ -64,6 +64,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import org.jboss.as.controller._private.ConcurrentTargetExecutor;
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.Action.ActionEffect;
@@ -97,6 +98,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.CopyOnWriteScope;
 import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -172,8 +174,6 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     private volatile ModelControllerImpl.ManagementModelImpl managementModel;
 
-    private final ModelControllerImpl.ManagementModelImpl originalModel;
-
     /** Tracks the relationship between domain resources and hosts and server groups */
     private volatile HostServerGroupTracker hostServerGroupTracker;
 
@@ -226,7 +226,6 @@ final class OperationContextImpl extends AbstractOperationContext {
         this.operationAddress = operationAddress.isDefined()
                 ? operationAddress : ModelControllerImpl.EMPTY_ADDRESS;
         this.managementModel = managementModel;
-        this.originalModel = managementModel;
         this.modelController = modelController;
         this.messageHandler = messageHandler;
         this.attachments = attachments;
@@ -778,6 +777,11 @@ final class OperationContextImpl extends AbstractOperationContext {
     }
 
 
+    @Override
+    ManagementOperationStatistics getOperationStatistics() {
+        return modelController.getOperationStatistics();
+    }
+
     Resource.ResourceEntry getActiveOperationResource() {
         return activeOperationResource;
     }
@@ -1004,8 +1008,9 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     @Override
     public Resource getOriginalRootResource() {
-        // TODO restrict
-        return originalModel.getRootResource().clone();
+        // The original model is shared with the published model, so hand out a copy. Only the
+        // resources the caller navigates to are actually copied
+        return new CopyOnWriteScope().copy(managementModel.getOriginalRootResource());
     }
 
     @Override
@@ -1410,6 +1415,10 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (!isBooting()) {
                 attach(BlockingTimeout.Factory.ATTACHMENT_KEY, getBlockingTimeout());
             }
+            attach(ModelChangeJournal.ATTACHMENT_KEY, modelController.getChangeJournal());
+            if (!isBooting() && modelController.getMultiTargetParallelism() > 1 && modelController.getExecutorService() != null) {
+                attach(ConcurrentTargetExecutor.ATTACHMENT_KEY, MultiTargetStepExecutor::create);
+            }
             return super.executeOperation();
         } finally {
             try {
@@ -1981,7 +1990,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         }
     }
 
-    private static void assertCapabilitiesAvailable(final Stage currentStage) {
+    static void assertCapabilitiesAvailable(final Stage currentStage) {
         assertNotComplete(currentStage);
         if (currentStage == Stage.MODEL) {
             throw ControllerLogger.ROOT_LOGGER.capabilitiesNotAvailable(currentStage, Stage.RUNTIME);
@@ -2536,10 +2545,10 @@ final class OperationContextImpl extends AbstractOperationContext {
         private boolean done = false;
     }
 
-    private static class CapabilityServiceSupportImpl implements CapabilityServiceSupport {
+    static class CapabilityServiceSupportImpl implements CapabilityServiceSupport {
         private final ManagementModel managementModel;
 
-        private CapabilityServiceSupportImpl(ManagementModel managementModel) {
+        CapabilityServiceSupportImpl(ManagementModel managementModel) {
             this.managementModel = managementModel;
         }
 
@@ -25,9 +25,11 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -41,14 +43,24 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.auth.server.SecurityRealm;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Special handler that executes subsystem boot operations in parallel.
+ * <p>
+ * If the {@value #SPLIT_SUBSYSTEMS} system property is {@code true}, the runtime operations of each subsystem
+ * are further split into lanes of unrelated resources that execute concurrently; see {@link BootOperationPartition}.
+ * In that case the boot operations are also timed, and the tasks gating each stage, along with their slowest
+ * operations, are logged.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
 public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
+    static final String SPLIT_SUBSYSTEMS = "jboss.as.management.parallel-boot.split-subsystems";
+
+    private static final int CRITICAL_PATH_OPERATIONS = 5;
+
     private final Executor executor;
     private final ImmutableManagementResourceRegistration rootRegistration;
     private final ControlledProcessState processState;
@@ -56,6 +68,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
     private final ModelControllerImpl controller;
     private final int operationId;
+    private final boolean splitSubsystems;
 
     private final Map<String, List<ParsedBootOp>> opsBySubsystem = new LinkedHashMap<String, List<ParsedBootOp>>();
     private ParsedBootOp ourOp;
@@ -70,6 +83,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         this.controller = controller;
         this.operationId = operationId;
         this.extraValidationStepHandler = extraValidationStepHandler;
+        this.splitSubsystems = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(SPLIT_SUBSYSTEMS, "false"));
     }
 
     boolean addSubsystemOperation(final ParsedBootOp parsedOp) {
@@ -128,6 +142,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         final CountDownLatch preparedLatch = new CountDownLatch(opsBySubsystem.size());
         final CountDownLatch committedLatch = new CountDownLatch(1);
         final CountDownLatch completeLatch = new CountDownLatch(opsBySubsystem.size());
+        final List<ParallelBootTask> tasks = new ArrayList<>(opsBySubsystem.size());
 
         // TODO Elytron - We probably need a way to stop repeating this.
         final SecurityDomain bootSecurityDomain = SecurityDomain.builder()
@@ -148,7 +163,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             ParallelBootOperationContext pboc = bootOps.size() == 0
                     ? null
                     : createOperationContext(primaryContext, bootSecurityDomain, txControl, subsystemRuntimeOps);
-            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc);
+            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc, null);
+            tasks.add(subsystemTask);
             executor.execute(subsystemTask);
         }
 
@@ -156,6 +172,10 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         try {
             preparedLatch.await();
 
+            if (splitSubsystems) {
+                logCriticalPath(OperationContext.Stage.MODEL, tasks);
+            }
+
             // See if all subsystems succeeded; if not report a failure to context
             checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.MODEL);
 
@@ -283,30 +303,76 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 // make sure the registry lock is held
                 context.getServiceRegistry(true);
 
+                // Work out the tasks that will execute each subsystem's ops
+                final Map<PathAddress, Set<PathAddress>> requirementProviders = getRequirementProviders(primaryContext);
+                final int maxLanes = Runtime.getRuntime().availableProcessors();
+                final Map<String, BootOperationPartition> partitions = new LinkedHashMap<>();
+                int taskCount = 0;
+                for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+                    BootOperationPartition partition = requirementProviders == null ? null
+                            : BootOperationPartition.partition(entry.getValue(), requirementProviders, maxLanes);
+                    if (partition != null && partition.getLanes().size() > 1) {
+                        partitions.put(entry.getKey(), partition);
+                        taskCount += partition.getLanes().size() + (partition.getHead().isEmpty() ? 0 : 1);
+                    } else {
+                        taskCount++;
+                    }
+                }
+
                 final Map<String, ParallelBootTransactionControl> transactionControls = new LinkedHashMap<String, ParallelBootTransactionControl>();
+                final List<ParallelBootTask> tasks = new ArrayList<>(taskCount);
 
-                final CountDownLatch preparedLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final CountDownLatch preparedLatch = new CountDownLatch(taskCount);
                 final CountDownLatch committedLatch = new CountDownLatch(1);
-                final CountDownLatch completeLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final CountDownLatch completeLatch = new CountDownLatch(taskCount);
 
                 for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
                     String subsystemName = entry.getKey();
-                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
-                    transactionControls.put(subsystemName, txControl);
-
-                    // Execute the subsystem's ops in another thread
-                    List<ParsedBootOp> bootOps = entry.getValue();
-                    ParallelBootOperationContext pboc = bootOps.size() == 0
-                        ? null
-                        : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
-                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
-                    executor.execute(subsystemTask);
+                    BootOperationPartition partition = partitions.get(subsystemName);
+                    if (partition == null) {
+                        final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+                        transactionControls.put(subsystemName, txControl);
+
+                        // Execute the subsystem's ops in another thread
+                        List<ParsedBootOp> bootOps = entry.getValue();
+                        ParallelBootOperationContext pboc = bootOps.size() == 0
+                            ? null
+                            : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
+                        ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc, null);
+                        tasks.add(subsystemTask);
+                        executor.execute(subsystemTask);
+                    } else {
+                        // Execute the ops for the subsystem resource, and then each lane of unrelated resources in another thread
+                        ParallelBootTask headTask = null;
+                        if (!partition.getHead().isEmpty()) {
+                            final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+                            transactionControls.put(subsystemName, txControl);
+                            ParallelBootOperationContext pboc = createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
+                            headTask = new ParallelBootTask(subsystemName, partition.getHead(), OperationContext.Stage.RUNTIME, txControl, pboc, null);
+                            tasks.add(headTask);
+                            executor.execute(headTask);
+                        }
+                        List<List<ParsedBootOp>> lanes = partition.getLanes();
+                        for (int i = 0; i < lanes.size(); i++) {
+                            String laneName = subsystemName + "[" + i + "]";
+                            final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+                            transactionControls.put(laneName, txControl);
+                            ParallelBootOperationContext pboc = createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
+                            ParallelBootTask laneTask = new ParallelBootTask(laneName, lanes.get(i), OperationContext.Stage.RUNTIME, txControl, pboc, headTask);
+                            tasks.add(laneTask);
+                            executor.execute(laneTask);
+                        }
+                    }
                 }
 
                 // Wait for all subsystem ops to complete
                 try {
                     preparedLatch.await();
 
+                    if (splitSubsystems) {
+                        logCriticalPath(OperationContext.Stage.RUNTIME, tasks);
+                    }
+
                     // See if all subsystems succeeded; if not report a failure to context
                     checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.RUNTIME);
 
@@ -341,31 +407,123 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         };
     }
 
-    private class ParallelBootTask implements Runnable {
+    private Map<PathAddress, Set<PathAddress>> getRequirementProviders(final OperationContextImpl primaryContext) {
+        if (!splitSubsystems) {
+            return null;
+        }
+        Object registry = primaryContext.getManagementModel().getCapabilityRegistry();
+        return registry instanceof CapabilityRegistry ? ((CapabilityRegistry) registry).getRequirementProviderPoints() : null;
+    }
+
+    /**
+     * Logs the task that completed last in a stage, along with its slowest operations, and those of the task it
+     * waited for, if any.
+     */
+    private static void logCriticalPath(final OperationContext.Stage stage, final List<ParallelBootTask> tasks) {
+        final BootCriticalPath criticalPath = BootCriticalPath.of(tasks, CRITICAL_PATH_OPERATIONS);
+        if (criticalPath != null) {
+            MGMT_OP_LOGGER.bootCriticalPath(stage, criticalPath.toString());
+        }
+    }
+
+    /** Records how long the initial execution of a boot operation's handler takes. */
+    private static class OperationTiming implements OperationStepHandler, BootCriticalPath.OperationTime {
+
+        private final ParsedBootOp op;
+        private final OperationStepHandler delegate;
+        private volatile long elapsed;
+
+        OperationTiming(final ParsedBootOp op, final OperationStepHandler delegate) {
+            this.op = op;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            long start = System.nanoTime();
+            try {
+                delegate.execute(context, operation);
+            } finally {
+                elapsed = System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public String getOperationName() {
+            return op.operationName;
+        }
+
+        @Override
+        public PathAddress getAddress() {
+            return op.address;
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return elapsed;
+        }
+    }
+
+    private class ParallelBootTask implements Runnable, BootCriticalPath.Task {
 
         private final String subsystemName;
         private final List<ParsedBootOp> bootOperations;
         private final OperationContext.Stage executionStage;
         private final ParallelBootTransactionControl transactionControl;
         private final ParallelBootOperationContext pboc;
+        /** Task whose operations must complete before ours start, or {@code null} */
+        private final ParallelBootTask predecessor;
+        private final long scheduledTime = System.nanoTime();
+        private final List<OperationTiming> timings;
 
         ParallelBootTask(final String subsystemName,
                          final List<ParsedBootOp> bootOperations,
                          final OperationContext.Stage executionStage,
                          final ParallelBootTransactionControl transactionControl,
-                         final ParallelBootOperationContext pboc) {
+                         final ParallelBootOperationContext pboc,
+                         final ParallelBootTask predecessor) {
             assert bootOperations != null || pboc != null;
             this.subsystemName = subsystemName;
             this.bootOperations = bootOperations;
             this.executionStage = executionStage;
             this.transactionControl = transactionControl;
             this.pboc = pboc;
+            this.predecessor = predecessor;
+            this.timings = bootOperations == null ? Collections.<OperationTiming>emptyList() : new ArrayList<>(bootOperations.size());
+        }
+
+        @Override
+        public String getName() {
+            return subsystemName;
+        }
+
+        @Override
+        public long getScheduledTime() {
+            return scheduledTime;
+        }
+
+        @Override
+        public long getPreparedTime() {
+            return transactionControl.preparedTime;
+        }
+
+        @Override
+        public BootCriticalPath.Task getPredecessor() {
+            return predecessor;
+        }
+
+        @Override
+        public List<OperationTiming> getOperationTimes() {
+            return timings;
         }
 
         @Override
         public void run() {
             try {
 
+                if (predecessor != null) {
+                    predecessor.transactionControl.awaitPrepared();
+                }
                 if (pboc == null) {
                     transactionControl.operationPrepared(new ModelController.OperationTransaction() {
                         @Override
@@ -379,7 +537,13 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 pboc.setControllingThread();
                 for (ParsedBootOp op : bootOperations) {
                     final OperationStepHandler osh = op.handler == null ? rootRegistration.getOperationHandler(op.address, op.operationName) : op.handler;
-                    pboc.addStep(op.response, op.operation, osh, executionStage);
+                    if (splitSubsystems) {
+                        final OperationTiming timing = new OperationTiming(op, osh);
+                        timings.add(timing);
+                        pboc.addStep(op.response, op.operation, timing, executionStage);
+                    } else {
+                        pboc.addStep(op.response, op.operation, osh, executionStage);
+                    }
                 }
                 pboc.executeOperation();
             } catch (RuntimeException | Error t) {
@@ -424,6 +588,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final CountDownLatch preparedLatch;
         private final CountDownLatch committedLatch;
         private final CountDownLatch completeLatch;
+        /** Counted down once the operations have executed, successfully or not */
+        private final CountDownLatch executedLatch = new CountDownLatch(1);
+        private volatile long preparedTime;
         private OperationResponse response;
         private ModelController.OperationTransaction transaction;
         private boolean signalled;
@@ -438,6 +605,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         public void operationFailed(ModelNode response) {
             if (!signalled) {
                 this.response = OperationResponse.Factory.createSimple(response);
+                preparedTime = System.nanoTime();
+                executedLatch.countDown();
                 preparedLatch.countDown();
                 completeLatch.countDown();
                 signalled = true;
@@ -448,6 +617,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         public void operationPrepared(ModelController.OperationTransaction transaction, ModelNode result) {
             if (!signalled) {
                 this.transaction = transaction;
+                preparedTime = System.nanoTime();
+                executedLatch.countDown();
                 preparedLatch.countDown();
                 signalled = true;
 
@@ -465,5 +636,14 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             this.response = response;
             completeLatch.countDown();
         }
+
+        void awaitPrepared() {
+            try {
+                executedLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ControllerLogger.ROOT_LOGGER.transactionInterrupted();
+            }
+        }
     }
 }
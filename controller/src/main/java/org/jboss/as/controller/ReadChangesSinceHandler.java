@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHANGES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EPOCH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHANGES_SINCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESYNC_REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link OperationStepHandler} reading the changes made to the model since a given revision, as recorded by the
+ * {@link ModelChangeJournal}. Allows a client to track the configuration by reading the full model once and then
+ * only the changes made since the revision it read, rather than repeatedly reading the full model. A revision is
+ * only meaningful in the epoch it was read in, which changes when the process is restarted or reloaded.
+ * <p>
+ * Changes to resources the caller may not address, or whose type is no longer registered, are omitted, as are the
+ * values of attributes the caller may not read.
+ */
+public final class ReadChangesSinceHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition REVISION = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.REVISION, ModelType.LONG)
+            .setValidator(new LongRangeValidator(0))
+            .build();
+
+    static final SimpleAttributeDefinition EPOCH_PARAM = new SimpleAttributeDefinitionBuilder(EPOCH, ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_CHANGES_SINCE_OPERATION, ControllerResolver.getResolver("global"))
+            .addParameter(REVISION)
+            .addParameter(EPOCH_PARAM)
+            .setReplyType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    public static final OperationStepHandler INSTANCE = new ReadChangesSinceHandler();
+
+    private static final Set<Action.ActionEffect> ADDRESS_EFFECT = EnumSet.of(Action.ActionEffect.ADDRESS);
+    private static final Set<Action.ActionEffect> READ_EFFECT = EnumSet.of(Action.ActionEffect.READ_CONFIG);
+
+    private ReadChangesSinceHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final long since = REVISION.resolveModelAttribute(context, operation).asLong();
+        final ModelNode epoch = EPOCH_PARAM.resolveModelAttribute(context, operation);
+        final ModelChangeJournal journal = context.getAttachment(ModelChangeJournal.ATTACHMENT_KEY);
+        readChanges(context, journal.readChangesSince(epoch.isDefined() ? epoch.asString() : null, since), change -> true, context.getResult());
+    }
+
+    /**
+     * Populates the result of an operation with changes read from the {@link ModelChangeJournal}.
+     *
+     * @param context the operation context
+     * @param journaled the changes, as read by {@link ModelChangeJournal#readChangesSince(String, long)}
+     * @param filter selects the changes to include
+     * @param result the result to populate
+     * @return the number of changes included
+     */
+    static int readChanges(final OperationContext context, final ModelNode journaled, final Predicate<ModelNode> filter, final ModelNode result) {
+        result.get(EPOCH).set(journaled.get(EPOCH));
+        result.get(ModelDescriptionConstants.REVISION).set(journaled.get(ModelDescriptionConstants.REVISION));
+        result.get(RESYNC_REQUIRED).set(journaled.get(RESYNC_REQUIRED));
+        if (journaled.get(RESYNC_REQUIRED).asBoolean()) {
+            result.remove(CHANGES);
+            return 0;
+        }
+        final ModelNode changes = result.get(CHANGES).setEmptyList();
+        for (ModelNode change : journaled.get(CHANGES).asList()) {
+            if (filter.test(change) && authorize(context, change)) {
+                changes.add(change);
+            }
+        }
+        return changes.asInt();
+    }
+
+    /**
+     * Checks whether the caller may see a change, removing the values of attributes it may not read.
+     *
+     * @return {@code true} if the change should be included
+     */
+    private static boolean authorize(final OperationContext context, final ModelNode change) {
+        final PathAddress address = PathAddress.pathAddress(change.get(ADDRESS));
+        final ImmutableManagementResourceRegistration registration = context.getRootResourceRegistration().getSubModel(address);
+        if (registration == null) {
+            // The type is no longer registered, so we cannot check whether the caller may address it
+            return false;
+        }
+        final ModelNode readResource = Util.createEmptyOperation(READ_RESOURCE_OPERATION, address);
+        if (context.authorize(readResource, ADDRESS_EFFECT).getDecision() == AuthorizationResult.Decision.DENY) {
+            return false;
+        }
+        if (ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION.equals(change.get(TYPE).asString())) {
+            final String name = change.get(NAME).asString();
+            final ModelNode readAttribute = Util.getReadAttributeOperation(address, name);
+            final ModelNode value = change.hasDefined(GlobalNotifications.NEW_VALUE) ? change.get(GlobalNotifications.NEW_VALUE) : change.get(GlobalNotifications.OLD_VALUE);
+            if (registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name) == null
+                    || context.authorize(readAttribute, name, value, READ_EFFECT).getDecision() == AuthorizationResult.Decision.DENY) {
+                change.remove(GlobalNotifications.OLD_VALUE);
+                change.remove(GlobalNotifications.NEW_VALUE);
+            }
+        }
+        return true;
+    }
+}
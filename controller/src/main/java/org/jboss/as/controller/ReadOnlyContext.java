@@ -33,6 +33,7 @@ import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.access.ResourceAuthorization;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
 import org.jboss.as.controller.client.MessageSeverity;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.Notification;
@@ -66,6 +67,8 @@ class ReadOnlyContext extends AbstractOperationContext {
     private Step lockStep;
 
     private final ConcurrentMap<AttachmentKey<?>, Object> valueAttachments = new ConcurrentHashMap<AttachmentKey<?>, Object>();
+    private volatile boolean unsupportedCall;
+    private volatile boolean serialFallback;
 
     ReadOnlyContext(final ProcessType processType, final RunningMode runningMode, final ModelController.OperationTransactionControl transactionControl,
                     final ControlledProcessState processState, final boolean booting, final ModelControllerImpl.ManagementModelImpl managementModel,
@@ -351,9 +354,33 @@ class ReadOnlyContext extends AbstractOperationContext {
     }
 
     IllegalStateException readOnlyContext() {
+        unsupportedCall = true;
         return ControllerLogger.ROOT_LOGGER.readOnlyContext();
     }
 
+    /**
+     * Gets whether a step made a call this context does not support, so the operation must be executed by a
+     * context that does.
+     *
+     * @return {@code true} if an unsupported call was made
+     */
+    boolean isUnsupportedCallMade() {
+        return unsupportedCall;
+    }
+
+    /**
+     * Records that the caller executes the operation in another context if a step makes an unsupported call, so the
+     * resulting failure is not logged.
+     */
+    void setSerialFallback() {
+        serialFallback = true;
+    }
+
+    @Override
+    boolean isUnexpectedFailureLogged() {
+        return !(serialFallback && unsupportedCall);
+    }
+
     @Override
     public AuthorizationResult authorizeOperation(ModelNode operation) {
         return primaryContext.authorizeOperation(operation);
@@ -410,31 +437,41 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public <T> T getCapabilityRuntimeAPI(String capabilityName, Class<T> apiType) {
-        throw readOnlyContext();
+        OperationContextImpl.assertCapabilitiesAvailable(currentStage);
+        CapabilityScope context = CapabilityScope.Factory.create(getProcessType(), activeStep.address);
+        return managementModel.getCapabilityRegistry().getCapabilityRuntimeAPI(capabilityName, context, apiType);
     }
 
     @Override
     public <T> T getCapabilityRuntimeAPI(String capabilityBaseName, String dynamicPart, Class<T> apiType) {
-        throw readOnlyContext();
+        return getCapabilityRuntimeAPI(RuntimeCapability.buildDynamicCapabilityName(capabilityBaseName, dynamicPart), apiType);
     }
 
     @Override
     public ServiceName getCapabilityServiceName(String capabilityName, Class<?> type) {
-        throw readOnlyContext();
+        OperationContextImpl.assertCapabilitiesAvailable(currentStage);
+        CapabilityScope context = CapabilityScope.Factory.create(getProcessType(), activeStep.address);
+        try {
+            return managementModel.getCapabilityRegistry().getCapabilityServiceName(capabilityName, context, type);
+        } catch (IllegalStateException ignored) {
+            // not registered. just do it directly
+        }
+        return ServiceNameFactory.parseServiceName(capabilityName);
     }
 
     @Override
     public ServiceName getCapabilityServiceName(String capabilityBaseName, String dynamicPart, Class<?> serviceType) {
-        throw readOnlyContext();
+        return getCapabilityServiceName(RuntimeCapability.buildDynamicCapabilityName(capabilityBaseName, dynamicPart), serviceType);
     }
 
     @Override
     public ServiceName getCapabilityServiceName(String capabilityBaseName, Class<?> serviceType, String... dynamicParts) {
-        throw readOnlyContext();
+        return getCapabilityServiceName(RuntimeCapability.buildDynamicCapabilityName(capabilityBaseName, dynamicParts), serviceType);
     }
 
     @Override
     public CapabilityServiceSupport getCapabilityServiceSupport() {
-        throw readOnlyContext();
+        OperationContextImpl.assertCapabilitiesAvailable(currentStage);
+        return new OperationContextImpl.CapabilityServiceSupportImpl(managementModel);
     }
 }
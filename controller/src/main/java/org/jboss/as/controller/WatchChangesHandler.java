@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESYNC_REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REVISION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TIMEOUT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WATCH_CHANGES_OPERATION;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link OperationStepHandler} waiting for changes to the model made since a given revision, as recorded by the
+ * {@link ModelChangeJournal}. If no matching change has been made since that revision, the handler waits until
+ * one is, or until a timeout expires, allowing clients that cannot receive notifications to observe changes
+ * without repeatedly polling.
+ * <p>
+ * Changes can be restricted to those of resources whose address matches a {@code source} pattern, which may contain
+ * wildcards, and to the writes of a given {@code attribute}. While waiting, the handler checks for matching changes
+ * each time the journal records a new revision. The wait is kept well below the blocking timeout of the operation,
+ * so a client waiting for changes never holds a management thread until the operation would time out. The number
+ * of operations waiting at once is also limited by the journal; once reached, further operations respond immediately
+ * with any changes already made.
+ */
+public final class WatchChangesHandler implements OperationStepHandler {
+
+    private static final SimpleAttributeDefinition SOURCE = new SimpleAttributeDefinitionBuilder(Notification.SOURCE, ModelType.LIST)
+            .setRequired(false)
+            .build();
+
+    private static final SimpleAttributeDefinition ATTRIBUTE_NAME = new SimpleAttributeDefinitionBuilder(ATTRIBUTE, ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private static final SimpleAttributeDefinition TIMEOUT_SECONDS = new SimpleAttributeDefinitionBuilder(TIMEOUT, ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(30))
+            .setValidator(new IntRangeValidator(0, 60, true, false))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(WATCH_CHANGES_OPERATION, ControllerResolver.getResolver("global"))
+            .setParameters(ReadChangesSinceHandler.REVISION, ReadChangesSinceHandler.EPOCH_PARAM, SOURCE, ATTRIBUTE_NAME, TIMEOUT_SECONDS)
+            .setReplyType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    public static final OperationStepHandler INSTANCE = new WatchChangesHandler();
+
+    private WatchChangesHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final long since = ReadChangesSinceHandler.REVISION.resolveModelAttribute(context, operation).asLong();
+        final ModelNode epochNode = ReadChangesSinceHandler.EPOCH_PARAM.resolveModelAttribute(context, operation);
+        final String epoch = epochNode.isDefined() ? epochNode.asString() : null;
+        final PathAddress source = operation.hasDefined(SOURCE.getName()) ? PathAddress.pathAddress(SOURCE.validateOperation(operation)) : PathAddress.EMPTY_ADDRESS;
+        final ModelNode attributeNode = ATTRIBUTE_NAME.resolveModelAttribute(context, operation);
+        final String attribute = attributeNode.isDefined() ? attributeNode.asString() : null;
+        long timeout = TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS.resolveModelAttribute(context, operation).asInt());
+        final BlockingTimeout blockingTimeout = BlockingTimeout.Factory.getProxyBlockingTimeout(context);
+        if (blockingTimeout != null) {
+            // Respond long before the operation could time out, even if the blocking timeout was lowered
+            timeout = Math.min(timeout, blockingTimeout.getLocalBlockingTimeout() / 4);
+        }
+
+        final ModelChangeJournal journal = context.getAttachment(ModelChangeJournal.ATTACHMENT_KEY);
+        final Predicate<ModelNode> changeFilter = change -> (source.size() == 0 || source.matches(PathAddress.pathAddress(change.get(ADDRESS))))
+                && isWatched(change, attribute);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final ModelNode result = context.getResult();
+        if (ReadChangesSinceHandler.readChanges(context, journal.readChangesSince(epoch, since), changeFilter, result) > 0
+                || result.get(RESYNC_REQUIRED).asBoolean() || timeout == 0 || !journal.startWatch()) {
+            // Nothing to wait for, or too many watches are already holding management threads; the client
+            // can watch again from the revision returned
+            return;
+        }
+        try {
+            do {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !journal.awaitRevision(result.get(REVISION).asLong(), remaining, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } while (ReadChangesSinceHandler.readChanges(context, journal.readChangesSince(epoch, since), changeFilter, result) == 0
+                    && !result.get(RESYNC_REQUIRED).asBoolean());
+        } catch (InterruptedException e) {
+            // The operation was cancelled; respond with whatever was last read
+            Thread.currentThread().interrupt();
+        } finally {
+            journal.endWatch();
+        }
+    }
+
+    /**
+     * Gets whether a change is of interest.
+     *
+     * @param change the change, holding the {@code name} of any attribute written
+     * @param attribute the name of the attribute being watched, or {@code null} if any change is of interest
+     */
+    private static boolean isWatched(final ModelNode change, final String attribute) {
+        switch (change.get(TYPE).asString()) {
+            case RESOURCE_ADDED_NOTIFICATION:
+            case RESOURCE_REMOVED_NOTIFICATION:
+                return true;
+            case ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION:
+                return attribute == null || (change.hasDefined(NAME) && attribute.equals(change.get(NAME).asString()));
+            default:
+                return false;
+        }
+    }
+}
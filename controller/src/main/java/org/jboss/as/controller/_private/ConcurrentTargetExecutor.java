@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller._private;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Executes the steps for the individual targets of an operation addressed to multiple targets concurrently. Not part
+ * of the API; used by the global operation handlers when the controller allows it.
+ */
+public interface ConcurrentTargetExecutor {
+
+    /**
+     * Attachment holding a function creating an executor for the targets of the operation executing in a given
+     * context. The function returns {@code null} if the targets must be executed as steps of that context.
+     */
+    OperationContext.AttachmentKey<Function<OperationContext, ConcurrentTargetExecutor>> ATTACHMENT_KEY = OperationContext.AttachmentKey.create(Function.class);
+
+    /**
+     * Adds a target to execute.
+     *
+     * @param operation the operation to execute for the target
+     * @param handler the handler of the operation
+     * @param response the node to hold the response of the target
+     */
+    void addTarget(ModelNode operation, OperationStepHandler handler, ModelNode response);
+
+    /**
+     * Executes all added targets, and waits until they have all completed. The response of a target that could not
+     * be executed concurrently, e.g. because its handler emitted a notification, is left undefined; it must be
+     * executed as a step of the operation.
+     */
+    void execute();
+}
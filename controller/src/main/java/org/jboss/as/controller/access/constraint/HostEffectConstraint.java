@@ -173,6 +173,23 @@ public class HostEffectConstraint extends AbstractConstraint implements Constrai
         return other instanceof HostEffectConstraint && (readOnly || readOnlyConstraint != null);
     }
 
+    /**
+     * Required constraints, which the factory creates for each check of a host scoped resource, are equal if they
+     * require the same hosts. User constraints are only equal to themselves, as their allowed hosts can be changed.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HostEffectConstraint)) return false;
+        HostEffectConstraint that = (HostEffectConstraint) o;
+        return !user && !that.user && global == that.global && hostsHolder.specific.equals(that.hostsHolder.specific);
+    }
+
+    @Override
+    public int hashCode() {
+        return user ? System.identityHashCode(this) : 31 * Boolean.hashCode(global) + hostsHolder.specific.hashCode();
+    }
+
     // Scoping Constraint
 
     @Override
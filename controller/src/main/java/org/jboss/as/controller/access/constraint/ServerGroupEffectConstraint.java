@@ -222,6 +222,35 @@ public class ServerGroupEffectConstraint extends AbstractConstraint implements C
         return other instanceof ServerGroupEffectConstraint && (readOnly || readOnlyConstraint != null);
     }
 
+    /**
+     * Required constraints, which the factory creates for each check of a server group scoped resource, are equal if
+     * they require the same server groups in the same way. User constraints are only equal to themselves, as their
+     * allowed server groups can be changed.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ServerGroupEffectConstraint)) return false;
+        ServerGroupEffectConstraint that = (ServerGroupEffectConstraint) o;
+        return !user && !that.user && global == that.global && nonServerHost == that.nonServerHost
+                && unassigned == that.unassigned && groupAdd == that.groupAdd && groupRemove == that.groupRemove
+                && groupsHolder.specific.equals(that.groupsHolder.specific);
+    }
+
+    @Override
+    public int hashCode() {
+        if (user) {
+            return System.identityHashCode(this);
+        }
+        int result = groupsHolder.specific.hashCode();
+        result = 31 * result + (global ? 1 : 0);
+        result = 31 * result + (nonServerHost ? 1 : 0);
+        result = 31 * result + (unassigned ? 1 : 0);
+        result = 31 * result + (groupAdd ? 1 : 0);
+        result = 31 * result + (groupRemove ? 1 : 0);
+        return result;
+    }
+
     // Scoping Constraint
 
     @Override
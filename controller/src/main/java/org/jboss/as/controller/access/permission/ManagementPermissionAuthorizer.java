@@ -24,9 +24,13 @@ package org.jboss.as.controller.access.permission;
 
 import java.security.Permission;
 import java.security.PermissionCollection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.PathAddress;
@@ -49,7 +53,17 @@ import org.jboss.dmr.ModelNode;
  * @author Brian Stansberry (c) 2013 Red Hat Inc.
  */
 public class ManagementPermissionAuthorizer implements Authorizer {
+
+    /** Maximum number of cached decisions; the cache is cleared when this is reached */
+    private static final int MAX_CACHED_DECISIONS = 4096;
+
     private final PermissionFactory permissionFactory;
+    /**
+     * Decisions for {@link PermissionFactory#isDecisionCacheable(PermissionCollection) cacheable} user permissions.
+     * Each user permission collection is specific to a role set and to a version of the access control
+     * configuration, so changes to the configuration result in different keys.
+     */
+    private final Map<DecisionKey, AuthorizationResult> decisions = new ConcurrentHashMap<>();
 
     public ManagementPermissionAuthorizer(PermissionFactory permissionFactory) {
         this.permissionFactory = permissionFactory;
@@ -78,6 +92,9 @@ public class ManagementPermissionAuthorizer implements Authorizer {
             return AuthorizationResult.PERMITTED;
         }
         PermissionCollection userPerms = permissionFactory.getUserPermissions(caller, callEnvironment, action, target);
+        if (userPerms == AllPermissionsCollection.INSTANCE) {
+            return AuthorizationResult.PERMITTED;
+        }
         PermissionCollection requiredPerms = permissionFactory.getRequiredPermissions(action, target);
         return authorize(userPerms, requiredPerms);
     }
@@ -103,6 +120,26 @@ public class ManagementPermissionAuthorizer implements Authorizer {
     }
 
     private AuthorizationResult authorize(PermissionCollection userPermissions, PermissionCollection requiredPermissions) {
+        final DecisionKey key = permissionFactory.isDecisionCacheable(userPermissions)
+                ? DecisionKey.create(userPermissions, requiredPermissions) : null;
+        if (key == null) {
+            return decide(userPermissions, requiredPermissions);
+        }
+        AuthorizationResult result = decisions.get(key);
+        if (result == null) {
+            result = decide(userPermissions, requiredPermissions);
+            if (result.getExplanation() != null) {
+                result.getExplanation().protect();
+            }
+            if (decisions.size() >= MAX_CACHED_DECISIONS) {
+                decisions.clear();
+            }
+            decisions.put(key, result);
+        }
+        return result;
+    }
+
+    private static AuthorizationResult decide(PermissionCollection userPermissions, PermissionCollection requiredPermissions) {
 
         final Enumeration<Permission> enumeration = requiredPermissions.elements();
         while (enumeration.hasMoreElements()){
@@ -134,4 +171,64 @@ public class ManagementPermissionAuthorizer implements Authorizer {
     private boolean isServerBooting(Environment callEnvironment) {
         return callEnvironment != null && callEnvironment.getProcessState() == ControlledProcessState.State.STARTING;
     }
+
+    /**
+     * Key of a cached decision: the user permissions plus, for each required permission, its action effect and
+     * constraints. The user permissions are compared by identity. Constraints are compared by equality; the standard
+     * factories either return shared instances or, for host and server group scoped resources, instances that are
+     * equal if they require the same hosts or server groups.
+     */
+    private static final class DecisionKey {
+
+        private final PermissionCollection userPermissions;
+        private final Object[] required;
+        private final int hash;
+
+        private DecisionKey(PermissionCollection userPermissions, Object[] required) {
+            this.userPermissions = userPermissions;
+            this.required = required;
+            int result = System.identityHashCode(userPermissions);
+            for (Object object : required) {
+                result = 31 * result + object.hashCode();
+            }
+            this.hash = result;
+        }
+
+        /** Returns {@code null} if the required permissions are not all {@link SimpleManagementPermission}s */
+        private static DecisionKey create(PermissionCollection userPermissions, PermissionCollection requiredPermissions) {
+            final List<Object> required = new ArrayList<>();
+            final Enumeration<Permission> enumeration = requiredPermissions.elements();
+            while (enumeration.hasMoreElements()) {
+                Permission permission = enumeration.nextElement();
+                if (permission.getClass() != SimpleManagementPermission.class) {
+                    return null;
+                }
+                SimpleManagementPermission simple = (SimpleManagementPermission) permission;
+                required.add(simple.getActionEffect());
+                Collections.addAll(required, (Object[]) simple.getConstraints());
+            }
+            return new DecisionKey(userPermissions, required.toArray());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DecisionKey)) return false;
+            DecisionKey that = (DecisionKey) o;
+            if (hash != that.hash || userPermissions != that.userPermissions || required.length != that.required.length) {
+                return false;
+            }
+            for (int i = 0; i < required.length; i++) {
+                if (!required[i].equals(that.required[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -54,4 +54,19 @@ public interface PermissionFactory {
     PermissionCollection getUserPermissions(Caller caller, Environment callEnvironment, JmxAction action, JmxTarget target);
 
     PermissionCollection getRequiredPermissions(JmxAction action, JmxTarget target);
+
+    /**
+     * Gets whether the given user permissions, as returned by one of the {@code getUserPermissions} methods,
+     * will always reach the same decision for required permissions that have the same
+     * {@link java.security.Permission#getActions() actions} and identical constraints, allowing callers to
+     * cache the decision. This is not the case if the permissions themselves can be modified after creation,
+     * e.g. if they are based on configurable scoped roles.
+     *
+     * @param userPermissions the user permissions. Cannot be {@code null}
+     * @return {@code true} if decisions made using the permissions can be cached. This default implementation
+     *         returns {@code false}
+     */
+    default boolean isDecisionCacheable(PermissionCollection userPermissions) {
+        return false;
+    }
 }
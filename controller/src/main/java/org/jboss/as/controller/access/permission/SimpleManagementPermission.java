@@ -49,6 +49,10 @@ public class SimpleManagementPermission extends ManagementPermission {
         this.constraints = constraints;
     }
 
+    Constraint[] getConstraints() {
+        return constraints;
+    }
+
     @Override
     public boolean implies(Permission permission) {
         if (equals(permission)) {
@@ -35,6 +35,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.AuthorizerConfiguration;
@@ -178,6 +179,20 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Permissions are cacheable if none of the roles they were created for is a scoped role, as the
+     * constraints of scoped roles can be reconfigured in place. Any other change to the access control
+     * configuration results in new user permissions being created.
+     * </p>
+     */
+    @Override
+    public boolean isDecisionCacheable(PermissionCollection userPermissions) {
+        return configureRolePermissions().isCacheable(userPermissions);
+    }
+
     private PermissionCollection checkAllPermissions(Set<String> roles) {
         if (roles.contains(StandardRole.SUPERUSER.toString())
                 && (authorizerConfiguration.getPermissionCombinationPolicy() == CombinationPolicy.PERMISSIVE
@@ -286,7 +301,7 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
             for (Map.Entry<String, ScopedBase> entry : scopedBaseMap.entrySet()) {
                 addScopedRoleInternal(entry.getKey(), entry.getValue().base, entry.getValue().constraint);
             }
-            permsHolder = new PermsHolder(permissionsByRole, constraintFactories);
+            permsHolder = new PermsHolder(permissionsByRole, scopedBaseMap.keySet(), constraintFactories);
             rolePermissionsConfigured = true;
         }
         return permsHolder;
@@ -435,10 +450,14 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
                 Collections.synchronizedMap(new HashMap<Set<String>, PermissionCollection>());
         private final Map<String, ManagementPermissionCollection> permsByRole =
                 new HashMap<String, ManagementPermissionCollection>();
+        private final Set<String> scopedRoles;
+        private final Set<PermissionCollection> cacheable = ConcurrentHashMap.newKeySet();
         private final ConstraintFactory[] constraintFactories;
 
-        private PermsHolder(Map<String, ManagementPermissionCollection> permsByRole, SortedSet<ConstraintFactory> constraintFactories) {
+        private PermsHolder(Map<String, ManagementPermissionCollection> permsByRole, Set<String> scopedRoles,
+                            SortedSet<ConstraintFactory> constraintFactories) {
             this.permsByRole.putAll(permsByRole);
+            this.scopedRoles = new HashSet<String>(scopedRoles);
             this.constraintFactories = constraintFactories.toArray(new ConstraintFactory[constraintFactories.size()]);
         }
 
@@ -448,6 +467,16 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
 
         private void storePermissions(Set<String> roleSet, PermissionCollection perms) {
             permsByRoleSet.put(roleSet, perms);
+            for (String role : roleSet) {
+                if (scopedRoles.contains(getOfficialForm(role))) {
+                    return;
+                }
+            }
+            cacheable.add(perms);
+        }
+
+        private boolean isCacheable(PermissionCollection perms) {
+            return cacheable.contains(perms);
         }
     }
 
@@ -42,6 +42,7 @@ public class ModelDescriptionConstants {
     public static final String ACTIVE_SOCKET_BINDING_GROUPS = "active-socket-binding-groups";
     public static final String ADD = "add";
     public static final String ADDRESS = "address";
+    public static final String ADDRESS_STATISTICS = "address-statistics";
     public static final String ADDR_PARAMS = "addr-params";
     public static final String ADDR_PARAMS_MAPPING = "addr-params-mapping";
     public static final String ADD_CONTENT = "add-content";
@@ -98,6 +99,7 @@ public class ModelDescriptionConstants {
     public static final String CAPABILITY_REFERENCE = "capability-reference";
     public static final String CAPABILITY_REFERENCE_PATTERN_ELEMENTS = "capability-reference-pattern-elements";
     public static final String CAPABILITY_REGISTRY = "capability-registry";
+    public static final String CHANGES = "changes";
     public static final String CHILD_TYPE = "child-type";
     public static final String CHILDREN = "children";
     public static final String CLASSIFICATION = "classification";
@@ -126,6 +128,7 @@ public class ModelDescriptionConstants {
     public static final String CORE_SERVICE = "core-service";
     public static final String CPU_AFFINITY = "cpu-affinity";
     public static final String CRITERIA = "criteria";
+    public static final String CURSOR = "cursor";
     public static final String CUSTOM_DISCOVERY = "custom-discovery";
     public static final String DATE = "date";
     public static final String DATE_FORMAT = "date-format";
@@ -181,6 +184,7 @@ public class ModelDescriptionConstants {
     public static final String ENABLED_TIME = "enabled-time";
     public static final String ENABLED_TIMESTAMP = "enabled-timestamp";
     public static final String ENTIRE_RESOURCE = "entire-resource";
+    public static final String EPOCH = "epoch";
     public static final String EXECUTE = "execute";
     public static final String EXCEPTIONS = "exceptions";
     public static final String EXCLUDE = "exclude";
@@ -190,6 +194,7 @@ public class ModelDescriptionConstants {
     public static final String EXCLUSIVE_RUNNING_TIME = "exclusive-running-time";
     public static final String EXECUTE_FOR_COORDINATOR = "execute-for-coordinator";
     public static final String EXECUTION_STATUS = "execution-status";
+    public static final String EXECUTION_TIME = "execution-time";
     public static final String EXPLODE = "explode";
     public static final String EXPRESSIONS_ALLOWED = "expressions-allowed";
     public static final String EXTENSION = "extension";
@@ -287,12 +292,14 @@ public class ModelDescriptionConstants {
     public static final String LEVEL = "level";
     public static final String LDAP = "ldap";
     public static final String LDAP_CONNECTION = "ldap-connection";
+    public static final String LIMIT = "limit";
     public static final String LIST_SNAPSHOTS_OPERATION = "list-snapshots";
     public static final String LIST_MODULES = "list-modules";
     public static final String LOCAL = "local";
     public static final String LOCAL_DESTINATION_OUTBOUND_SOCKET_BINDING = "local-destination-outbound-socket-binding";
     public static final String LOCAL_HOST_NAME = "local-host-name";
     public static final String LOCALE = "locale";
+    public static final String LOCK_WAIT_STATISTICS = "lock-wait-statistics";
     public static final String LOGGER = "logger";
     public static final String LOG_BOOT = "log-boot";
     public static final String LOG_READ_ONLY = "log-read-only";
@@ -338,24 +345,29 @@ public class ModelDescriptionConstants {
     public static final String NATIVE_REMOTING_INTERFACE = "native-remoting-interface";
     public static final String NESTED = "nested";
     public static final String NETWORK = "network";
+    public static final String NEXT_CURSOR = "next-cursor";
     public static final String NILLABLE = "nillable";
     public static final String NIL_SIGNIFICANT = "nil-significant";
     public static final String NORMAL = "normal";
     public static final String NOT = "not";
     public static final String NOTIFICATION = "notification";
     public static final String NOTIFICATION_DATA_TYPE = "data-type";
+    public static final String NOTIFICATION_HANDLER_STATISTICS = "notification-handler-statistics";
     public static final String NOTIFICATION_TYPE = "notification-type";
     public static final String NOTIFICATIONS = "notifications";
     public static final String NO_SERVICES = "no-services";
+    public static final String OFFSET = "offset";
     /** Use this as the standard operation name field in the operation *request* ModelNode */
     public static final String OP = "operation";
     /** Use this standard operation address field in the operation *request* ModelNode */
     public static final String OP_ADDR = "address";
     public static final String ORGANIZATION = "organization";
+    public static final String ORDER = "order";
     public static final String OPERATION_DATE = "operation-date";
     public static final String OPERATION_HEADERS = "operation-headers";
     public static final String OPERATION_ID = "operation-id";
     public static final String OPERATION_NAME = "operation-name";
+    public static final String OPERATION_STATISTICS = "operation-statistics";
     public static final String OP_PARAMS = "op-params";
     public static final String OP_PARAMS_MAPPING = "op-params-mapping";
     public static final String OPERATIONS = "operations";
@@ -407,6 +419,7 @@ public class ModelDescriptionConstants {
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
     public static final String READ_ATTRIBUTE_GROUP_NAMES_OPERATION = "read-attribute-group-names";
+    public static final String READ_CHANGES_SINCE_OPERATION = "read-changes-since";
     public static final String READ_CHILDREN_NAMES_OPERATION = "read-children-names";
     public static final String READ_CHILDREN_TYPES_OPERATION = "read-children-types";
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
@@ -442,6 +455,7 @@ public class ModelDescriptionConstants {
     public static final String REPLACE_DEPLOYMENT = "replace-deployment";
     public static final String REPLY_PROPERTIES = "reply-properties";
     public static final String REVERSE_GROUP = "reverse-group";
+    public static final String REVISION = "revision";
     public static final String REQUEST_PROPERTIES = "request-properties";
     public static final String REQUIRED = "required";
     public static final String REQUIRES = "requires";
@@ -456,6 +470,7 @@ public class ModelDescriptionConstants {
     public static final String RESULT = "result";
     public static final String RESULT_PATH = "result-path";
     public static final String RESULT_PATTERN = "result-pattern";
+    public static final String RESYNC_REQUIRED = "resync-required";
     public static final String REASON = "reason";
     public static final String ROLE = "role";
     public static final String ROLES = "roles";
@@ -549,6 +564,7 @@ public class ModelDescriptionConstants {
     public static final String STOP_SERVERS = "stop-servers";
     /** The key for {@link org.jboss.as.controller.registry.AttributeAccess.Storage} fields. */
     public static final String STORAGE = "storage";
+    public static final String STREAM_RESULT = "stream-result";
     public static final String SUBDEPLOYMENT = "subdeployment";
     public static final String SUBSYSTEM = "subsystem";
     public static final String SUCCESS = "success";
@@ -619,6 +635,7 @@ public class ModelDescriptionConstants {
     public static final String WARNING = "warning";
     public static final String WARNINGS = "warnings";
     public static final String WARNING_LEVEL = "warning-level";
+    public static final String WATCH_CHANGES_OPERATION = "watch-changes";
     public static final String WEB_URL = "web-url";
     public static final String WHERE = "where";
     public static final String WILDCARD = "wildcard";
@@ -3621,4 +3621,35 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 474, value = "No marker file found indicating that the server has been restarted following execution of the additional commands from the CLI script")
     void noRestartMarkerFile();
 
+    /**
+     * Creates an exception indicating a continuation cursor passed to an operation is not valid.
+     *
+     * @param cursor the cursor
+     *
+     * @return an {@link OperationFailedException} for the error.
+     */
+    @Message(id = 475, value = "Invalid continuation cursor '%s'")
+    OperationFailedException invalidContinuationCursor(String cursor);
+
+    /**
+     * Creates an exception indicating the result of an operation could not be written to the stream attached to
+     * its response.
+     *
+     * @param cause the cause of the failure
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 476, value = "Failed to write the result to the response stream: %s")
+    OperationFailedException failedToStreamResult(String cause);
+
+    /**
+     * Logs the critical path of a stage of parallel boot.
+     *
+     * @param stage the stage
+     * @param criticalPath a description of the critical path
+     */
+    @LogMessage(level = INFO)
+    @Message(id = 477, value = "%s stage of parallel boot was gated by %s")
+    void bootCriticalPath(OperationContext.Stage stage, String criticalPath);
+
 }
@@ -29,5 +29,52 @@ package org.jboss.as.controller.notification;
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2013 Red Hat inc.
  */
 public interface NotificationHandler {
+
+    /** The default {@link #getQueueCapacity() queue capacity} */
+    int DEFAULT_QUEUE_CAPACITY = 1024;
+
     void handleNotification(Notification notification);
+
+    /**
+     * Gets the maximum number of notifications that may be queued for delivery to this handler when notifications
+     * are delivered asynchronously. Each handler has its own queue, so a slow handler does not delay delivery to
+     * other handlers until its queue is full.
+     *
+     * @return the capacity of the queue. Must be greater than zero
+     */
+    default int getQueueCapacity() {
+        return DEFAULT_QUEUE_CAPACITY;
+    }
+
+    /**
+     * Gets what happens when a notification is emitted while this handler's queue is full. By default no
+     * notification is lost; a handler that can tolerate losing notifications can opt in to
+     * {@link OverflowPolicy#DROP_OLDEST dropping} or {@link OverflowPolicy#COALESCE coalescing} them, so that it
+     * never delays delivery to other handlers.
+     *
+     * @return the overflow policy. Cannot be {@code null}
+     */
+    default OverflowPolicy getOverflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * What happens when a notification is emitted while a handler's queue is full.
+     */
+    enum OverflowPolicy {
+        /**
+         * Wait for the handler to make room in its queue, so no notification is lost. Emitters do not wait, but
+         * delivery of later notifications to other handlers does. This is the default.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest queued notification.
+         */
+        DROP_OLDEST,
+        /**
+         * Discard a queued notification with the same type and source as the new one, so the handler only receives
+         * the latest, or else the oldest queued notification.
+         */
+        COALESCE
+    }
 }
@@ -25,6 +25,7 @@ package org.jboss.as.controller.notification;
 import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
 
 /**
  * The NotificationSupport can be used to emit notifications.
@@ -45,6 +46,18 @@ public interface NotificationSupport {
      */
     void emit(final Notification... notifications);
 
+    /**
+     * Get statistics about the delivery of notifications to each registered handler: the number of notifications
+     * queued, delivered and dropped, and the mean and maximum time in milliseconds between the creation of a
+     * notification and its delivery.
+     *
+     * @return an object keyed by the string form of the handlers, or an undefined node if notifications are not
+     *         queued for delivery
+     */
+    default ModelNode getHandlerStatistics() {
+        return new ModelNode();
+    }
+
     class Factory {
         private Factory() {
         }
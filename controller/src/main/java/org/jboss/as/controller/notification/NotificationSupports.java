@@ -22,15 +22,25 @@
 
 package org.jboss.as.controller.notification;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
 
 /**
  * Provides implementation of the {@code NotificationSupport}.
@@ -40,12 +50,20 @@ import org.jboss.as.controller.registry.NotificationHandlerRegistration;
  *
  * The {@code NonBlockingNotificationSupport} will fire the notifications in a separate thread (provided by its {@code
  *  executorService}.
- * Its {@code emit()} method will return immediately and will not block the code execution.
+ * Its {@code emit()} method will return immediately and will not block the code execution. Each handler has its own
+ * queue of notifications to deliver, bounded according to its {@link NotificationHandler#getQueueCapacity() capacity}
+ * and {@link NotificationHandler#getOverflowPolicy() overflow policy}.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2014 Red Hat inc.
  */
 class NotificationSupports {
 
+    private static final String QUEUED = "queued";
+    private static final String DELIVERED = "delivered";
+    private static final String DROPPED = "dropped";
+    private static final String MEAN_LAG = "mean-lag";
+    private static final String MAX_LAG = "max-lag";
+
     static class BlockingNotificationSupport implements NotificationSupport {
 
         private final NotificationHandlerRegistration registry;
@@ -67,54 +85,258 @@ class NotificationSupports {
 
     static class NonBlockingNotificationSupport implements  NotificationSupport {
 
+        /** The maximum number of notifications processed by a task before it resubmits itself to the executor */
+        private static final int BATCH_SIZE = 256;
+
         private final NotificationHandlerRegistration registry;
         private final ExecutorService executor;
 
         /**
          * Use a concurrent queue to put the notifications in it when {@code emit()} is called.
-         * The queue will be drained in a separate thread and the notifications effectively delivered to the handlers.
+         * The queue will be drained in a separate thread and the notifications added to the queues of the
+         * matching handlers, which are in turn drained in separate threads.
          *
-         * This ensures that the notifications will be delivered in the same order they were emitted.
+         * This ensures that the notifications will be delivered to each handler in the same order they were emitted.
          */
         private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
 
         /**
-         * use the lock's exclusive writeLock to ensure only one thread can drain the queue at a given time.
+         * Whether a task draining the queue has been submitted and not yet completed, so that only one thread drains
+         * the queue at a given time.
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final Map<NotificationHandler, HandlerQueue> handlerQueues = new ConcurrentHashMap<>();
 
         public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor) {
-            this.registry = registry;
+            this.registry = new QueueingRegistration(registry);
             this.executor = executor;
         }
 
         @Override
-        public synchronized void emit(Notification... notifications) {
+        public void emit(Notification... notifications) {
+            // addAll links all the notifications in at once, so those of concurrent emitters are not interleaved
             queue.addAll(Arrays.asList(notifications));
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Leave the queued notifications to the next emit rather than never draining the queue again
+                    draining.set(false);
+                    throw e;
+                }
+            }
+        }
 
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    lock.writeLock().lock();
-                    try {
-                        while (true) {
-                            Notification notification = queue.poll();
-                            if (notification == null) {
-                                break;
-                            }
-                            fireNotifications(registry, notification);
+        private void drain() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Notification notification = queue.poll();
+                if (notification == null) {
+                    draining.set(false);
+                    // Resume if a notification was emitted after the poll but did not start a new task
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    // each notification may have a different subset of handlers depending on their filters
+                    for (NotificationHandler handler : registry.findMatchingNotificationHandlers(notification)) {
+                        HandlerQueue handlerQueue = handlerQueues.get(handler);
+                        // no queue if the handler was unregistered since it was found
+                        if (handlerQueue != null) {
+                            handlerQueue.offer(notification);
                         }
-                    } finally {
-                        lock.writeLock().unlock();
                     }
+                } catch (Throwable t) {
+                    ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
                 }
-            });
+            }
+            // Let other tasks run before draining the rest
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The rest is drained by the task started by the next emit
+                draining.set(false);
+            }
         }
 
         @Override
         public NotificationHandlerRegistration getNotificationRegistry() {
             return registry;
         }
+
+        @Override
+        public ModelNode getHandlerStatistics() {
+            ModelNode result = new ModelNode().setEmptyObject();
+            for (HandlerQueue handlerQueue : handlerQueues.values()) {
+                handlerQueue.addStatistics(result.get(getStatisticsKey(handlerQueue.handler)));
+            }
+            return result;
+        }
+
+        /**
+         * Gets the key of the statistics of the given handler. Handlers are compared by identity, so their own
+         * {@code toString()}, which need not be unique, is not used.
+         */
+        static String getStatisticsKey(NotificationHandler handler) {
+            return handler.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(handler));
+        }
+
+        /**
+         * Creates and discards the queues of the handlers as they are registered and unregistered.
+         */
+        private final class QueueingRegistration implements NotificationHandlerRegistration {
+
+            private final NotificationHandlerRegistration delegate;
+
+            private QueueingRegistration(NotificationHandlerRegistration delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public synchronized void registerNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
+                handlerQueues.computeIfAbsent(handler, HandlerQueue::new).registrations++;
+                delegate.registerNotificationHandler(source, handler, filter);
+            }
+
+            @Override
+            public synchronized void unregisterNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
+                delegate.unregisterNotificationHandler(source, handler, filter);
+                HandlerQueue handlerQueue = handlerQueues.get(handler);
+                if (handlerQueue != null && --handlerQueue.registrations == 0) {
+                    // notifications already queued are still delivered
+                    handlerQueues.remove(handler);
+                }
+            }
+
+            @Override
+            public Collection<NotificationHandler> findMatchingNotificationHandlers(Notification notification) {
+                return delegate.findMatchingNotificationHandlers(notification);
+            }
+        }
+
+        /**
+         * The notifications queued for delivery to a single handler. Delivery to each handler is performed by its own
+         * task, so handlers are notified concurrently but each receives its notifications in order.
+         */
+        private final class HandlerQueue implements Runnable {
+
+            private final NotificationHandler handler;
+            private final int capacity;
+            private final NotificationHandler.OverflowPolicy overflowPolicy;
+            /** Guarded by {@code this} */
+            private final Deque<Notification> pending = new ArrayDeque<>();
+            /** Guarded by {@code this} */
+            private boolean scheduled;
+            /** Guarded by {@link QueueingRegistration} */
+            private int registrations;
+
+            private final LongAdder delivered = new LongAdder();
+            private final LongAdder dropped = new LongAdder();
+            private final LongAdder totalLag = new LongAdder();
+            private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+
+            private HandlerQueue(NotificationHandler handler) {
+                this.handler = handler;
+                this.capacity = handler.getQueueCapacity();
+                this.overflowPolicy = handler.getOverflowPolicy();
+                assert capacity > 0;
+            }
+
+            synchronized void offer(Notification notification) {
+                while (pending.size() >= capacity) {
+                    switch (overflowPolicy) {
+                        case BLOCK:
+                            try {
+                                wait();
+                                continue;
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                // Don't hold up delivery to other handlers any further
+                                pending.removeFirst();
+                                break;
+                            }
+                        case COALESCE:
+                            if (!removeLastMatching(notification)) {
+                                pending.removeFirst();
+                            }
+                            break;
+                        default:
+                            pending.removeFirst();
+                    }
+                    dropped.increment();
+                }
+                pending.addLast(notification);
+                if (!scheduled) {
+                    scheduled = true;
+                    try {
+                        executor.execute(this);
+                    } catch (RejectedExecutionException e) {
+                        // The notification stays queued for the next attempt to schedule delivery
+                        scheduled = false;
+                        throw e;
+                    }
+                }
+            }
+
+            private boolean removeLastMatching(Notification notification) {
+                for (Iterator<Notification> it = pending.descendingIterator(); it.hasNext(); ) {
+                    Notification queued = it.next();
+                    if (queued.getType().equals(notification.getType()) && queued.getSource().equals(notification.getSource())) {
+                        it.remove();
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void run() {
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    Notification notification;
+                    synchronized (this) {
+                        notification = pending.pollFirst();
+                        if (notification == null) {
+                            scheduled = false;
+                            return;
+                        }
+                        if (overflowPolicy == NotificationHandler.OverflowPolicy.BLOCK) {
+                            notifyAll();
+                        }
+                    }
+                    try {
+                        handler.handleNotification(notification);
+                    } catch (Throwable t) {
+                        ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+                    }
+                    long lag = Math.max(0, System.currentTimeMillis() - notification.getTimestamp());
+                    delivered.increment();
+                    totalLag.add(lag);
+                    maxLag.accumulate(lag);
+                }
+                // Let other handlers be notified before delivering the rest
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // The rest is delivered once the next notification for this handler schedules delivery
+                    synchronized (this) {
+                        scheduled = false;
+                    }
+                }
+            }
+
+            void addStatistics(ModelNode model) {
+                synchronized (this) {
+                    model.get(QUEUED).set(pending.size());
+                }
+                long count = delivered.sum();
+                model.get(DELIVERED).set(count);
+                model.get(DROPPED).set(dropped.sum());
+                model.get(MEAN_LAG).set(count == 0 ? 0 : totalLag.sum() / count);
+                model.get(MAX_LAG).set(maxLag.get());
+            }
+        }
     }
 
 
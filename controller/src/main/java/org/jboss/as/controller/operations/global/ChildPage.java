@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NEXT_CURSOR;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CURSOR;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.LIMIT;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.OFFSET;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.ORDER;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The page of child names requested via the {@code offset}, {@code limit}, {@code order} and {@code cursor}
+ * parameters of the global operations that read the children of a resource.
+ * <p>
+ * Children are ordered by name. The cursor returned in the {@value org.jboss.as.controller.descriptions.ModelDescriptionConstants#NEXT_CURSOR}
+ * response header when a page does not include the last child identifies the last child the page covered, so a
+ * request with that cursor continues after that child even if children were added or removed in the meantime.
+ */
+final class ChildPage {
+
+    static final String ASCENDING = "ascending";
+    static final String DESCENDING = "descending";
+
+    private final int offset;
+    private final int limit;
+    private final boolean descending;
+    private final String after;
+
+    private ChildPage(int offset, int limit, boolean descending, String after) {
+        this.offset = offset;
+        this.limit = limit;
+        this.descending = descending;
+        this.after = after;
+    }
+
+    static ChildPage resolve(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ModelNode offset = OFFSET.resolveModelAttribute(context, operation);
+        ModelNode limit = LIMIT.resolveModelAttribute(context, operation);
+        boolean descending = DESCENDING.equals(ORDER.resolveModelAttribute(context, operation).asString());
+        ModelNode cursor = CURSOR.resolveModelAttribute(context, operation);
+        return new ChildPage(offset.isDefined() ? offset.asInt() : 0, limit.isDefined() ? limit.asInt() : Integer.MAX_VALUE,
+                descending, cursor.isDefined() ? decode(cursor.asString()) : null);
+    }
+
+    /**
+     * Gets the maximum number of children to include in the page.
+     *
+     * @return the limit, {@link Integer#MAX_VALUE} if none was requested
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the order in which the children are to be presented.
+     *
+     * @return the comparator of child names
+     */
+    Comparator<String> getComparator() {
+        return descending ? Collections.reverseOrder() : Comparator.naturalOrder();
+    }
+
+    /**
+     * Gets the children from the first child of the page onwards, in the requested order. Callers take children
+     * from the iterator until the page is full and then {@link #setNextCursor(OperationContext, String) set the
+     * cursor} if it has further children.
+     *
+     * @param names the names of all children
+     * @return iterator over the names, positioned at the first child of the page
+     */
+    Iterator<String> iterator(Collection<String> names) {
+        NavigableSet<String> sorted = new TreeSet<>(names);
+        if (descending) {
+            sorted = sorted.descendingSet();
+        }
+        if (after != null) {
+            sorted = sorted.tailSet(after, false);
+        }
+        Iterator<String> iterator = sorted.iterator();
+        for (int i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        return iterator;
+    }
+
+    /**
+     * Records in the response the cursor of the page following one whose last child is {@code last}.
+     *
+     * @param context the operation context
+     * @param last the name of the last child covered by the page
+     */
+    void setNextCursor(OperationContext context, String last) {
+        context.getResponseHeaders().get(NEXT_CURSOR).set(Base64.getUrlEncoder().withoutPadding().encodeToString(last.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String decode(String cursor) throws OperationFailedException {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw ControllerLogger.ROOT_LOGGER.invalidContinuationCursor(cursor);
+        }
+    }
+}
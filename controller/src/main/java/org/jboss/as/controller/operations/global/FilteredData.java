@@ -40,6 +40,7 @@ import org.jboss.dmr.Property;
 
 /**
  * Collection point for information about data filtered from a :read-resource[-description] call.
+ * Thread safe, as the targets of a call addressed to multiple targets may be read concurrently.
  *
  * @author Brian Stansberry (c) 2013 Red Hat Inc.
  */
@@ -52,7 +53,7 @@ class FilteredData {
         this.baseAddressLength = baseAddress.size();
     }
 
-    void addReadRestrictedAttribute(PathAddress fullAddress, String attribute) {
+    synchronized void addReadRestrictedAttribute(PathAddress fullAddress, String attribute) {
         ResourceData rd = getResourceData(fullAddress);
         if (rd.attributes == null) {
             rd.attributes = new HashSet<String>();
@@ -60,7 +61,7 @@ class FilteredData {
         rd.attributes.add(attribute);
     }
 
-    void addReadRestrictedResource(PathAddress fullAddress) {
+    synchronized void addReadRestrictedResource(PathAddress fullAddress) {
         assert fullAddress.size() > 0 : "cannot filter root resource";
         ResourceData rd = getResourceData(fullAddress.subAddress(0, fullAddress.size() - 1));
         if (rd.children == null) {
@@ -70,7 +71,7 @@ class FilteredData {
 
     }
 
-    void addAccessRestrictedResource(PathAddress fullAddress) {
+    synchronized void addAccessRestrictedResource(PathAddress fullAddress) {
         assert fullAddress.size() > 0 : "cannot filter root resource";
         ResourceData rd = getResourceData(fullAddress.subAddress(0, fullAddress.size() - 1));
         if (rd.childTypes == null) {
@@ -80,11 +81,11 @@ class FilteredData {
 
     }
 
-    boolean hasFilteredData() {
+    synchronized boolean hasFilteredData() {
         return map != null;
     }
 
-    boolean isFilteredResource(PathAddress parent, PathElement child) {
+    synchronized boolean isFilteredResource(PathAddress parent, PathElement child) {
         boolean result = false;
         ResourceData rd = map == null ? null : map.get(parent);
         if (rd != null) {
@@ -94,7 +95,7 @@ class FilteredData {
         return result;
     }
 
-    boolean isAddressFiltered(PathAddress parent, PathElement child) {
+    synchronized boolean isAddressFiltered(PathAddress parent, PathElement child) {
         boolean result = false;
         ResourceData rd = map == null ? null : map.get(parent);
         if (rd != null) {
@@ -104,7 +105,7 @@ class FilteredData {
     }
 
     /** Report on the filtered data in DMR . */
-    ModelNode toModelNode() {
+    synchronized ModelNode toModelNode() {
         ModelNode result = null;
         if (map != null) {
             result = new ModelNode();
@@ -157,7 +158,7 @@ class FilteredData {
      * @param modelNode a defined node of type LIST
      * @param addressPrefix address that should be added as a prefix to absolute addresses in {@code modelNode}
      */
-    void populate(ModelNode modelNode, PathAddress addressPrefix) {
+    synchronized void populate(ModelNode modelNode, PathAddress addressPrefix) {
         for (ModelNode item : modelNode.asList()) {
             PathAddress absAddr = addressPrefix.append(PathAddress.pathAddress(item.get(ABSOLUTE_ADDRESS)));
             if (item.hasDefined(FILTERED_ATTRIBUTES)) {
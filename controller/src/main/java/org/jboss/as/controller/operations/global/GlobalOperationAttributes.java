@@ -25,6 +25,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -95,4 +96,26 @@ class GlobalOperationAttributes {
     .setRequired(false)
     .build();
 
+    static final SimpleAttributeDefinition OFFSET = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.OFFSET, ModelType.INT)
+    .setRequired(false)
+    .setValidator(new IntRangeValidator(0, true))
+    .build();
+
+    static final SimpleAttributeDefinition LIMIT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.LIMIT, ModelType.INT)
+    .setRequired(false)
+    .setValidator(new IntRangeValidator(1, true))
+    .build();
+
+    static final SimpleAttributeDefinition ORDER = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.ORDER, ModelType.STRING)
+    .setRequired(false)
+    .setDefaultValue(new ModelNode(ChildPage.ASCENDING))
+    .setValidator(new StringAllowedValuesValidator(ChildPage.ASCENDING, ChildPage.DESCENDING))
+    .setAllowedValues(ChildPage.ASCENDING, ChildPage.DESCENDING)
+    .build();
+
+    static final SimpleAttributeDefinition CURSOR = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.CURSOR, ModelType.STRING)
+    .setRequired(false)
+    .setValidator(new StringLengthValidator(1, true))
+    .build();
+
 }
@@ -56,6 +56,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.as.controller.ModelVersion;
@@ -65,7 +66,10 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReadChangesSinceHandler;
 import org.jboss.as.controller.UnauthorizedException;
+import org.jboss.as.controller.WatchChangesHandler;
+import org.jboss.as.controller._private.ConcurrentTargetExecutor;
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.AuthorizationResult;
@@ -136,6 +140,8 @@ public class GlobalOperationHandlers {
         root.registerOperationHandler(ReadOperationNamesHandler.DEFINITION, ReadOperationNamesHandler.INSTANCE, true);
         root.registerOperationHandler(ReadOperationDescriptionHandler.DEFINITION, ReadOperationDescriptionHandler.INSTANCE, true);
         root.registerOperationHandler(QueryOperationHandler.DEFINITION, QueryOperationHandler.INSTANCE, true);
+        root.registerOperationHandler(ReadChangesSinceHandler.DEFINITION, ReadChangesSinceHandler.INSTANCE, false);
+        root.registerOperationHandler(WatchChangesHandler.DEFINITION, WatchChangesHandler.INSTANCE, false);
 
         //map operations
         root.registerOperationHandler(MapOperations.MAP_PUT_DEFINITION, MapOperations.MAP_PUT_HANDLER, true);
@@ -339,6 +345,9 @@ public class GlobalOperationHandlers {
         private final FilteredData filteredData;
         private final FilterPredicate predicate;
         private final OperationStepHandler handler; // handler bypassing further wildcard resolution
+        // Executes the targets concurrently, or null if they are executed as steps of the operation's context
+        private ConcurrentTargetExecutor parallelTargets;
+        private final List<ParallelTarget> parallelTargetResults = new ArrayList<>();
 
         public AbstractAddressResolver(final ModelNode operation, final ModelNode result,
                                     final OperationStepHandler delegate,
@@ -361,7 +370,12 @@ public class GlobalOperationHandlers {
             final PathAddress aliasAddr = WildcardReadResourceDescriptionAddressHack.detachAliasAddress(context, operation);
             final PathAddress address = aliasAddr == null ? addr : aliasAddr;
 
+            final Function<OperationContext, ConcurrentTargetExecutor> executorFactory = context.getAttachment(ConcurrentTargetExecutor.ATTACHMENT_KEY);
+            parallelTargets = executorFactory == null ? null : executorFactory.apply(context);
             execute(PathAddress.EMPTY_ADDRESS, address, context, context.getRootResourceRegistration(), true);
+            if (!parallelTargetResults.isEmpty()) {
+                executeParallelTargets(context);
+            }
             context.completeStep(new OperationContext.ResultHandler() {
                 @Override
                 public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
@@ -474,39 +488,77 @@ public class GlobalOperationHandlers {
 
                 final ModelNode resultItem = this.result.add();
                 ControllerLogger.MGMT_OP_LOGGER.tracef("Added ModelAddressResolver result item for %s", base);
-                final ModelNode resultAddress = resultItem.get(OP_ADDR);
+                if (parallelTargets != null) {
+                    // Executed with the other targets once all are known
+                    final ParallelTarget target = new ParallelTarget(base, newOp, resultItem);
+                    parallelTargets.addTarget(newOp, createTargetHandler(base, target.response), target.response);
+                    parallelTargetResults.add(target);
+                } else {
+                    context.addStep(resultItem, newOp, createTargetHandler(base, resultItem), OperationContext.Stage.MODEL, true);
+                }
+            }
+        }
 
-                final OperationStepHandler wrapper = new OperationStepHandler() {
-                    @Override
-                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-                        try {
-                            handler.execute(context, operation);
-                            context.completeStep(new OperationContext.ResultHandler() {
-                                @Override
-                                public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
-                                    ControllerLogger.MGMT_OP_LOGGER.tracef("ModelAddressResolver result for %s is %s", base, resultItem);
-                                    if (resultItem.hasDefined(RESULT)) {
-                                        resultAddress.set(base.toModelNode());
-                                        if (resultItem.hasDefined(RESPONSE_HEADERS, ACCESS_CONTROL)) {
-                                            ModelNode headers = resultItem.get(RESPONSE_HEADERS);
-                                            ModelNode acc = headers.remove(ACCESS_CONTROL);
-                                            if (headers.asInt() == 0) {
-                                                resultItem.remove(RESPONSE_HEADERS);
-                                            }
-                                            filteredData.populate(acc, PathAddress.EMPTY_ADDRESS);
+        /**
+         * Executes the targets added to {@link #parallelTargets} and stores their responses as the result items.
+         * A failed target is reported by a step failing with its failure description, so the operation fails as it
+         * would have if the target had executed as a step of the operation. A target that could not be executed
+         * concurrently is executed as a step of the operation.
+         */
+        private void executeParallelTargets(final OperationContext context) {
+            parallelTargets.execute();
+            for (ParallelTarget target : parallelTargetResults) {
+                if (!target.response.isDefined()) {
+                    context.addStep(target.resultItem, target.operation, createTargetHandler(target.base, target.resultItem),
+                            OperationContext.Stage.MODEL, true);
+                } else if (target.response.hasDefined(FAILURE_DESCRIPTION)) {
+                    final ModelNode failureDescription = target.response.get(FAILURE_DESCRIPTION);
+                    context.addStep(target.resultItem, target.operation,
+                            (ctx, op) -> ctx.getFailureDescription().set(failureDescription), OperationContext.Stage.MODEL, true);
+                } else if (target.response.hasDefined(RESULT)) {
+                    target.resultItem.get(OP_ADDR).set(target.response.get(OP_ADDR));
+                    target.resultItem.get(OUTCOME).set(target.response.get(OUTCOME));
+                    target.resultItem.get(RESULT).set(target.response.get(RESULT));
+                    if (target.response.hasDefined(RESPONSE_HEADERS)) {
+                        target.resultItem.get(RESPONSE_HEADERS).set(target.response.get(RESPONSE_HEADERS));
+                    }
+                }
+            }
+        }
+
+        private OperationStepHandler createTargetHandler(final PathAddress base, final ModelNode resultItem) {
+            final ModelNode resultAddress = resultItem.get(OP_ADDR);
+
+            final OperationStepHandler wrapper = new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    try {
+                        handler.execute(context, operation);
+                        context.completeStep(new OperationContext.ResultHandler() {
+                            @Override
+                            public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
+                                ControllerLogger.MGMT_OP_LOGGER.tracef("ModelAddressResolver result for %s is %s", base, resultItem);
+                                if (resultItem.hasDefined(RESULT)) {
+                                    resultAddress.set(base.toModelNode());
+                                    if (resultItem.hasDefined(RESPONSE_HEADERS, ACCESS_CONTROL)) {
+                                        ModelNode headers = resultItem.get(RESPONSE_HEADERS);
+                                        ModelNode acc = headers.remove(ACCESS_CONTROL);
+                                        if (headers.asInt() == 0) {
+                                            resultItem.remove(RESPONSE_HEADERS);
                                         }
-                                    } else {
-                                        resultItem.clear();
+                                        filteredData.populate(acc, PathAddress.EMPTY_ADDRESS);
                                     }
+                                } else {
+                                    resultItem.clear();
                                 }
-                            });
-                        } catch (Resource.NoSuchResourceException e) {
-                            // just discard the result to avoid leaking the inaccessible address
-                        }
+                            }
+                        });
+                    } catch (Resource.NoSuchResourceException e) {
+                        // just discard the result to avoid leaking the inaccessible address
                     }
-                };
-                context.addStep(resultItem, newOp, wrapper, OperationContext.Stage.MODEL, true);
-            }
+                }
+            };
+            return wrapper;
         }
 
         protected abstract void executeSingleTargetChild(PathAddress base, PathElement currentElement,
@@ -759,6 +811,20 @@ public class GlobalOperationHandlers {
 
     }
 
+    /** A target executed by a {@link ConcurrentTargetExecutor}, whose response is then stored as a result item */
+    private static final class ParallelTarget {
+        private final PathAddress base;
+        private final ModelNode operation;
+        private final ModelNode resultItem;
+        private final ModelNode response = new ModelNode();
+
+        private ParallelTarget(final PathAddress base, final ModelNode operation, final ModelNode resultItem) {
+            this.base = base;
+            this.operation = operation;
+            this.resultItem = resultItem;
+        }
+    }
+
     private static final class ModelAddressResolver extends AbstractAddressResolver {
         public ModelAddressResolver(ModelNode operation, ModelNode result, FilteredData filteredData, OperationStepHandler delegate, FilterPredicate predicate) {
             super(operation, result, delegate, filteredData, predicate);
@@ -46,13 +46,16 @@ import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.UnauthorizedException;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.common.ControllerResolver;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.controller.transform.OperationTransformer;
 import org.jboss.as.controller.transform.TransformationContext;
@@ -110,6 +113,11 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
         final ModelNode select = SELECT_ATT.validateOperation(operation);
 
 
+        if (cannotMatch(parentContext, where, operator)) {
+            // Leave the result undefined, as for a resource the filter removed
+            return;
+        }
+
         ImmutableManagementResourceRegistration mrr = parentContext.getResourceRegistration();
         final OperationStepHandler readResourceHandler = mrr.getOperationHandler(
                 PathAddress.EMPTY_ADDRESS,
@@ -129,6 +137,62 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
     }
 
+    /**
+     * Checks the filter against the persistent configuration of the target resource, so a resource that cannot match
+     * is skipped before any of its attributes, including runtime attributes, are read. Only terms that compare an
+     * attribute with a defined value are checked, and only if the attribute's value in the read-resource response
+     * comes directly from the configuration model. Any term that cannot be checked this way is left to the filter
+     * applied to the read-resource response.
+     *
+     * @return {@code true} if the resource is known not to match the filter
+     */
+    private static boolean cannotMatch(final OperationContext context, final ModelNode filter, final Operator operator) {
+        if (!filter.isDefined() || operator != Operator.AND) {
+            return false;
+        }
+        final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
+        if (registry == null || registry.isRemote() || registry.isRuntimeOnly()) {
+            return false;
+        }
+        ModelNode model = null;
+        for (Property property : filter.asPropertyList()) {
+            final String filterName = property.getName();
+            final ModelNode filterValue = property.getValue();
+            if (!filterValue.isDefined() || filterValue.asString().equals(FilterReduceHandler.UNDEFINED)) {
+                continue;
+            }
+            final AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, filterName);
+            if (access == null || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION
+                    || access.getReadHandler() != null || access.getAttributeDefinition() == null
+                    || access.getFlags().contains(AttributeAccess.Flag.ALIAS)) {
+                continue;
+            }
+            if (model == null) {
+                try {
+                    model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+                } catch (Resource.NoSuchResourceException | UnauthorizedException e) {
+                    // Let the read-resource step report this
+                    return false;
+                }
+            }
+            // Same value as read-resource including defaults, without modifying the model
+            final ModelNode candidate = new ModelNode();
+            if (model.hasDefined(filterName)) {
+                candidate.get(filterName).set(model.get(filterName));
+            } else if (access.getAttributeDefinition().getDefaultValue() != null) {
+                candidate.get(filterName).set(access.getAttributeDefinition().getDefaultValue());
+            }
+            try {
+                if (!FilterReduceHandler.isEqual(candidate, filterName, filterValue)) {
+                    return true;
+                }
+            } catch (OperationFailedException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
     static class FilterReduceHandler implements OperationStepHandler {
 
         private static final String UNDEFINED = "undefined";
@@ -200,40 +264,7 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
                 final String filterName = property.getName();
                 final ModelNode filterValue = property.getValue();
 
-                boolean isEqual = false;
-
-                if(!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED))  {
-                    // query for undefined attributes
-                    isEqual = !resource.get(filterName).isDefined();
-                }  else {
-
-                    final ModelType targetValueType = resource.get(filterName).getType();
-
-                    try {
-                        // query for attribute values (throws exception when types don't match)
-                        switch (targetValueType) {
-                            case BOOLEAN:
-                                isEqual = filterValue.asBoolean() == resource.get(filterName).asBoolean();
-                                break;
-                            case LONG:
-                                isEqual = filterValue.asLong() == resource.get(filterName).asLong();
-                                break;
-                            case INT:
-                                isEqual = filterValue.asInt() == resource.get(filterName).asInt();
-                                break;
-                            case DOUBLE:
-                                isEqual = filterValue.asDouble() == resource.get(filterName).asDouble();
-                                break;
-                            default:
-                                isEqual = filterValue.equals(resource.get(filterName));
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValueType);
-                    }
-
-                }
-
-                if(isEqual) {
+                if(isEqual(resource, filterName, filterValue)) {
                     matches.add(resource.get(filterName).equals(filterValue));
                 }
 
@@ -267,6 +298,42 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
             return isMatching;
         }
 
+        static boolean isEqual(final ModelNode resource, final String filterName, final ModelNode filterValue) throws OperationFailedException {
+            boolean isEqual = false;
+
+            if(!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED))  {
+                // query for undefined attributes
+                isEqual = !resource.get(filterName).isDefined();
+            }  else {
+
+                final ModelType targetValueType = resource.get(filterName).getType();
+
+                try {
+                    // query for attribute values (throws exception when types don't match)
+                    switch (targetValueType) {
+                        case BOOLEAN:
+                            isEqual = filterValue.asBoolean() == resource.get(filterName).asBoolean();
+                            break;
+                        case LONG:
+                            isEqual = filterValue.asLong() == resource.get(filterName).asLong();
+                            break;
+                        case INT:
+                            isEqual = filterValue.asInt() == resource.get(filterName).asInt();
+                            break;
+                        case DOUBLE:
+                            isEqual = filterValue.asDouble() == resource.get(filterName).asDouble();
+                            break;
+                        default:
+                            isEqual = filterValue.equals(resource.get(filterName));
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValueType);
+                }
+
+            }
+            return isEqual;
+        }
+
         private static ModelNode reduce(final ModelNode payload, final ModelNode attributes) throws OperationFailedException {
 
             ModelNode outcome = new ModelNode();
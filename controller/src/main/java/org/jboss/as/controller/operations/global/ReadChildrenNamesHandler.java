@@ -28,12 +28,16 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CHILD_TYPE;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CURSOR;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_SINGLETONS;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.LIMIT;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.OFFSET;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.ORDER;
 
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationDefinition;
@@ -60,7 +64,7 @@ import org.jboss.dmr.ModelType;
 public class ReadChildrenNamesHandler implements OperationStepHandler {
 
     static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_CHILDREN_NAMES_OPERATION, ControllerResolver.getResolver("global"))
-            .setParameters(CHILD_TYPE, INCLUDE_SINGLETONS)
+            .setParameters(CHILD_TYPE, INCLUDE_SINGLETONS, OFFSET, LIMIT, ORDER, CURSOR)
             .setReadOnly()
             .setReplyType(ModelType.LIST)
             .setReplyValueType(ModelType.STRING)
@@ -89,8 +93,9 @@ public class ReadChildrenNamesHandler implements OperationStepHandler {
                 }
             }
         }
-        // Sort the result
-        childNames = new TreeSet<String>(childNames);
+        // Sort the result and select the requested page
+        final ChildPage page = ChildPage.resolve(context, operation);
+        final Iterator<String> pageNames = page.iterator(childNames);
         ModelNode result = context.getResult();
         result.setEmptyList();
         PathAddress childAddress = address.append(PathElement.pathElement(childType));
@@ -100,10 +105,14 @@ public class ReadChildrenNamesHandler implements OperationStepHandler {
         ModelNode childProperty = opAddr.require(address.size());
         Set<Action.ActionEffect> actionEffects = EnumSet.of(Action.ActionEffect.ADDRESS);
         FilteredData fd = null;
-        for (String childName : childNames) {
+        int included = 0;
+        String childName = null;
+        while (included < page.getLimit() && pageNames.hasNext()) {
+            childName = pageNames.next();
             childProperty.set(childType, new ModelNode(childName));
             if (context.authorize(op, actionEffects).getDecision() == AuthorizationResult.Decision.PERMIT) {
                 result.add(childName);
+                included++;
             } else {
                 if (fd == null) {
                     fd = new FilteredData(address);
@@ -112,6 +121,10 @@ public class ReadChildrenNamesHandler implements OperationStepHandler {
             }
         }
 
+        if (pageNames.hasNext()) {
+            page.setNextCursor(context, childName);
+        }
+
         if (fd != null) {
             context.getResponseHeaders().get(ACCESS_CONTROL).set(fd.toModelNode());
         }
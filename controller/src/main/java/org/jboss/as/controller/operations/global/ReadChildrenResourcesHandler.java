@@ -30,13 +30,19 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CHILD_TYPE;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CURSOR;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_DEFAULTS;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.LIMIT;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.OFFSET;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.ORDER;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.PROXIES;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE_DEPTH;
 
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -64,7 +70,7 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
 
 
     static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_CHILDREN_RESOURCES_OPERATION, ControllerResolver.getResolver("global"))
-            .setParameters(CHILD_TYPE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS)
+            .setParameters(CHILD_TYPE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, OFFSET, LIMIT, ORDER, CURSOR)
             .setReadOnly()
             .setReplyType(ModelType.LIST)
             .setReplyValueType(ModelType.OBJECT)
@@ -97,6 +103,10 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
             throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.unknownChildType(childType));
         }
 
+        // Select the requested page; only its children are read
+        final ChildPage page = ChildPage.resolve(context, operation);
+        final Iterator<String> pageNames = page.iterator(childNames);
+
         // Track any excluded items
         FilteredData filteredData = new FilteredData(address);
 
@@ -104,10 +114,12 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
         // in reverse order of how they should execute, building up a stack.
 
         // Last to execute is the handler that assembles the overall response from the pieces created by all the other steps
-        final ReadChildrenResourcesAssemblyHandler assemblyHandler = new ReadChildrenResourcesAssemblyHandler(resources, filteredData, address, childType);
+        final ReadChildrenResourcesAssemblyHandler assemblyHandler = new ReadChildrenResourcesAssemblyHandler(resources, filteredData, address, childType, page.getComparator());
         context.addStep(assemblyHandler, OperationContext.Stage.MODEL, true);
 
-        for (final String key : childNames) {
+        String key = null;
+        for (int i = 0; i < page.getLimit() && pageNames.hasNext(); i++) {
+            key = pageNames.next();
             final PathElement childPath = PathElement.pathElement(childType, key);
             final PathAddress childAddress = PathAddress.EMPTY_ADDRESS.append(PathElement.pathElement(childType, key));
 
@@ -127,6 +139,9 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
             resources.put(childPath, rrRsp);
             context.addStep(rrRsp, readResOp, rrHandler, OperationContext.Stage.MODEL, true);
         }
+        if (pageNames.hasNext()) {
+            page.setNextCursor(context, key);
+        }
     }
 
     /**
@@ -138,6 +153,7 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
         private final FilteredData filteredData;
         private final PathAddress address;
         private final String childType;
+        private final Comparator<String> order;
 
         /**
          * Creates a ReadResourceAssemblyHandler that will assemble the response using the contents
@@ -149,13 +165,15 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
          * @param filteredData record of any excluded data
          * @param address    the address of the targeted resource
          * @param childType  the type of child being read
+         * @param order      the order of the children in the response
          */
         private ReadChildrenResourcesAssemblyHandler(final Map<PathElement, ModelNode> resources, FilteredData filteredData,
-                                                     PathAddress address, String childType) {
+                                                     PathAddress address, String childType, Comparator<String> order) {
             this.resources = resources;
             this.filteredData = filteredData;
             this.address = address;
             this.childType = childType;
+            this.order = order;
         }
 
         @Override
@@ -164,7 +182,7 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
             context.addStep(new OperationStepHandler() {
                 @Override
                 public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-                    Map<String, ModelNode> sortedChildren = new TreeMap<String, ModelNode>();
+                    Map<String, ModelNode> sortedChildren = new TreeMap<String, ModelNode>(order);
                     boolean failed = false;
                     for (Map.Entry<PathElement, ModelNode> entry : resources.entrySet()) {
                         PathElement path = entry.getKey();
@@ -88,8 +88,13 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             .setDefaultValue(ModelNode.FALSE)
             .build();
 
+    private static final SimpleAttributeDefinition STREAM_RESULT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.STREAM_RESULT, ModelType.BOOLEAN)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.FALSE)
+            .build();
+
     public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_RESOURCE_OPERATION, ControllerResolver.getResolver("global"))
-            .setParameters(RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, ATTRIBUTES_ONLY, INCLUDE_ALIASES, INCLUDE_UNDEFINED_METRIC_VALUES)
+            .setParameters(RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, ATTRIBUTES_ONLY, INCLUDE_ALIASES, INCLUDE_UNDEFINED_METRIC_VALUES, STREAM_RESULT)
             .setReadOnly()
             .setReplyType(ModelType.OBJECT)
             .build();
@@ -102,7 +107,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             .build();
 
     public static final OperationDefinition RESOLVE_DEFINITION = new SimpleOperationDefinitionBuilder(READ_RESOURCE_OPERATION, ControllerResolver.getResolver("global"))
-            .setParameters(RESOLVE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, ATTRIBUTES_ONLY, INCLUDE_ALIASES)
+            .setParameters(RESOLVE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, ATTRIBUTES_ONLY, INCLUDE_ALIASES, STREAM_RESULT)
             .setReadOnly()
             .setReplyType(ModelType.OBJECT)
             .build();
@@ -135,24 +140,26 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
     private final OperationStepHandler overrideHandler;
     private final boolean resolvable;
+    private final ReadResourceStream stream;
 
     public ReadResourceHandler() {
-        this(null, null, false, false);
+        this(null, null, false, false, null);
     }
 
     public ReadResourceHandler(boolean resolvable){
-        this(null,null,resolvable, false);
+        this(null,null,resolvable, false, null);
     }
 
     ReadResourceHandler(final FilteredData filteredData, OperationStepHandler overrideHandler, boolean resolvable) {
-        this(filteredData, overrideHandler, resolvable, true);
+        this(filteredData, overrideHandler, resolvable, true, null);
     }
 
     private ReadResourceHandler(final FilteredData filteredData, OperationStepHandler overrideHandler,
-                                boolean resolvable, boolean ignoreMissingResource) {
+                                boolean resolvable, boolean ignoreMissingResource, ReadResourceStream stream) {
         super(filteredData, ignoreMissingResource);
         this.overrideHandler = overrideHandler;
         this.resolvable = resolvable;
+        this.stream = stream;
     }
 
 
@@ -161,11 +168,11 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
     void doExecute(OperationContext context, ModelNode operation, FilteredData filteredData, boolean ignoreMissingResource) throws OperationFailedException {
 
         if (filteredData == null) {
-            doExecuteInternal(context, operation, ignoreMissingResource);
+            doExecuteInternal(context, operation, ignoreMissingResource, true);
         } else {
             try {
                 if (overrideHandler == null) {
-                    doExecuteInternal(context, operation, ignoreMissingResource);
+                    doExecuteInternal(context, operation, ignoreMissingResource, false);
                 } else {
                     overrideHandler.execute(context, operation);
                 }
@@ -203,7 +210,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
     }
 
-    private void doExecuteInternal(OperationContext context, ModelNode operation, boolean ignoreMissingResource) throws OperationFailedException {
+    private void doExecuteInternal(OperationContext context, ModelNode operation, boolean ignoreMissingResource, boolean top) throws OperationFailedException {
 
         validator.validate(operation);
 
@@ -238,12 +245,26 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         FilteredData fd = getFilteredData();
         final FilteredData localFilteredData = fd == null ? new FilteredData(address) : fd;
 
+        // Only the top resource of a request not addressed to multiple targets can start streaming the result;
+        // the resources read for it then write to the same stream
+        final ReadResourceStream localStream;
+        if (top && STREAM_RESULT.resolveModelAttribute(context, operation).asBoolean()) {
+            final ReadResourceStream created = ReadResourceStream.create(context);
+            context.completeStep((resultAction, op) -> created.discard());
+            localStream = created;
+        } else {
+            localStream = stream;
+        }
+        // Children read by an override handler, which therefore don't write to the stream themselves
+        final Set<PathElement> unstreamedChildren = localStream == null ? Collections.<PathElement>emptySet() : new HashSet<PathElement>();
+
         // We're going to add a bunch of steps that should immediately follow this one. We are going to add them
         // in reverse order of how they should execute, as that is the way adding a Stage.IMMEDIATE step works
 
         // Last to execute is the handler that assembles the overall response from the pieces created by all the other steps
         final ReadResourceAssemblyHandler assemblyHandler = new ReadResourceAssemblyHandler(address, metrics,
-                otherAttributes, directChildren, childResources, nonExistentChildTypes, localFilteredData, ignoreMissingResource);
+                otherAttributes, directChildren, childResources, nonExistentChildTypes, localFilteredData, ignoreMissingResource,
+                localStream, unstreamedChildren, top);
         context.addStep(assemblyHandler, queryRuntime ? OperationContext.Stage.VERIFY : OperationContext.Stage.MODEL, true);
         final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
 
@@ -304,7 +325,10 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 // not an override
                                 overrideHandler = null;
                             }
-                            OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
+                            OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable, true, localStream);
+                            if (localStream != null && overrideHandler != null) {
+                                unstreamedChildren.add(childPE);
+                            }
 
                             context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
                         }
@@ -449,6 +473,9 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         private final Set<String> nonExistentChildTypes;
         private final FilteredData filteredData;
         private final boolean ignoreMissingResource;
+        private final ReadResourceStream stream;
+        private final Set<PathElement> unstreamedChildren;
+        private final boolean top;
 
         /**
          * Creates a ReadResourceAssemblyHandler that will assemble the response using the contents
@@ -470,12 +497,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
          *                                          does not exist; {@code false} if we should throw
          *                                          {@link org.jboss.as.controller.registry.Resource.NoSuchResourceException}
          *                                          in such cases
+         * @param stream           the stream the result is written to, or {@code null} if it is not streamed
+         * @param unstreamedChildren children in {@code childResources} whose results were not written to the stream
+         * @param top              {@code true} if the resource is the one targeted by the operation
          */
         private ReadResourceAssemblyHandler(final PathAddress address,
                                             final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> metrics,
                                             final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes, final Map<String, ModelNode> directChildren,
                                             final Map<PathElement, ModelNode> childResources, final Set<String> nonExistentChildTypes,
-                                            FilteredData filteredData, boolean ignoreMissingResource) {
+                                            FilteredData filteredData, boolean ignoreMissingResource,
+                                            ReadResourceStream stream, Set<PathElement> unstreamedChildren, boolean top) {
             this.address = address;
             this.metrics = metrics;
             this.otherAttributes = otherAttributes;
@@ -484,6 +515,9 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             this.nonExistentChildTypes = nonExistentChildTypes;
             this.filteredData = filteredData;
             this.ignoreMissingResource = ignoreMissingResource;
+            this.stream = stream;
+            this.unstreamedChildren = unstreamedChildren;
+            this.top = top;
         }
 
         @Override
@@ -519,7 +553,15 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 childTypeNode = new ModelNode();
                                 sortedChildren.put(path.getKey(), childTypeNode);
                             }
-                            childTypeNode.get(path.getValue()).set(value.get(RESULT));
+                            if (stream == null) {
+                                childTypeNode.get(path.getValue()).set(value.get(RESULT));
+                            } else {
+                                // The child's result is in the stream; just output its name
+                                if (unstreamedChildren.contains(path)) {
+                                    stream.write(address.append(path), value.get(RESULT));
+                                }
+                                childTypeNode.get(path.getValue());
+                            }
                         } else {
                             // A child did not produce a response. We don't know if the definition
                             // of our resource indicates the child that has disappeared must be
@@ -588,6 +630,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                 if (filteredData.hasFilteredData()) {
                     context.getResponseHeaders().get(ACCESS_CONTROL).set(filteredData.toModelNode());
                 }
+
+                if (stream != null) {
+                    stream.write(address, result);
+                    if (top) {
+                        stream.attach(context);
+                    } else {
+                        // Don't hold on to what was written; our parent only needs to know we produced a result
+                        result.setEmptyObject();
+                    }
+                }
             }
         }
 
@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Writes the result of a recursive {@code read-resource} with {@code stream-result} set to a stream attached to the
+ * operation response, rather than holding the entire result tree in memory.
+ * <p>
+ * Each resource's result is written as soon as it is complete, and then discarded. The stream holds a JSON array
+ * with an element per resource, holding its {@code address} and its {@code result}: its attributes and the names of
+ * its children, as a non-recursive {@code read-resource} would return. Children precede their parent. The array is
+ * spooled to a file only readable by its owner in the controller's temporary directory, so the memory needed does not
+ * depend on the size of the result. The file is deleted as soon as it has been opened for the response, or else once
+ * the attached stream is closed, so it does not outlive the response even if a client never reads the stream.
+ */
+final class ReadResourceStream {
+
+    static final String MIME_TYPE = "application/json";
+
+    /** The path of the temporary directory of the process, be it a server or a host controller */
+    private static final String TEMP_DIR_PATH = "jboss.controller.temp.dir";
+
+    private final Path file;
+    private final Writer writer;
+    private boolean empty = true;
+    private boolean attached;
+
+    private ReadResourceStream(final Path file, final Writer writer) {
+        this.file = file;
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a stream spooled to a new file in the temporary directory of the process.
+     *
+     * @param context the context of the operation
+     */
+    static ReadResourceStream create(final OperationContext context) throws OperationFailedException {
+        try {
+            final Path dir = getTempDir(context);
+            final Path file;
+            if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                final FileAttribute<?> ownerOnly = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+                file = Files.createTempFile(dir, "read-resource", ".json", ownerOnly);
+            } else {
+                file = Files.createTempFile(dir, "read-resource", ".json");
+            }
+            try {
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8));
+                writer.write('[');
+                return new ReadResourceStream(file, writer);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw ControllerLogger.MGMT_OP_LOGGER.failedToStreamResult(e.getLocalizedMessage());
+        }
+    }
+
+    private static Path getTempDir(final OperationContext context) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(AbstractControllerService.PATH_MANAGER_CAPABILITY.getCapabilityServiceName());
+        if (controller != null) {
+            try {
+                final Path dir = Paths.get(((PathManager) controller.getValue()).getPathEntry(TEMP_DIR_PATH).resolvePath());
+                if (Files.isDirectory(dir)) {
+                    return dir;
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // The path manager is not available or does not know the path; use the JVM's default
+            }
+        }
+        return Paths.get(WildFlySecurityManager.getPropertyPrivileged("java.io.tmpdir", null));
+    }
+
+    /**
+     * Writes the result of reading a resource.
+     *
+     * @param address the address of the resource
+     * @param result its result
+     */
+    synchronized void write(final PathAddress address, final ModelNode result) throws OperationFailedException {
+        final ModelNode element = new ModelNode();
+        element.get(ADDRESS).set(address.toModelNode());
+        element.get(RESULT).set(result);
+        try {
+            writer.write(empty ? "\n" : ",\n");
+            writer.write(element.toJSONString(true));
+            empty = false;
+        } catch (IOException e) {
+            throw ControllerLogger.MGMT_OP_LOGGER.failedToStreamResult(e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Completes the stream and attaches it to the response.
+     *
+     * @param context the context of the operation
+     */
+    synchronized void attach(final OperationContext context) throws OperationFailedException {
+        try {
+            writer.write("\n]");
+            writer.close();
+            final InputStream input = Files.newInputStream(file);
+            // The open stream can still be read once the file is deleted, so delete it now if the platform allows
+            if (!delete()) {
+                ControllerLogger.MGMT_OP_LOGGER.tracef("Could not delete %s before it is read; deleting it once closed", file);
+            }
+            context.attachResultStream(MIME_TYPE, new FilterInputStream(input) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        delete();
+                    }
+                }
+            });
+            attached = true;
+        } catch (IOException e) {
+            discard();
+            throw ControllerLogger.MGMT_OP_LOGGER.failedToStreamResult(e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Discards the stream if it was not attached to the response.
+     */
+    synchronized void discard() {
+        if (attached) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // We're discarding anyway
+        }
+        if (!delete()) {
+            ControllerLogger.MGMT_OP_LOGGER.tracef("Could not delete %s", file);
+        }
+    }
+
+    private boolean delete() {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
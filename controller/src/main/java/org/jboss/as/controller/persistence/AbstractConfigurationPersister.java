@@ -25,20 +25,31 @@ package org.jboss.as.controller.persistence;
 import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
 import org.jboss.staxmapper.XMLMapper;
 
 /**
  * Abstract superclass for {@link ExtensibleConfigurationPersister} implementations.
+ * <p>
+ * The output of each subsystem writer is cached between calls to {@link #marshallAsXml(ModelNode, OutputStream)},
+ * so a subsystem whose model has not changed since the previous call is written by replaying its cached output
+ * rather than by running its writer again.
  *
  * @author Brian Stansberry
  */
@@ -47,6 +58,8 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    /** Output of the subsystem writers used by the last successful marshalling, by subsystem name */
+    private volatile Map<String, List<CachedSubsystemXml>> subsystemXmlCache = Collections.emptyMap();
 
     /**
      * Construct a new instance.
@@ -71,6 +84,11 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void unregisterSubsystemWriter(String name) {
         subsystemWriters.remove(name);
         subsystemWriterSuppliers.remove(name);
+        synchronized (this) {
+            Map<String, List<CachedSubsystemXml>> cache = new HashMap<>(subsystemXmlCache);
+            cache.remove(name);
+            subsystemXmlCache = cache;
+        }
     }
 
     /** {@inheritDoc} */
@@ -78,6 +96,8 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>(subsystemWriters);
+        final Map<String, List<CachedSubsystemXml>> previousCache = subsystemXmlCache;
+        final Map<String, List<CachedSubsystemXml>> cache = new HashMap<>();
         try {
             XMLStreamWriter streamWriter = null;
             try {
@@ -100,11 +120,17 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
-                        return result;
+                        return result == null ? null : new CachingSubsystemWriter(extensionName, result, previousCache, cache);
                     }
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
                 streamWriter.close();
+                synchronized (this) {
+                    // Only keep what this marshalling used, so output for obsolete models is dropped. Don't
+                    // resurrect the output of writers unregistered since we started
+                    cache.keySet().retainAll(registeredSubsystemNames());
+                    subsystemXmlCache = cache;
+                }
             } finally {
                 safeClose(streamWriter);
             }
@@ -126,6 +152,12 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void deleteSnapshot(String name) {
     }
 
+    private Set<String> registeredSubsystemNames() {
+        Set<String> result = new HashSet<>(subsystemWriters.keySet());
+        result.addAll(subsystemWriterSuppliers.keySet());
+        return result;
+    }
+
     private static void safeClose(final XMLStreamWriter streamWriter) {
         if (streamWriter != null) try {
             streamWriter.close();
@@ -133,4 +165,74 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
             ROOT_LOGGER.failedToCloseResource(t, streamWriter);
         }
     }
+
+    /** The output of a subsystem writer for a given subsystem model. */
+    private static final class CachedSubsystemXml {
+        private final ModelNode model;
+        private final List<RecordingXMLStreamWriter.Event> recording;
+
+        private CachedSubsystemXml(ModelNode model, List<RecordingXMLStreamWriter.Event> recording) {
+            this.model = model;
+            this.recording = recording;
+        }
+    }
+
+    /**
+     * Replays the cached output for a subsystem model if there is any, otherwise runs the real writer
+     * and caches its output.
+     */
+    private static final class CachingSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String name;
+        private final XMLElementWriter<SubsystemMarshallingContext> delegate;
+        private final Map<String, List<CachedSubsystemXml>> previousCache;
+        private final Map<String, List<CachedSubsystemXml>> cache;
+
+        private CachingSubsystemWriter(String name, XMLElementWriter<SubsystemMarshallingContext> delegate,
+                                       Map<String, List<CachedSubsystemXml>> previousCache,
+                                       Map<String, List<CachedSubsystemXml>> cache) {
+            this.name = name;
+            this.delegate = delegate;
+            this.previousCache = previousCache;
+            this.cache = cache;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter streamWriter, SubsystemMarshallingContext context) throws XMLStreamException {
+            final ModelNode model = context.getModelNode();
+            CachedSubsystemXml cached = find(previousCache, model);
+            if (cached == null) {
+                cached = find(cache, model);
+            }
+            if (cached != null) {
+                RecordingXMLStreamWriter.replay(cached.recording, streamWriter);
+            } else {
+                // Copy the model first, as writers are not prevented from modifying it
+                final ModelNode copy = model.clone();
+                copy.protect();
+                final RecordingXMLStreamWriter recorder = new RecordingXMLStreamWriter(streamWriter);
+                delegate.writeContent(recorder, new SubsystemMarshallingContext(model, recorder));
+                cached = new CachedSubsystemXml(copy, recorder.getRecording());
+            }
+            List<CachedSubsystemXml> list = cache.get(name);
+            if (list == null) {
+                list = new ArrayList<>(1);
+                cache.put(name, list);
+            }
+            if (!list.contains(cached)) {
+                list.add(cached);
+            }
+        }
+
+        private CachedSubsystemXml find(Map<String, List<CachedSubsystemXml>> map, ModelNode model) {
+            final List<CachedSubsystemXml> list = map.get(name);
+            if (list != null) {
+                for (CachedSubsystemXml cached : list) {
+                    if (cached.model.equals(model)) {
+                        return cached;
+                    }
+                }
+            }
+            return null;
+        }
+    }
 }
@@ -42,6 +42,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
     private ConfigurationFile configurationFile;
     private final AtomicBoolean successfulBoot = new AtomicBoolean();
+    private final GroupCommitWriter groupCommitWriter = GroupCommitWriter.create();
 
     /**
      * Construct a new instance.
@@ -117,11 +118,21 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
-        return new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        // An update of the root resource, such as :write-config, is written before the commit returns
+        final boolean synchronous = affectedAddresses.contains(PathAddress.EMPTY_ADDRESS);
+        return new ConfigurationFilePersistenceResource(model, configurationFile, this, groupCommitWriter, synchronous);
+    }
+
+    @Override
+    public void flush() {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.flush();
+        }
     }
 
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
+        flush();
         return configurationFile.snapshot(name, comment);
     }
 
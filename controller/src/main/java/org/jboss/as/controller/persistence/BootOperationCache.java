@@ -0,0 +1,370 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.Resource;
+import org.jboss.modules.filter.PathFilters;
+
+/**
+ * Stores the boot operations parsed from a configuration file in DMR's binary form, so later boots from an
+ * identical file can skip parsing it.
+ * <p>
+ * A cached list is only used if the configuration file content is byte for byte the same, and if the code that
+ * parsed it is unchanged. The latter is determined from a hash of the content of every resource the root parser's
+ * module and each extension module can load, which includes the resources they import from their dependencies.
+ * Archives are hashed from the CRC-32 checksums of their entries recorded in their central directory, without
+ * reading the entries themselves, and only once however many modules import from them. If a module cannot be
+ * loaded, the cache is not used.
+ * <p>
+ * Extensions are not initialized while reading a cached list, so their parsers are instead initialized when the
+ * {@code add} operations for the extensions execute, as is done for extensions not present in the configuration
+ * file. Failures reading or writing the cache are logged at {@code DEBUG} and otherwise ignored, with the
+ * configuration file being parsed as normal.
+ */
+public class BootOperationCache {
+
+    /** System property which, if set to {@code true}, enables use of a boot operation cache by the server */
+    public static final String ENABLED_PROPERTY = "jboss.as.management.boot-operation-cache";
+
+    private static final int MAGIC = 0x424f4f54;
+    private static final int FORMAT_VERSION = 2;
+
+    private final File cacheFile;
+    private final ModuleLoader moduleLoader;
+    /** Hashes of the archives hashed so far, by location */
+    private final Map<String, String> archiveHashes = new HashMap<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param cacheFile the file in which to store the operations. Cannot be {@code null}
+     * @param moduleLoader the loader used to load extension modules when parsing. Cannot be {@code null}
+     */
+    public BootOperationCache(final File cacheFile, final ModuleLoader moduleLoader) {
+        this.cacheFile = cacheFile;
+        this.moduleLoader = moduleLoader;
+    }
+
+    /**
+     * Gets the operations previously stored for the given configuration.
+     *
+     * @param configuration the content of the configuration file
+     * @param parserClass the class of the root parser
+     * @return the operations, or {@code null} if none are cached or the cached ones are stale
+     */
+    List<ModelNode> load(final byte[] configuration, final Class<?> parserClass) {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            final int moduleCount = in.readInt();
+            final Set<String> modules = new LinkedHashSet<>();
+            for (int i = 0; i < moduleCount; i++) {
+                modules.add(in.readUTF());
+            }
+            final byte[] digest = new byte[in.readInt()];
+            in.readFully(digest);
+            final byte[] current = digest(configuration, parserClass, modules);
+            if (current == null) {
+                ROOT_LOGGER.debugf("Cannot determine the parsers of the boot operations cached in %s", cacheFile);
+                return null;
+            }
+            if (!Arrays.equals(digest, current)) {
+                ROOT_LOGGER.debugf("Cached boot operations in %s are stale", cacheFile);
+                return null;
+            }
+            final int opCount = in.readInt();
+            final List<ModelNode> ops = new ArrayList<>(opCount);
+            for (int i = 0; i < opCount; i++) {
+                ModelNode op = new ModelNode();
+                op.readExternal(in);
+                ops.add(op);
+            }
+            return ops;
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to read cached boot operations from %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the operations parsed from the given configuration, replacing any previously stored.
+     *
+     * @param configuration the content of the configuration file
+     * @param parserClass the class of the root parser
+     * @param ops the operations parsed from {@code configuration}
+     */
+    void store(final byte[] configuration, final Class<?> parserClass, final List<ModelNode> ops) {
+        final Set<String> modules = getExtensionModules(ops);
+        final File parent = cacheFile.getAbsoluteFile().getParentFile();
+        final File temp = new File(parent, cacheFile.getName() + ".tmp");
+        try {
+            final byte[] digest = digest(configuration, parserClass, modules);
+            if (digest == null) {
+                ROOT_LOGGER.debugf("Cannot determine the parsers of the boot operations, so not caching them in %s", cacheFile);
+                return;
+            }
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException(parent.getAbsolutePath());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(modules.size());
+                for (String module : modules) {
+                    out.writeUTF(module);
+                }
+                out.writeInt(digest.length);
+                out.write(digest);
+                out.writeInt(ops.size());
+                for (ModelNode op : ops) {
+                    op.writeExternal(out);
+                }
+            }
+            Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to cache boot operations in %s", cacheFile);
+            temp.delete();
+        }
+    }
+
+    /**
+     * Computes the key of the cached operations.
+     *
+     * @return the key, or {@code null} if the code that parses the configuration cannot be determined
+     */
+    private byte[] digest(final byte[] configuration, final Class<?> parserClass, final Set<String> modules) throws IOException {
+        final MessageDigest digest = createMessageDigest();
+        digest.update(configuration);
+        // Modules may import from the JDK, whose resources are not hashed
+        update(digest, System.getProperty("java.version"));
+        final Module parserModule = Module.forClass(parserClass);
+        final String parserStamp = parserModule == null ? getClassStamp(parserClass) : getModuleStamp(parserModule);
+        if (parserStamp == null) {
+            return null;
+        }
+        update(digest, parserStamp);
+        for (String module : modules) {
+            final String stamp = getModuleStamp(module);
+            if (stamp == null) {
+                return null;
+            }
+            update(digest, module);
+            update(digest, stamp);
+        }
+        return digest.digest();
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update((byte) 0);
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets a value that changes if the content of the given extension module, or of the dependencies it imports
+     * resources from, changes.
+     *
+     * @param moduleName the name of the module
+     * @return the stamp, or {@code null} if the module cannot be loaded
+     */
+    String getModuleStamp(final String moduleName) throws IOException {
+        final Module module;
+        try {
+            module = moduleLoader.loadModule(moduleName);
+        } catch (ModuleLoadException e) {
+            ROOT_LOGGER.debugf(e, "Cannot load module %s", moduleName);
+            return null;
+        }
+        return getModuleStamp(module);
+    }
+
+    private String getModuleStamp(final Module module) throws IOException {
+        // Sorted, as the iteration order is not specified
+        final Map<String, String> hashes = new TreeMap<>();
+        final Iterator<Resource> resources;
+        try {
+            resources = module.iterateResources(PathFilters.acceptAll());
+        } catch (ModuleLoadException e) {
+            ROOT_LOGGER.debugf(e, "Cannot load the dependencies of module %s", module.getName());
+            return null;
+        }
+        while (resources.hasNext()) {
+            final Resource resource = resources.next();
+            final URL url = resource.getURL();
+            final File archive = url == null ? null : getArchive(url);
+            if (archive != null) {
+                final String location = archive.getPath();
+                if (!hashes.containsKey(location)) {
+                    hashes.put(location, getArchiveHash(archive));
+                }
+            } else if (url == null || !"jrt".equals(url.getProtocol())) {
+                try (InputStream in = resource.openStream()) {
+                    hashes.put(resource.getName(), hash(in));
+                }
+            }
+        }
+        return hashes.toString();
+    }
+
+    private static String getClassStamp(final Class<?> clazz) throws IOException {
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        final File archive = codeSource == null || codeSource.getLocation() == null ? null : getArchive(codeSource.getLocation());
+        if (archive != null) {
+            return hashArchive(archive);
+        }
+        // Not in an archive, so just use the class itself
+        try (InputStream in = clazz.getResourceAsStream(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class")) {
+            return in == null ? null : hash(in);
+        }
+    }
+
+    private String getArchiveHash(final File archive) throws IOException {
+        String hash = archiveHashes.get(archive.getPath());
+        if (hash == null) {
+            hash = hashArchive(archive);
+            archiveHashes.put(archive.getPath(), hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the archive file a resource is loaded from.
+     *
+     * @param url the URL of the resource
+     * @return the archive, or {@code null} if the resource is not in an archive on the file system
+     */
+    private static File getArchive(final URL url) {
+        String location = url.toExternalForm();
+        if (location.startsWith("jar:")) {
+            final int separator = location.indexOf("!/");
+            location = location.substring(4, separator < 0 ? location.length() : separator);
+        }
+        if (location.startsWith("file:")) {
+            try {
+                final File file = new File(new URL(location).toURI());
+                return file.isFile() ? file : null;
+            } catch (IOException | URISyntaxException | IllegalArgumentException ignored) {
+                // fall through
+            }
+        }
+        return null;
+    }
+
+    private static String hashArchive(final File archive) throws IOException {
+        final MessageDigest digest = createMessageDigest();
+        try (ZipFile zip = new ZipFile(archive)) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                update(digest, entry.getName() + ':' + entry.getSize() + ':' + entry.getCrc());
+            }
+        }
+        return toHex(digest);
+    }
+
+    private static String hash(final InputStream in) throws IOException {
+        final MessageDigest digest = createMessageDigest();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest);
+    }
+
+    private static String toHex(final MessageDigest digest) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<String> getExtensionModules(final List<ModelNode> ops) {
+        final Set<String> modules = new LinkedHashSet<>();
+        for (ModelNode op : ops) {
+            if (ADD.equals(op.get(OP).asString()) && op.hasDefined(OP_ADDR)) {
+                final List<Property> address = op.get(OP_ADDR).asPropertyList();
+                if (!address.isEmpty()) {
+                    final Property last = address.get(address.size() - 1);
+                    if (EXTENSION.equals(last.getName())) {
+                        modules.add(last.getValue().asString());
+                    }
+                }
+            }
+        }
+        return modules;
+    }
+}
@@ -39,17 +39,46 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
 
     private final ConfigurationFile configurationFile;
     protected final File fileName;
+    private final GroupCommitWriter groupCommitWriter;
+    private final boolean synchronous;
 
 
     ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
                                          final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this(model, configurationFile, persister, null, true);
+    }
+
+    /**
+     * @param groupCommitWriter writer to which to hand off the commit, or {@code null} if it should be written directly
+     * @param synchronous {@code true} if the commit should be written before {@link #commit()} returns even if it
+     *                    is handed off to the {@code groupCommitWriter}
+     */
+    ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
+                                         final AbstractConfigurationPersister persister, final GroupCommitWriter groupCommitWriter,
+                                         final boolean synchronous) throws ConfigurationPersistenceException {
         super(model, persister);
         this.configurationFile = configurationFile;
         this.fileName = configurationFile.getMainFile();
+        this.groupCommitWriter = groupCommitWriter;
+        this.synchronous = synchronous;
     }
 
     @Override
     protected void doCommit(InputStream in) {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.commit(this, synchronous);
+        } else {
+            write(in, false);
+        }
+    }
+
+    /**
+     * Writes the configuration file, backing up the previous one.
+     *
+     * @param in the marshalled configuration
+     * @param durable {@code true} if the new file should be synced to the storage device before it replaces the old
+     */
+    void write(InputStream in, boolean durable) {
         final File tempFileName;
 
         if ( FilePersistenceUtils.isParentFolderWritable(fileName) ){
@@ -61,6 +90,9 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
         try {
             try {
                 FilePersistenceUtils.writeToTempFile(in, tempFileName, fileName);
+                if (durable) {
+                    FilePersistenceUtils.fsync(tempFileName);
+                }
             } catch (Exception e) {
                 MGMT_OP_LOGGER.failedToStoreConfiguration(e, fileName.getName());
                 return;
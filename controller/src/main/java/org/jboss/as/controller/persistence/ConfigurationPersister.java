@@ -106,6 +106,14 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Waits for any configuration changes whose {@link PersistenceResource#commit() commit} has returned but which
+     * have not yet been written to be written. The default implementation does nothing, as by default changes are
+     * written before the commit returns.
+     */
+    default void flush() {
+    }
+
     /**
      * Take a snapshot of the current configuration
      *
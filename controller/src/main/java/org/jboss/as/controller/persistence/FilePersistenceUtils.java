@@ -25,10 +25,12 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.AclEntry;
 import java.nio.file.attribute.AclFileAttributeView;
 import java.nio.file.attribute.FileAttribute;
@@ -134,6 +136,12 @@ class FilePersistenceUtils {
         return tempFileName;
     }
 
+    static void fsync(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
     static Path createTempFileWithAttributes(Path tempFilePath, File fileName) throws IOException {
         Path exisitingFilePath = fileName.toPath();
         List<FileAttribute> attributes = new ArrayList<>(2);
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coalesces the commits of a {@link BackupXmlConfigurationPersister} so that a burst of back to back operations
+ * results in a single durable write of the configuration file.
+ * <p>
+ * Each commit replaces any pending one, since each contains the complete configuration, and schedules a write
+ * after a bounded delay if one is not already scheduled. The delay is configured in milliseconds using the
+ * {@value #DELAY_PROPERTY} system property; group commit is disabled if it is not set or is not positive.
+ * Writes are performed one at a time, in commit order, and are fsynced before the configuration file is replaced.
+ */
+final class GroupCommitWriter {
+
+    static final String DELAY_PROPERTY = "jboss.as.management.persistence.group-commit-delay";
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR;
+
+    static {
+        final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("configuration-group-commit"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        EXECUTOR = new ScheduledThreadPoolExecutor(1, threadFactory);
+        EXECUTOR.setKeepAliveTime(60, TimeUnit.SECONDS);
+        EXECUTOR.allowCoreThreadTimeOut(true);
+        EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    private final long delay;
+    /** Serializes the writes themselves, so a newer configuration is never overwritten by an older one */
+    private final Object writeLock = new Object();
+    /** Guarded by this */
+    private ConfigurationFilePersistenceResource pending;
+    /** Guarded by this */
+    private ScheduledFuture<?> scheduled;
+
+    GroupCommitWriter(final long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Creates a writer if group commit is enabled by the {@value #DELAY_PROPERTY} system property.
+     *
+     * @return the writer, or {@code null} if configuration file writes should not be deferred
+     */
+    static GroupCommitWriter create() {
+        final String val = WildFlySecurityManager.getPropertyPrivileged(DELAY_PROPERTY, null);
+        long delay = 0;
+        try {
+            delay = val == null ? 0 : Long.parseLong(val.trim());
+        } catch (NumberFormatException ignored) {
+        }
+        return delay > 0 ? new GroupCommitWriter(delay) : null;
+    }
+
+    /**
+     * Records a commit, replacing any that has not yet been written.
+     *
+     * @param resource the committed resource
+     * @param synchronous {@code true} if the configuration should be written before this method returns
+     */
+    void commit(final ConfigurationFilePersistenceResource resource, final boolean synchronous) {
+        synchronized (this) {
+            pending = resource;
+            if (!synchronous && scheduled == null) {
+                scheduled = EXECUTOR.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (synchronous) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any commit that has not yet been written, returning once it has been.
+     */
+    void flush() {
+        synchronized (writeLock) {
+            final ConfigurationFilePersistenceResource toWrite;
+            synchronized (this) {
+                toWrite = pending;
+                pending = null;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                    scheduled = null;
+                }
+            }
+            if (toWrite != null) {
+                toWrite.write(toWrite.getMarshalledInputStream(), true);
+            }
+        }
+    }
+}
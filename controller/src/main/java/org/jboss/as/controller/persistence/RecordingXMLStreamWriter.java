@@ -0,0 +1,292 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * {@link XMLExtendedStreamWriter} that passes all calls through to another writer while recording those that
+ * write output or change the writer's state, so the same output can later be reproduced on any writer in the
+ * same state via {@link #getRecording()} without rerunning whatever produced it.
+ */
+final class RecordingXMLStreamWriter implements XMLExtendedStreamWriter {
+
+    /** A recorded call. */
+    interface Event {
+        void replay(XMLExtendedStreamWriter writer) throws XMLStreamException;
+    }
+
+    private final XMLExtendedStreamWriter delegate;
+    private final List<Event> events = new ArrayList<>();
+
+    RecordingXMLStreamWriter(final XMLExtendedStreamWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the calls recorded so far.
+     *
+     * @return the recorded calls, in order. Will not be {@code null}
+     */
+    List<Event> getRecording() {
+        return Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+    /**
+     * Replays a recording onto the given writer.
+     *
+     * @param recording the recording. Cannot be {@code null}
+     * @param writer the writer. Cannot be {@code null}
+     * @throws XMLStreamException if the writer fails
+     */
+    static void replay(final List<Event> recording, final XMLExtendedStreamWriter writer) throws XMLStreamException {
+        for (Event event : recording) {
+            event.replay(writer);
+        }
+    }
+
+    private void record(final Event event) throws XMLStreamException {
+        event.replay(delegate);
+        events.add(event);
+    }
+
+    private static List<String> copy(final Iterable<String> values) {
+        final List<String> result = new ArrayList<>();
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final String[] values) throws XMLStreamException {
+        final String[] copy = values.clone();
+        record(w -> w.writeAttribute(localName, copy));
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String[] values) throws XMLStreamException {
+        final String[] copy = values.clone();
+        record(w -> w.writeAttribute(prefix, namespaceURI, localName, copy));
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final String[] values) throws XMLStreamException {
+        final String[] copy = values.clone();
+        record(w -> w.writeAttribute(namespaceURI, localName, copy));
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final Iterable<String> values) throws XMLStreamException {
+        final List<String> copy = copy(values);
+        record(w -> w.writeAttribute(localName, copy));
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final Iterable<String> values) throws XMLStreamException {
+        final List<String> copy = copy(values);
+        record(w -> w.writeAttribute(prefix, namespaceURI, localName, copy));
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final Iterable<String> values) throws XMLStreamException {
+        final List<String> copy = copy(values);
+        record(w -> w.writeAttribute(namespaceURI, localName, copy));
+    }
+
+    @Override
+    public void setUnspecifiedElementNamespace(final String namespace) {
+        delegate.setUnspecifiedElementNamespace(namespace);
+        events.add(w -> w.setUnspecifiedElementNamespace(namespace));
+    }
+
+    @Override
+    public void writeStartElement(final String localName) throws XMLStreamException {
+        record(w -> w.writeStartElement(localName));
+    }
+
+    @Override
+    public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        record(w -> w.writeStartElement(namespaceURI, localName));
+    }
+
+    @Override
+    public void writeStartElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+        record(w -> w.writeStartElement(prefix, localName, namespaceURI));
+    }
+
+    @Override
+    public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        record(w -> w.writeEmptyElement(namespaceURI, localName));
+    }
+
+    @Override
+    public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+        record(w -> w.writeEmptyElement(prefix, localName, namespaceURI));
+    }
+
+    @Override
+    public void writeEmptyElement(final String localName) throws XMLStreamException {
+        record(w -> w.writeEmptyElement(localName));
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        record(XMLExtendedStreamWriter::writeEndElement);
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        record(XMLExtendedStreamWriter::writeEndDocument);
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        record(XMLExtendedStreamWriter::close);
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        // Nothing worth replaying
+        delegate.flush();
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+        record(w -> w.writeAttribute(localName, value));
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+        record(w -> w.writeAttribute(prefix, namespaceURI, localName, value));
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+        record(w -> w.writeAttribute(namespaceURI, localName, value));
+    }
+
+    @Override
+    public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+        record(w -> w.writeNamespace(prefix, namespaceURI));
+    }
+
+    @Override
+    public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+        record(w -> w.writeDefaultNamespace(namespaceURI));
+    }
+
+    @Override
+    public void writeComment(final String data) throws XMLStreamException {
+        record(w -> w.writeComment(data));
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target) throws XMLStreamException {
+        record(w -> w.writeProcessingInstruction(target));
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+        record(w -> w.writeProcessingInstruction(target, data));
+    }
+
+    @Override
+    public void writeCData(final String data) throws XMLStreamException {
+        record(w -> w.writeCData(data));
+    }
+
+    @Override
+    public void writeDTD(final String dtd) throws XMLStreamException {
+        record(w -> w.writeDTD(dtd));
+    }
+
+    @Override
+    public void writeEntityRef(final String name) throws XMLStreamException {
+        record(w -> w.writeEntityRef(name));
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        record(XMLExtendedStreamWriter::writeStartDocument);
+    }
+
+    @Override
+    public void writeStartDocument(final String version) throws XMLStreamException {
+        record(w -> w.writeStartDocument(version));
+    }
+
+    @Override
+    public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+        record(w -> w.writeStartDocument(encoding, version));
+    }
+
+    @Override
+    public void writeCharacters(final String text) throws XMLStreamException {
+        record(w -> w.writeCharacters(text));
+    }
+
+    @Override
+    public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+        final char[] copy = new char[len];
+        System.arraycopy(text, start, copy, 0, len);
+        record(w -> w.writeCharacters(copy, 0, len));
+    }
+
+    @Override
+    public String getPrefix(final String uri) throws XMLStreamException {
+        return delegate.getPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(final String prefix, final String uri) throws XMLStreamException {
+        record(w -> w.setPrefix(prefix, uri));
+    }
+
+    @Override
+    public void setDefaultNamespace(final String uri) throws XMLStreamException {
+        record(w -> w.setDefaultNamespace(uri));
+    }
+
+    @Override
+    public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+        record(w -> w.setNamespaceContext(context));
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return delegate.getNamespaceContext();
+    }
+
+    @Override
+    public Object getProperty(final String name) throws IllegalArgumentException {
+        return delegate.getProperty(name);
+    }
+}
@@ -25,9 +25,12 @@ package org.jboss.as.controller.persistence;
 import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -60,6 +63,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile BootOperationCache bootOperationCache;
 
     /**
      * Construct a new instance.
@@ -97,6 +101,16 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Sets a cache of the operations parsed from the configuration file, which {@link #load()} will use
+     * instead of parsing the file if it is unchanged.
+     *
+     * @param bootOperationCache the cache, or {@code null} if the file should always be parsed
+     */
+    public void setBootOperationCache(final BootOperationCache bootOperationCache) {
+        this.bootOperationCache = bootOperationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
@@ -110,6 +124,23 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final BootOperationCache cache = this.bootOperationCache;
+        final byte[] configuration;
+        if (cache != null) {
+            // Parse the same bytes that key the cache, so a concurrent change to the file can't be cached
+            try {
+                configuration = Files.readAllBytes(fileName.toPath());
+            } catch (Exception e) {
+                throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
+            }
+            final List<ModelNode> cached = cache.load(configuration, rootParser.getClass());
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            configuration = null;
+        }
+
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -119,7 +150,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
         final List<ModelNode> updates = new ArrayList<ModelNode>();
         try {
-            final FileInputStream fis = new FileInputStream(fileName);
+            final InputStream fis = configuration != null ? new ByteArrayInputStream(configuration) : new FileInputStream(fileName);
             try {
                 BufferedInputStream input = new BufferedInputStream(fis);
                 XMLStreamReader streamReader = XMLInputFactory.newInstance().createXMLStreamReader(input);
@@ -144,6 +175,9 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         } catch (Exception e) {
             throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
         }
+        if (cache != null) {
+            cache.store(configuration, rootParser.getClass(), updates);
+        }
         return updates;
     }
 
@@ -259,11 +259,41 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers copies of this resource's providers with the given copy-on-write copy of this resource. Default
+     * providers share their children with this resource until they are accessed within {@code scope}; any other
+     * provider is cloned.
+     *
+     * @param copy the copy of this resource
+     * @param scope the scope the copy was made in
+     */
+    void copyProvidersOnWrite(AbstractModelResource copy, CopyOnWriteScope scope) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? ((DefaultResourceProvider) provider).copyOnWrite(scope)
+                        : provider.clone());
+            }
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
-        private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        private final Map<String, Resource> children;
+        /** The scope this provider was copied in, or {@code null} if it is not a copy */
+        private final CopyOnWriteScope scope;
+        /** Names of children still shared with the provider this one was copied from */
+        private final Set<String> shared;
 
         protected DefaultResourceProvider() {
+            this(new LinkedHashMap<String, Resource>(), null, Collections.<String>emptySet());
+        }
+
+        private DefaultResourceProvider(Map<String, Resource> children, CopyOnWriteScope scope, Set<String> shared) {
+            this.children = children;
+            this.scope = scope;
+            this.shared = shared;
         }
 
         @Override
@@ -283,7 +313,13 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource get(String name) {
             synchronized (children) {
-                return children.get(name);
+                Resource resource = children.get(name);
+                if (resource != null && scope != null && scope.isOpen() && shared.remove(name)) {
+                    // First access to a shared child within the scope; take our own copy
+                    resource = scope.copy(resource);
+                    children.put(name, resource);
+                }
+                return resource;
             }
         }
 
@@ -336,6 +372,9 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
+                if (scope != null) {
+                    shared.remove(name);
+                }
                 return children.remove(name);
             }
         }
@@ -350,6 +389,13 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
             return provider;
         }
+
+        private ResourceProvider copyOnWrite(CopyOnWriteScope scope) {
+            synchronized (children) {
+                return new DefaultResourceProvider(new LinkedHashMap<String, Resource>(children), scope,
+                        new HashSet<String>(children.keySet()));
+            }
+        }
     }
 
     abstract static class DelegateResource implements ResourceEntry {
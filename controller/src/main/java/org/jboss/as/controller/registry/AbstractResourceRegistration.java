@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jboss.as.controller.CapabilityReferenceRecorder;
 
 import org.jboss.as.controller.OperationDefinition;
@@ -56,10 +57,14 @@ import org.wildfly.common.Assert;
 @SuppressWarnings("deprecation")
 abstract class AbstractResourceRegistration implements ManagementResourceRegistration {
 
+    /** Incremented after any registration in the process is modified */
+    private static final AtomicLong modificationCount = new AtomicLong();
+
     private final String valueString;
     private final NodeSubregistry parent;
     private final PathAddress pathAddress;
     private final ProcessType processType;
+    private final OperationEntryCache operationEntryCache;
     private RootInvocation rootInvocation;
 
     /** Constructor for a root MRR */
@@ -69,6 +74,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.parent = null;
         this.pathAddress = PathAddress.EMPTY_ADDRESS;
         this.processType = Assert.checkNotNullParam("processType", processType);
+        this.operationEntryCache = OperationEntryCache.ENABLED ? new OperationEntryCache() : null;
     }
 
     /** Constructor for a non-root MRR */
@@ -78,6 +84,15 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.parent = Assert.checkNotNullParam("parent", parent);
         this.pathAddress = parent.getPathAddress(valueString);
         this.processType = parent.getProcessType();
+        this.operationEntryCache = null;
+    }
+
+    static void registrationModified() {
+        modificationCount.incrementAndGet();
+    }
+
+    static long getModificationCount() {
+        return modificationCount.get();
     }
 
     static void checkPermission() {
@@ -177,6 +192,14 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         }
         // else we are the root
 
+        if (operationEntryCache != null) {
+            checkPermission();
+            return operationEntryCache.getOperationEntry(pathAddress, operationName, address -> resolveOperationEntry(address, operationName));
+        }
+        return resolveOperationEntry(pathAddress, operationName);
+    }
+
+    private OperationEntry resolveOperationEntry(final PathAddress pathAddress, final String operationName) {
         OperationEntry inheritable = getInheritableOperationEntry(operationName);
         return getOperationEntry(pathAddress.iterator(), operationName, inheritable);
     }
@@ -25,13 +25,15 @@ package org.jboss.as.controller.registry;
 import java.util.ConcurrentModificationException;
 import java.util.Set;
 
+import org.jboss.as.controller.PathElement;
 import org.jboss.dmr.ModelNode;
 
 /**
  * Standard {@link Resource} implementation.
  *
- * <p>Concurrency note: if a thread needs to modify a BasicResource, it must use the clone() method to obtain its
- * own copy of the resource. That instance cannot be made visible to other threads until all writes are complete.</p>
+ * <p>Concurrency note: if a thread needs to modify a BasicResource, it must use the clone() method, or a
+ * {@link CopyOnWriteScope}, to obtain its own copy of the resource. That instance cannot be made visible to other
+ * threads until all writes are complete.</p>
  *
  * @author Emanuel Muckenhuber
  */
@@ -78,16 +80,43 @@ class BasicResource extends AbstractModelResource implements Resource {
     @Override
     public Resource clone() {
         final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        clone.copyModel(model);
+        cloneProviders(clone);
+        return clone;
+    }
+
+    /**
+     * Creates a copy of this resource whose children remain shared with this resource until they are
+     * accessed within the given scope.
+     *
+     * @param scope the scope the copy is made in
+     * @return the copy
+     */
+    BasicResource copyOnWrite(CopyOnWriteScope scope) {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        copyProvidersOnWrite(copy, scope);
+        return copy;
+    }
+
+    @Override
+    public Resource shallowCopy() {
+        // Only use the child names, so a copy-on-write resource does not copy its children just to report them
+        final Resource copy = Resource.Factory.create();
+        copy.writeModel(getModel());
+        for (final String childType : getChildTypes()) {
+            for (final String childName : getChildrenNames(childType)) {
+                copy.registerChild(PathElement.pathElement(childType, childName), PlaceholderResource.INSTANCE);
+            }
+        }
+        return copy;
     }
 
 }
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link DescriptionProvider} that remembers, per {@link Locale}, the descriptions produced by another provider.
+ * <p>
+ * Descriptions of a resource, its operations or its notifications are frequently derived from the state of the
+ * resource registration tree (e.g. the parameters of an {@code add} operation from the registered attributes), so
+ * they are held in a {@link RegistrationGenerationCache}. Callers receive a copy of the cached description that they
+ * are free to modify.
+ * <p>
+ * Caching is disabled by default, as description providers whose output depends on state other than the
+ * registration tree would otherwise return stale descriptions. It is enabled by setting the
+ * {@value #DESCRIPTION_CACHE_PROPERTY} system property to {@code true}.
+ */
+final class CachingDescriptionProvider implements DescriptionProvider {
+
+    static final String DESCRIPTION_CACHE_PROPERTY = "jboss.as.management.description-cache";
+
+    static final boolean ENABLED = RegistrationGenerationCache.isEnabled(DESCRIPTION_CACHE_PROPERTY);
+
+    /** Descriptions are only requested for a handful of locales */
+    private static final int MAX_LOCALES = 16;
+
+    private final DescriptionProvider delegate;
+    private final RegistrationGenerationCache<Locale, ModelNode> descriptions = new RegistrationGenerationCache<>(MAX_LOCALES);
+
+    private CachingDescriptionProvider(final DescriptionProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the given provider in a caching provider if caching of descriptions is enabled.
+     *
+     * @param provider the provider. May be {@code null}
+     * @return the caching provider, or {@code provider} itself if caching is disabled or {@code provider} is {@code null}
+     */
+    static DescriptionProvider wrap(final DescriptionProvider provider) {
+        return wrap(provider, ENABLED);
+    }
+
+    static DescriptionProvider wrap(final DescriptionProvider provider, final boolean enabled) {
+        if (!enabled || provider == null || provider instanceof CachingDescriptionProvider) {
+            return provider;
+        }
+        return new CachingDescriptionProvider(provider);
+    }
+
+    @Override
+    public ModelNode getModelDescription(final Locale locale) {
+        if (locale == null) {
+            return delegate.getModelDescription(null);
+        }
+        final ModelNode description = descriptions.get(locale, l -> {
+            final ModelNode described = delegate.getModelDescription(l);
+            if (described == null) {
+                return null;
+            }
+            final ModelNode cached = described.clone();
+            cached.protect();
+            return cached;
+        });
+        return description == null ? null : description.clone();
+    }
+}
@@ -84,6 +84,8 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private Set<CapabilityReferenceRecorder> requirements;
 
+    private volatile DescriptionProvider cachedDescriptionProvider;
+
     private final Lock readLock;
     private final Lock writeLock;
 
@@ -131,6 +133,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     void initialized() {
+        registrationModified();
         writeLock.unlock();
     }
 
@@ -167,6 +170,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         try {
             this.runtimeOnly = runtimeOnly;
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -258,6 +262,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -295,6 +300,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 constraintUtilizationRegistry.unregisterAccessConstraintUtilizations(getPathAddress().append(address));
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -406,6 +412,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -441,6 +448,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         try {
             attributes.remove(attributeName);
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -464,6 +472,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 notifications.put(type, entry);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -482,6 +491,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 notifications.remove(notificationType);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -528,6 +538,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             attributes.put(attributeName, aa);
             registerAttributeAccessConstraints(definition);
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -715,6 +726,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -731,6 +743,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 incorporatingCapabilities = Collections.unmodifiableSet(new HashSet<>(capabilities));
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -745,6 +758,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 this.requirements = Collections.unmodifiableSet(new HashSet<>(requirements));
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -790,6 +804,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 return newRegistry;
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -805,6 +820,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             return subregistry.getModelDescription(iterator, next.getValue());
         } else {
             checkPermission();
+            if (CachingDescriptionProvider.ENABLED) {
+                DescriptionProvider provider = cachedDescriptionProvider;
+                if (provider == null) {
+                    provider = CachingDescriptionProvider.wrap(resourceDefinition.getDescriptionProvider(this));
+                    cachedDescriptionProvider = provider;
+                }
+                return provider;
+            }
             return resourceDefinition.getDescriptionProvider(this);
         }
     }
@@ -1010,6 +1033,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 orderedChildTypes.add(type);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -1025,6 +1049,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 additionalPackages.add(pkg);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+/**
+ * Tracks a single copy-on-write update of a {@link Resource} tree.
+ * <p>
+ * A resource copied via {@link #copy(Resource)} initially shares all of its descendants with the original. While the
+ * scope is open, a child is itself copied the first time it is accessed through its copied parent, so only the
+ * resources along the paths an update actually navigates get copied; the rest of the tree remains structurally
+ * shared with the original, which is never modified.
+ * <p>
+ * Once the update is complete the scope must be {@link #close() closed}. After that, accessing resources through the
+ * copy no longer results in copying and the copy can itself be published as an immutable snapshot that later
+ * scopes copy from.
+ */
+public final class CopyOnWriteScope {
+
+    private volatile boolean open = true;
+
+    /**
+     * Creates a copy of the given resource for modification within this scope. Instances of the standard
+     * resource implementation created by {@link Resource.Factory} are copied lazily as described above; any
+     * other resource type is {@link Resource#clone() cloned}.
+     *
+     * @param resource the resource to copy. Cannot be {@code null}
+     * @return the copy. Will not return {@code null}
+     */
+    public Resource copy(final Resource resource) {
+        if (resource instanceof BasicResource) {
+            return ((BasicResource) resource).copyOnWrite(this);
+        }
+        return resource.clone();
+    }
+
+    /**
+     * Gets whether resources accessed via copies made in this scope are still copied on first access.
+     *
+     * @return {@code true} if the scope has not yet been closed
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Closes the scope. Resources still shared between the copy and the original remain shared.
+     */
+    public void close() {
+        open = false;
+    }
+}
@@ -405,4 +405,15 @@ public interface ImmutableManagementResourceRegistration {
      * registered otherwise an empty set.
      */
     Set<RuntimePackageDependency> getAdditionalRuntimePackages();
+
+    /**
+     * Gets a count of the modifications made to any resource registration in this process, e.g. by registering or
+     * unregistering a child, attribute, operation or notification. Information derived from registrations can be
+     * cached while the count is unchanged.
+     *
+     * @return the modification count
+     */
+    static long getModificationCount() {
+        return AbstractResourceRegistration.getModificationCount();
+    }
 }
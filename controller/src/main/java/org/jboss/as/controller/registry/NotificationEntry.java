@@ -35,7 +35,7 @@ public class NotificationEntry {
     private final boolean inherited;
 
     public NotificationEntry(final DescriptionProvider descriptionProvider, final boolean inherited) {
-        this.descriptionProvider = descriptionProvider;
+        this.descriptionProvider = CachingDescriptionProvider.wrap(descriptionProvider);
         this.inherited = inherited;
     }
 
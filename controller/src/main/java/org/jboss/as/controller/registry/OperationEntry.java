@@ -99,11 +99,13 @@ public final class OperationEntry {
     private final OperationDefinition operationDefinition;
     private final OperationStepHandler operationHandler;
     private final boolean inherited;
+    private final DescriptionProvider descriptionProvider;
 
     OperationEntry(final OperationDefinition definition, final OperationStepHandler operationHandler, final boolean inherited) {
         this.operationDefinition = definition;
         this.operationHandler = operationHandler;
         this.inherited = inherited;
+        this.descriptionProvider = CachingDescriptionProvider.ENABLED ? CachingDescriptionProvider.wrap(definition.getDescriptionProvider()) : null;
     }
 
     public OperationDefinition getOperationDefinition() {
@@ -115,7 +117,7 @@ public final class OperationEntry {
     }
 
     public DescriptionProvider getDescriptionProvider() {
-        return operationDefinition.getDescriptionProvider();
+        return descriptionProvider != null ? descriptionProvider : operationDefinition.getDescriptionProvider();
     }
 
     public boolean isInherited() {
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.registry;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.as.controller.PathAddress;
+
+/**
+ * Memoizes the {@link OperationEntry} resolved for an address and operation name by a root resource registration,
+ * so a step addressed to the same address as an earlier one does not walk the registration tree again, searching
+ * each level for a specific registration before falling back to the wildcard one.
+ * <p>
+ * Entries are held in a {@link RegistrationGenerationCache}, so lookups always reflect the current registrations.
+ * Entries are kept for at most {@value #MAX_ADDRESSES} addresses, so the cache does not grow with the number of
+ * resources in the model.
+ * <p>
+ * Memoization is disabled by default. It is enabled by setting the {@value #OPERATION_ENTRY_CACHE_PROPERTY} system
+ * property to {@code true}.
+ */
+final class OperationEntryCache {
+
+    static final String OPERATION_ENTRY_CACHE_PROPERTY = "jboss.as.management.operation-entry-cache";
+
+    static final boolean ENABLED = RegistrationGenerationCache.isEnabled(OPERATION_ENTRY_CACHE_PROPERTY);
+
+    static final int MAX_ADDRESSES = 4096;
+
+    private final RegistrationGenerationCache<PathAddress, Map<String, Optional<OperationEntry>>> entries = new RegistrationGenerationCache<>(MAX_ADDRESSES);
+
+    /**
+     * Gets the entry for the given operation at the given address, resolving it if it is not already known.
+     *
+     * @param address the address, relative to the root registration
+     * @param operationName the name of the operation
+     * @param resolver function resolving the entry if it is not known. May return {@code null}
+     * @return the entry, or {@code null} if no operation is registered with that name at the address
+     */
+    OperationEntry getOperationEntry(final PathAddress address, final String operationName, final Function<PathAddress, OperationEntry> resolver) {
+        final Map<String, Optional<OperationEntry>> byName = entries.get(address, a -> new ConcurrentHashMap<>(4));
+        Optional<OperationEntry> entry = byName.get(operationName);
+        if (entry == null) {
+            entry = Optional.ofNullable(resolver.apply(address));
+            byName.putIfAbsent(operationName, entry);
+        }
+        return entry.orElse(null);
+    }
+}
@@ -173,6 +173,7 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
                 new OperationEntry(definition, handler, inherited)) != null) {
             throw alreadyRegistered("operation handler", definition.getName());
         }
+        registrationModified();
     }
 
     @Override
@@ -180,6 +181,7 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
         if (operationsUpdater.remove(this, operationName) == null) {
             throw operationNotRegisteredException(operationName, proxyController.getProxyNodeAddress().getLastElement());
         }
+        registrationModified();
     }
 
     @Override
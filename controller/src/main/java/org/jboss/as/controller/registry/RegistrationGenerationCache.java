@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.registry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Remembers values derived from the resource registration tree, such as descriptions or resolved operation entries.
+ * <p>
+ * Every value is discarded whenever any registration is
+ * {@link ImmutableManagementResourceRegistration#getModificationCount() modified}, so a value read from the cache
+ * always reflects the current registrations. At most a given number of values are kept; once that many are known they
+ * are all discarded, so the cache does not grow without bound.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class RegistrationGenerationCache<K, V> {
+
+    private final int maxSize;
+    private volatile Generation<K, V> generation = new Generation<>(-1);
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize the maximum number of values to keep
+     */
+    RegistrationGenerationCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets whether a cache is enabled by the given system property, which defaults to {@code false}.
+     *
+     * @param property the name of the system property
+     * @return {@code true} if the property is {@code true}
+     */
+    static boolean isEnabled(final String property) {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(property, "false"));
+    }
+
+    /**
+     * Gets the value for the given key, computing it if it is not already known.
+     *
+     * @param key the key
+     * @param function function computing the value. May return {@code null}, which is not remembered
+     * @return the value, or {@code null} if {@code function} returned {@code null}
+     */
+    V get(final K key, final Function<? super K, ? extends V> function) {
+        // Read the count before computing so a concurrent modification is not masked by the remembered value
+        final long count = AbstractResourceRegistration.getModificationCount();
+        Generation<K, V> current = generation;
+        if (current.modificationCount != count || current.values.size() >= maxSize) {
+            current = new Generation<>(count);
+            generation = current;
+        }
+        V value = current.values.get(key);
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) {
+                final V existing = current.values.putIfAbsent(key, value);
+                if (existing != null) {
+                    value = existing;
+                }
+            }
+        }
+        return value;
+    }
+
+    private static final class Generation<K, V> {
+        private final long modificationCount;
+        private final Map<K, V> values = new ConcurrentHashMap<>();
+
+        private Generation(final long modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
+}
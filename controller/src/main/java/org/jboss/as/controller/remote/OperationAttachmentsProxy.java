@@ -111,6 +111,8 @@ class OperationAttachmentsProxy implements Operation {
 
     private static class ProxiedInputStream extends InputStream {
         static final int BUFFER_SIZE = 8192;
+        // Lets the channel run several chunks ahead of the consumer instead of handing over each one
+        static final int PIPE_SIZE = 8 * BUFFER_SIZE;
 
         private final int index;
         private final int batchId;
@@ -124,7 +126,7 @@ class OperationAttachmentsProxy implements Operation {
             this.channelAssociation = channelAssociation;
             this.batchId = batchId;
             this.index = index;
-            pipe = new Pipe(BUFFER_SIZE);
+            pipe = new Pipe(PIPE_SIZE);
         }
 
         @Override
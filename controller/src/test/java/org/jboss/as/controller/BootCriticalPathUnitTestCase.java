@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootCriticalPath}.
+ */
+public class BootCriticalPathUnitTestCase {
+
+    private static final PathAddress POOL = PathAddress.pathAddress("subsystem", "test").append("pool", "a");
+    private static final PathAddress CACHE = PathAddress.pathAddress("subsystem", "test").append("cache", "b");
+
+    @Test
+    public void testLastTaskAndPredecessorAreReported() {
+        TestTask head = new TestTask("test", 0, 20, null, time("add", POOL, 15), time("write-attribute", POOL, 5));
+        TestTask lane = new TestTask("test[0]", 0, 50, head, time("add", CACHE, 30), time("add", CACHE.append("entry", "c"), 1));
+        TestTask other = new TestTask("other", 5, 40, null, time("add", PathAddress.pathAddress("subsystem", "other"), 35));
+
+        BootCriticalPath path = BootCriticalPath.of(Arrays.asList(head, lane, other), 3);
+        assertEquals("test[0]", path.getTask());
+        assertEquals("test", path.getPredecessor());
+        assertEquals(50, path.getElapsedMillis());
+        // The other task's operation was slower, but did not gate the stage
+        assertEquals(Arrays.asList(
+                "add /subsystem=test/cache=b [30 ms]",
+                "add /subsystem=test/pool=a [15 ms]",
+                "write-attribute /subsystem=test/pool=a [5 ms]"), path.getSlowestOperations());
+        assertEquals("test[0] following test after [50] ms; slowest operations: add /subsystem=test/cache=b [30 ms], "
+                + "add /subsystem=test/pool=a [15 ms], write-attribute /subsystem=test/pool=a [5 ms]", path.toString());
+    }
+
+    @Test
+    public void testTaskWithoutPredecessor() {
+        TestTask task = new TestTask("test", 10, 30, null, time("add", POOL, 2));
+        BootCriticalPath path = BootCriticalPath.of(Collections.singletonList(task), 3);
+        assertNull(path.getPredecessor());
+        assertEquals(20, path.getElapsedMillis());
+        assertEquals("test after [20] ms; slowest operations: add /subsystem=test/pool=a [2 ms]", path.toString());
+    }
+
+    @Test
+    public void testNoTasks() {
+        assertNull(BootCriticalPath.of(Collections.emptyList(), 3));
+    }
+
+    private static BootCriticalPath.OperationTime time(String operationName, PathAddress address, long millis) {
+        return new BootCriticalPath.OperationTime() {
+            @Override
+            public String getOperationName() {
+                return operationName;
+            }
+
+            @Override
+            public PathAddress getAddress() {
+                return address;
+            }
+
+            @Override
+            public long getElapsedTime() {
+                return TimeUnit.MILLISECONDS.toNanos(millis);
+            }
+        };
+    }
+
+    private static final class TestTask implements BootCriticalPath.Task {
+
+        private final String name;
+        private final long scheduled;
+        private final long prepared;
+        private final TestTask predecessor;
+        private final List<BootCriticalPath.OperationTime> times;
+
+        TestTask(String name, long scheduledMillis, long preparedMillis, TestTask predecessor, BootCriticalPath.OperationTime... times) {
+            this.name = name;
+            this.scheduled = TimeUnit.MILLISECONDS.toNanos(scheduledMillis);
+            this.prepared = TimeUnit.MILLISECONDS.toNanos(preparedMillis);
+            this.predecessor = predecessor;
+            this.times = Arrays.asList(times);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getScheduledTime() {
+            return scheduled;
+        }
+
+        @Override
+        public long getPreparedTime() {
+            return prepared;
+        }
+
+        @Override
+        public BootCriticalPath.Task getPredecessor() {
+            return predecessor;
+        }
+
+        @Override
+        public List<BootCriticalPath.OperationTime> getOperationTimes() {
+            return times;
+        }
+    }
+}
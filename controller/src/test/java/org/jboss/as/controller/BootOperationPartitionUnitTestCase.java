@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
+import org.jboss.as.controller.capability.registry.RegistrationPoint;
+import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
+import org.jboss.as.controller.operations.common.Util;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootOperationPartition}.
+ */
+public class BootOperationPartitionUnitTestCase {
+
+    private static final PathAddress SUBSYSTEM = PathAddress.pathAddress("subsystem", "test");
+    private static final PathAddress POOL = SUBSYSTEM.append("pool", "a");
+    private static final PathAddress POOL_CHILD = POOL.append("setting", "x");
+    private static final PathAddress CACHE = SUBSYSTEM.append("cache", "b");
+    private static final PathAddress USER = SUBSYSTEM.append("user", "c");
+    private static final PathAddress OTHER = SUBSYSTEM.append("other", "d");
+
+    @Test
+    public void testIndependentResourcesAreSplit() {
+        ParsedBootOp subsystemAdd = op(SUBSYSTEM);
+        ParsedBootOp poolAdd = op(POOL);
+        ParsedBootOp poolChildAdd = op(POOL_CHILD);
+        ParsedBootOp cacheAdd = op(CACHE);
+        ParsedBootOp userAdd = op(USER);
+        ParsedBootOp otherAdd = op(OTHER);
+        ParsedBootOp poolWrite = op(POOL);
+        List<ParsedBootOp> ops = Arrays.asList(subsystemAdd, poolAdd, poolChildAdd, cacheAdd, userAdd, otherAdd, poolWrite);
+
+        // user requires the pool's capability
+        CapabilityRegistry registry = new CapabilityRegistry(true);
+        register(registry, "test.pool", POOL);
+        register(registry, "test.cache", CACHE);
+        register(registry, "test.user", USER, "test.pool");
+        Map<PathAddress, Set<PathAddress>> providers = registry.getRequirementProviderPoints();
+        assertEquals(Collections.singletonMap(USER, Collections.singleton(POOL)), providers);
+
+        BootOperationPartition partition = BootOperationPartition.partition(ops, providers, 8);
+        assertEquals(Collections.singletonList(subsystemAdd), partition.getHead());
+        List<List<ParsedBootOp>> lanes = partition.getLanes();
+        assertEquals(3, lanes.size());
+        // Related ops stay in their original order in one lane
+        assertEquals(Arrays.asList(poolAdd, poolChildAdd, userAdd, poolWrite), lanes.get(0));
+        assertTrue(lanes.contains(Collections.singletonList(cacheAdd)));
+        assertTrue(lanes.contains(Collections.singletonList(otherAdd)));
+    }
+
+    @Test
+    public void testLanesAreBounded() {
+        List<ParsedBootOp> ops = new ArrayList<>();
+        ops.add(op(SUBSYSTEM));
+        for (int i = 0; i < 10; i++) {
+            ops.add(op(SUBSYSTEM.append("child", String.valueOf(i))));
+        }
+        BootOperationPartition partition = BootOperationPartition.partition(ops, Collections.emptyMap(), 4);
+        assertEquals(4, partition.getLanes().size());
+        int count = 0;
+        for (List<ParsedBootOp> lane : partition.getLanes()) {
+            assertTrue(lane.size() >= 2 && lane.size() <= 3);
+            count += lane.size();
+        }
+        assertEquals(10, count);
+    }
+
+    @Test
+    public void testRelatedResourcesAreNotSplit() {
+        List<ParsedBootOp> ops = Arrays.asList(op(SUBSYSTEM), op(POOL), op(POOL_CHILD));
+        BootOperationPartition partition = BootOperationPartition.partition(ops, Collections.emptyMap(), 4);
+        assertTrue(partition.getHead().isEmpty());
+        assertEquals(Collections.singletonList(ops), partition.getLanes());
+    }
+
+    private static ParsedBootOp op(PathAddress address) {
+        return new ParsedBootOp(Util.createAddOperation(address), null);
+    }
+
+    private static void register(CapabilityRegistry registry, String name, PathAddress address, String... requirements) {
+        RuntimeCapability<Void> capability = RuntimeCapability.Builder.of(name).addRequirements(requirements).build();
+        registry.registerCapability(new RuntimeCapabilityRegistration(capability, CapabilityScope.GLOBAL, new RegistrationPoint(address, null)));
+    }
+}
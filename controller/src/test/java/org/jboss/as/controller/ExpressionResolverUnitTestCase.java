@@ -25,6 +25,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -415,6 +416,57 @@ public class ExpressionResolverUnitTestCase {
         assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property1,test.property2:default}")).asString());
     }
 
+    @Test
+    public void testCachedResolution() throws OperationFailedException {
+        ExpressionResolver resolver = new ExpressionResolverImpl(false, true);
+        System.setProperty("test.prop.cached", "one");
+        try {
+            assertEquals("one", resolver.resolveExpressions(expression("${test.prop.cached}")).asString());
+            System.setProperty("test.prop.cached", "two");
+            // Changes not signalled by invalidation are not seen
+            assertEquals("one", resolver.resolveExpressions(expression("${test.prop.cached}")).asString());
+            assertEquals("two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.prop.cached}")).asString());
+
+            ExpressionResolverImpl.invalidateResolutionCaches();
+            ModelNode resolved = resolver.resolveExpressions(expression("${test.prop.cached}"));
+            assertEquals(ModelType.STRING, resolved.getType());
+            assertEquals("two", resolved.asString());
+        } finally {
+            System.clearProperty("test.prop.cached");
+        }
+    }
+
+    @Test
+    public void testLenientUnresolvedNotCached() throws OperationFailedException {
+        ExpressionResolver resolver = new ExpressionResolverImpl(true, true);
+        ModelNode unresolved = resolver.resolveExpressions(expression("${test.prop.cached.lenient}"));
+        assertEquals(ModelType.EXPRESSION, unresolved.getType());
+        System.setProperty("test.prop.cached.lenient", "value");
+        try {
+            assertEquals("value", resolver.resolveExpressions(expression("${test.prop.cached.lenient}")).asString());
+        } finally {
+            System.clearProperty("test.prop.cached.lenient");
+        }
+    }
+
+    @Test
+    public void testPluggableResolutionNotCached() throws OperationFailedException {
+        final AtomicReference<String> secret = new AtomicReference<>("one");
+        ExpressionResolver resolver = new ExpressionResolverImpl(false, true) {
+            @Override
+            protected void resolvePluggableExpression(ModelNode node) {
+                if (node.asString().equals("${test.secret}")) {
+                    node.set(secret.get());
+                }
+            }
+        };
+        assertEquals("one-x", resolver.resolveExpressions(expression("${test.secret}-x")).asString());
+        secret.set("two");
+        // Updated without invalidation, as a credential store may be
+        assertEquals("two-x", resolver.resolveExpressions(expression("${test.secret}-x")).asString());
+        assertEquals("two", resolver.resolveExpressions(expression("${test.secret}")).asString());
+    }
+
     @Test
     public void testExpressionWithDollarEndingDefaultValue() throws OperationFailedException {
         try {
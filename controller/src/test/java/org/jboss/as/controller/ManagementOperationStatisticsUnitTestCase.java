@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ManagementOperationStatistics}.
+ */
+public class ManagementOperationStatisticsUnitTestCase {
+
+    private static final SimpleAttributeDefinition ATTR = new SimpleAttributeDefinitionBuilder("attr", ModelType.INT, true).build();
+    private static final PathAddress SUBSYSTEM_A = PathAddress.pathAddress(SUBSYSTEM, "a");
+
+    private static volatile Resource modelControllerResource;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private ServiceContainer container;
+    private ModelControllerClient client;
+
+    @Before
+    public void setupController() throws InterruptedException {
+        System.setProperty(ManagementOperationStatistics.ENABLED_PROPERTY, "true");
+
+        container = ServiceContainer.Factory.create("test");
+        ServiceTarget target = container.subTarget();
+        ModelControllerService svc = new ModelControllerService();
+        target.addService(ServiceName.of("ModelController")).setInstance(svc).install();
+        svc.awaitStartup(30, TimeUnit.SECONDS);
+        client = svc.getValue().createClient(executor);
+    }
+
+    @After
+    public void shutdownServiceContainer() throws IOException, InterruptedException {
+        System.clearProperty(ManagementOperationStatistics.ENABLED_PROPERTY);
+        if (client != null) {
+            client.close();
+        }
+        if (container != null) {
+            container.shutdown();
+            container.awaitTermination(5, TimeUnit.SECONDS);
+            container = null;
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHistogram() {
+        ManagementOperationStatistics.LatencyHistogram histogram = new ManagementOperationStatistics.LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+
+        ModelNode model = new ModelNode();
+        histogram.addModel(model);
+        assertEquals(100, model.get(ManagementOperationStatistics.COUNT).asLong());
+        assertEquals((99 * 10 + 5000) / 100, model.get(ManagementOperationStatistics.MEAN_TIME).asLong());
+        assertEquals(5000, model.get(ManagementOperationStatistics.MAX_TIME).asLong());
+        // 10us falls in the [8, 16) bucket
+        assertEquals(15, model.get(ManagementOperationStatistics.PERCENTILE_50).asLong());
+        assertEquals(15, model.get(ManagementOperationStatistics.PERCENTILE_99).asLong());
+
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        model = new ModelNode();
+        histogram.addModel(model);
+        // The upper bound of the [4096, 8192) bucket is capped by the maximum
+        assertEquals(5000, model.get(ManagementOperationStatistics.PERCENTILE_99).asLong());
+    }
+
+    @Test
+    public void testOperationStatistics() throws IOException {
+        assertSuccess(client.execute(Util.getWriteAttributeOperation(SUBSYSTEM_A, ATTR.getName(), 1)));
+        assertSuccess(client.execute(Util.getWriteAttributeOperation(SUBSYSTEM_A, ATTR.getName(), 2)));
+        assertSuccess(client.execute(Util.getReadAttributeOperation(SUBSYSTEM_A, ATTR.getName())));
+
+        assertTrue(modelControllerResource.isModelDefined());
+        ModelNode model = modelControllerResource.getModel();
+
+        ModelNode write = model.get(OPERATION_STATISTICS, WRITE_ATTRIBUTE_OPERATION);
+        assertEquals(model.toString(), 2, write.get(ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+        assertEquals(model.toString(), 2, write.get("model", ManagementOperationStatistics.COUNT).asLong());
+        assertFalse(model.toString(), write.has("runtime"));
+
+        ModelNode read = model.get(OPERATION_STATISTICS, READ_ATTRIBUTE_OPERATION);
+        assertEquals(model.toString(), 1, read.get(ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+
+        // Operations are tracked by the address of the registration they target
+        ModelNode address = model.get(ADDRESS_STATISTICS, "/subsystem=*");
+        assertEquals(model.toString(), 3, address.get(ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+
+        assertEquals(model.toString(), 2, model.get(LOCK_WAIT_STATISTICS, "write", ManagementOperationStatistics.COUNT).asLong());
+    }
+
+    @Test
+    public void testUnregisteredOperations() throws IOException {
+        assertSuccess(client.execute(Util.getReadAttributeOperation(SUBSYSTEM_A, ATTR.getName())));
+        for (int i = 0; i < 3; i++) {
+            assertFailed(client.execute(Util.createEmptyOperation("unknown-" + i, SUBSYSTEM_A)));
+            assertFailed(client.execute(Util.getReadAttributeOperation(PathAddress.pathAddress("unknown-" + i, "x"), ATTR.getName())));
+        }
+
+        // Names and addresses sent by clients without a registered handler are not tracked individually
+        ModelNode model = modelControllerResource.getModel();
+        assertEquals(model.toString(), 2, model.get(OPERATION_STATISTICS).keys().size());
+        assertEquals(model.toString(), 1, model.get(OPERATION_STATISTICS, READ_ATTRIBUTE_OPERATION, ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+        assertEquals(model.toString(), 6, model.get(OPERATION_STATISTICS, ManagementOperationStatistics.UNREGISTERED, ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+        assertEquals(model.toString(), 2, model.get(ADDRESS_STATISTICS).keys().size());
+        assertEquals(model.toString(), 1, model.get(ADDRESS_STATISTICS, "/subsystem=*", ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+        assertEquals(model.toString(), 6, model.get(ADDRESS_STATISTICS, ManagementOperationStatistics.UNREGISTERED, ManagementOperationStatistics.TOTAL, ManagementOperationStatistics.COUNT).asLong());
+    }
+
+    private static void assertSuccess(ModelNode response) {
+        assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+    }
+
+    private static void assertFailed(ModelNode response) {
+        assertEquals(response.toString(), FAILED, response.get(OUTCOME).asString());
+    }
+
+    public static class ModelControllerService extends TestModelControllerService {
+
+        @Override
+        protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            ManagementOperationStatisticsUnitTestCase.modelControllerResource = modelControllerResource;
+            ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+            GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+            ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(
+                    new SimpleResourceDefinition(PathElement.pathElement(SUBSYSTEM), new NonResolvingResourceDescriptionResolver()));
+            subsystem.registerReadWriteAttribute(ATTR, null, new ModelOnlyWriteAttributeHandler(ATTR));
+            managementModel.getRootResource().registerChild(SUBSYSTEM_A.getLastElement(), Resource.Factory.create());
+        }
+    }
+}
@@ -607,6 +607,21 @@ public class ModelControllerImplUnitTestCase {
         assertEquals(2, result.get(RESULT, "child").asPropertyList().size());
     }
 
+    @Test
+    public void testOriginalRootResourceIsNotShared() throws Exception {
+        ModelNode result = controller.execute(getOperation("modify-original", "attr1", 5), null, null, null);
+        assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set("read-wildcards");
+        operation.get(OP_ADDR).setEmptyList();
+        operation.get("type").set("child");
+        result = controller.execute(operation, null, null, null);
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(1, result.get(RESULT, "child", "one", "attribute1").asInt());
+        assertEquals(1, controller.execute(getOperation("good", "attr1", 1), null, null, null).get(RESULT).asInt());
+    }
+
     @Test
     public void testRemoveServiceAfterNonRollbackServiceFailure() {
 
@@ -843,6 +858,7 @@ public class ModelControllerImplUnitTestCase {
             rootRegistration.registerOperationHandler(getOD("dependent-service"), new ModelControllerImplUnitTestCase.DependentServiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("remove-dependent-service"), new ModelControllerImplUnitTestCase.RemoveDependentServiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("read-wildcards"), new ModelControllerImplUnitTestCase.WildcardReadHandler(),true);
+            rootRegistration.registerOperationHandler(getOD("modify-original"), new ModelControllerImplUnitTestCase.ModifyOriginalRootHandler(),true);
             rootRegistration.registerOperationHandler(getOD("invalid-service-update"), new ModelControllerImplUnitTestCase.InvalidServiceUpdateHandler(),true);
             rootRegistration.registerOperationHandler(getODBuilder("deprecated-op").setDeprecated(ModelVersion.create(1)).build(), new DeprecatedHandler(), true);
 
@@ -1296,6 +1312,18 @@ public class ModelControllerImplUnitTestCase {
 
     }
 
+    static final class ModifyOriginalRootHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) {
+            // Misbehave by modifying the original model, which must not affect the published model
+            final Resource original = context.getOriginalRootResource();
+            original.getModel().get(operation.require(NAME).asString()).set(operation.require(VALUE));
+            original.navigate(CHILD_ONE).getModel().get("attribute1").set(operation.require(VALUE));
+            original.removeChild(CHILD_TWO.getLastElement());
+        }
+    }
+
     public static class InvalidServiceUpdateHandler implements OperationStepHandler {
         @Override
         public void execute(OperationContext context,final ModelNode operation) {
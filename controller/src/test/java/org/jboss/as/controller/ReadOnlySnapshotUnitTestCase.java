@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.TestModelControllerService.getOD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that read-only operations execute against a snapshot of the published model and
+ * are not blocked by concurrent writes.
+ */
+public class ReadOnlySnapshotUnitTestCase {
+
+    private static final SimpleAttributeDefinition ATTR = new SimpleAttributeDefinitionBuilder("attr", ModelType.INT).build();
+
+    private static volatile CountDownLatch writeStarted;
+    private static volatile CountDownLatch releaseWrite;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private ServiceContainer container;
+    private ModelControllerClient client;
+
+    @Before
+    public void setupController() throws InterruptedException {
+        writeStarted = new CountDownLatch(1);
+        releaseWrite = new CountDownLatch(1);
+
+        container = ServiceContainer.Factory.create("test");
+        ServiceTarget target = container.subTarget();
+        ModelControllerService svc = new ModelControllerService();
+        target.addService(ServiceName.of("ModelController")).setInstance(svc).install();
+        svc.awaitStartup(30, TimeUnit.SECONDS);
+        ModelController controller = svc.getValue();
+        controller.execute(Util.getEmptyOperation("setup", new ModelNode()), null, null, null);
+        client = controller.createClient(executor);
+    }
+
+    @After
+    public void shutdownServiceContainer() throws IOException, InterruptedException {
+        releaseWrite.countDown();
+        if (client != null) {
+            client.close();
+        }
+        if (container != null) {
+            container.shutdown();
+            container.awaitTermination(5, TimeUnit.SECONDS);
+            container = null;
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReadDuringBlockedWrite() throws Exception {
+        Future<ModelNode> write = client.executeAsync(Util.getEmptyOperation("blocking-write", new ModelNode()), null);
+        assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+
+        // The write holds the controller lock and has modified its copy of the model, but
+        // reads must neither block nor see the unpublished change
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        int reads = 0;
+        while (System.nanoTime() < end) {
+            Future<ModelNode> read = executor.submit(() -> client.execute(getReadAttributeOperation()));
+            ModelNode response = read.get(10, TimeUnit.SECONDS);
+            assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+            assertEquals(1, response.get(RESULT).asInt());
+            reads++;
+        }
+        assertTrue(reads > 0);
+
+        releaseWrite.countDown();
+        assertEquals(SUCCESS, write.get(10, TimeUnit.SECONDS).get(OUTCOME).asString());
+
+        ModelNode response = client.execute(getReadAttributeOperation());
+        assertEquals(SUCCESS, response.get(OUTCOME).asString());
+        assertEquals(2, response.get(RESULT).asInt());
+    }
+
+    private static ModelNode getReadAttributeOperation() {
+        ModelNode op = Util.getEmptyOperation(READ_ATTRIBUTE_OPERATION, new ModelNode());
+        op.get(NAME).set(ATTR.getName());
+        return op;
+    }
+
+    public static class ModelControllerService extends TestModelControllerService {
+
+        @Override
+        protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+            GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+            rootRegistration.registerReadWriteAttribute(ATTR, null, new ModelOnlyWriteAttributeHandler(ATTR));
+            rootRegistration.registerOperationHandler(getOD("setup"), (context, operation) ->
+                    context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel().get(ATTR.getName()).set(1));
+            rootRegistration.registerOperationHandler(getOD("blocking-write"), (context, operation) -> {
+                context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel().get(ATTR.getName()).set(2);
+                writeStarted.countDown();
+                try {
+                    releaseWrite.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+    }
+}
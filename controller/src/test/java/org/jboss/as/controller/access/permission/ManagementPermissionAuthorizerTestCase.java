@@ -23,12 +23,14 @@
 package org.jboss.as.controller.access.permission;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.security.Permission;
 import java.security.PermissionCollection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.PathAddress;
@@ -42,6 +44,8 @@ import org.jboss.as.controller.access.JmxAction;
 import org.jboss.as.controller.access.JmxTarget;
 import org.jboss.as.controller.access.TargetAttribute;
 import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.AbstractConstraint;
+import org.jboss.as.controller.access.constraint.Constraint;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -117,8 +121,113 @@ public class ManagementPermissionAuthorizerTestCase {
         assertEquals(AuthorizationResult.Decision.DENY, result.getDecision());
     }
 
+    @Test
+    public void testCachedDecisions() {
+        AtomicInteger checks = new AtomicInteger();
+        Constraint permitted = new TestConstraint(checks, false);
+        Constraint denied = new TestConstraint(checks, true);
+        CachingPermissionFactory permissionFactory = new CachingPermissionFactory(permitted);
+        ManagementPermissionAuthorizer cachingAuthorizer = new ManagementPermissionAuthorizer(permissionFactory);
+        Action action = new Action(null, null, EnumSet.of(Action.ActionEffect.ADDRESS, Action.ActionEffect.READ_CONFIG));
+        TargetResource targetResource = TargetResource.forStandalone(PathAddress.EMPTY_ADDRESS, ROOT_RR, null);
+
+        AuthorizationResult result = cachingAuthorizer.authorize(caller, environment, action, targetResource);
+        assertEquals(AuthorizationResult.Decision.PERMIT, result.getDecision());
+        assertEquals(2, checks.get());
+        assertSame(result, cachingAuthorizer.authorize(caller, environment, action, targetResource));
+        assertEquals(2, checks.get());
+
+        // Different required constraints are a different decision
+        permissionFactory.required = denied;
+        result = cachingAuthorizer.authorize(caller, environment, action, targetResource);
+        assertEquals(AuthorizationResult.Decision.DENY, result.getDecision());
+        int afterDeny = checks.get();
+        assertEquals(AuthorizationResult.Decision.DENY, cachingAuthorizer.authorize(caller, environment, action, targetResource).getDecision());
+        assertEquals(afterDeny, checks.get());
+
+        // Nothing is cached for permissions that are not cacheable
+        permissionFactory.required = permitted;
+        permissionFactory.cacheable = false;
+        cachingAuthorizer.authorize(caller, environment, action, targetResource);
+        assertEquals(afterDeny + 2, checks.get());
+    }
+
     // ---
 
+    private static final class CachingPermissionFactory implements PermissionFactory {
+        private final PermissionCollection userPermissions = new ManagementPermissionCollection("test", SimpleManagementPermission.class);
+        private volatile Constraint required;
+        private volatile boolean cacheable = true;
+
+        private CachingPermissionFactory(Constraint required) {
+            this.required = required;
+            for (Action.ActionEffect actionEffect : Action.ActionEffect.values()) {
+                userPermissions.add(new SimpleManagementPermission(actionEffect, new TestConstraint(null, false)));
+            }
+        }
+
+        private PermissionCollection getRequiredPermissions(Action action) {
+            ManagementPermissionCollection mpc = new ManagementPermissionCollection(SimpleManagementPermission.class);
+            for (Action.ActionEffect actionEffect : action.getActionEffects()) {
+                mpc.add(new SimpleManagementPermission(actionEffect, required));
+            }
+            return mpc;
+        }
+
+        @Override
+        public PermissionCollection getUserPermissions(Caller caller, Environment callEnvironment, Action action, TargetAttribute target) {
+            return userPermissions;
+        }
+
+        @Override
+        public PermissionCollection getUserPermissions(Caller caller, Environment callEnvironment, Action action, TargetResource target) {
+            return userPermissions;
+        }
+
+        @Override
+        public PermissionCollection getRequiredPermissions(Action action, TargetAttribute target) {
+            return getRequiredPermissions(action);
+        }
+
+        @Override
+        public PermissionCollection getRequiredPermissions(Action action, TargetResource target) {
+            return getRequiredPermissions(action);
+        }
+
+        @Override
+        public PermissionCollection getUserPermissions(Caller caller, Environment callEnvironment, JmxAction action, JmxTarget target) {
+            return null;
+        }
+
+        @Override
+        public PermissionCollection getRequiredPermissions(JmxAction action, JmxTarget target) {
+            return null;
+        }
+
+        @Override
+        public boolean isDecisionCacheable(PermissionCollection userPermissions) {
+            return cacheable && userPermissions == this.userPermissions;
+        }
+    }
+
+    /** Counts the checks made against it when it is the required constraint */
+    private static final class TestConstraint extends AbstractConstraint {
+        private final AtomicInteger checks;
+        private final boolean violated;
+
+        private TestConstraint(AtomicInteger checks, boolean violated) {
+            this.checks = checks;
+            this.violated = violated;
+        }
+
+        @Override
+        public boolean violates(Constraint other, Action.ActionEffect actionEffect) {
+            TestConstraint required = (TestConstraint) other;
+            required.checks.incrementAndGet();
+            return required.violated;
+        }
+    }
+
     private static final class TestPermissionFactory implements PermissionFactory {
         private PermissionCollection getUserPermissions() {
             ManagementPermissionCollection mpc = new ManagementPermissionCollection("test", TestManagementPermission.class);
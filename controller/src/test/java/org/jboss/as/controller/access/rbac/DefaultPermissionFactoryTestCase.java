@@ -23,6 +23,10 @@
 package org.jboss.as.controller.access.rbac;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.security.Permission;
@@ -39,19 +43,25 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.access.AuthorizerConfiguration;
 import org.jboss.as.controller.access.Caller;
 import org.jboss.as.controller.access.CombinationPolicy;
 import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.HostEffect;
 import org.jboss.as.controller.access.JmxAction;
 import org.jboss.as.controller.access.JmxTarget;
+import org.jboss.as.controller.access.ServerGroupEffect;
 import org.jboss.as.controller.access.TargetAttribute;
 import org.jboss.as.controller.access.TargetResource;
 import org.jboss.as.controller.access.constraint.Constraint;
 import org.jboss.as.controller.access.constraint.ConstraintFactory;
+import org.jboss.as.controller.access.constraint.HostEffectConstraint;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.WritableAuthorizerConfiguration;
+import org.jboss.as.controller.access.permission.ManagementPermissionAuthorizer;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.junit.Before;
@@ -247,6 +257,48 @@ public class DefaultPermissionFactoryTestCase {
         } catch (Exception e) { /* expected */ }
     }
 
+    @Test
+    public void testDecisionCacheable() {
+        Action action = new Action(null, null, EnumSet.of(Action.ActionEffect.ADDRESS));
+        TargetResource targetResource = TargetResource.forStandalone(PathAddress.EMPTY_ADDRESS, ROOT_RR, null);
+        DefaultPermissionFactory permissionFactory = new DefaultPermissionFactory(
+                new TestRoleMapper(StandardRole.MONITOR, StandardRole.OPERATOR), PERMISSIVE);
+
+        PermissionCollection userPermissions = permissionFactory.getUserPermissions(caller, environment, action, targetResource);
+        assertTrue(permissionFactory.isDecisionCacheable(userPermissions));
+
+        // A configuration change replaces the permissions
+        permissionFactory.scopedRoleAdded(new AuthorizerConfiguration.ScopedRole("Host-Monitor", StandardRole.MONITOR.getFormalName(),
+                new HostEffectConstraint(Collections.singletonList("host"))));
+        assertFalse(permissionFactory.isDecisionCacheable(userPermissions));
+        userPermissions = permissionFactory.getUserPermissions(caller, environment, action, targetResource);
+        assertTrue(permissionFactory.isDecisionCacheable(userPermissions));
+    }
+
+    @Test
+    public void testDomainDecisionCached() {
+        ControlledProcessState processState = new ControlledProcessState(false);
+        processState.setRunning();
+        Environment domainEnvironment = new Environment(processState, ProcessType.HOST_CONTROLLER);
+        ManagementPermissionAuthorizer authorizer = new ManagementPermissionAuthorizer(
+                new DefaultPermissionFactory(new TestRoleMapper(StandardRole.MONITOR), PERMISSIVE));
+        Action action = new Action(Util.createAddOperation(), null, EnumSet.of(Action.ActionEffect.ADDRESS, Action.ActionEffect.WRITE_CONFIG));
+
+        // Each check creates new host and server group constraints for the scoped resource
+        AuthorizationResult result = authorizer.authorize(caller, domainEnvironment, action, domainTarget("host", "group"));
+        assertEquals(AuthorizationResult.Decision.DENY, result.getDecision());
+        assertSame(result, authorizer.authorize(caller, domainEnvironment, action, domainTarget("host", "group")));
+
+        // Different hosts or server groups are a different decision
+        assertNotSame(result, authorizer.authorize(caller, domainEnvironment, action, domainTarget("other", "group")));
+        assertNotSame(result, authorizer.authorize(caller, domainEnvironment, action, domainTarget("host", "other")));
+    }
+
+    private static TargetResource domainTarget(String host, String serverGroup) {
+        TestEffect effect = new TestEffect(host, serverGroup);
+        return TargetResource.forDomain(PathAddress.EMPTY_ADDRESS, ROOT_RR, null, effect, effect);
+    }
+
     // ---
 
     private static Set<Permission> toSet(PermissionCollection permissionCollection) {
@@ -363,4 +415,59 @@ public class DefaultPermissionFactoryTestCase {
             return false;
         }
     }
+
+    private static final class TestEffect implements HostEffect, ServerGroupEffect {
+        private final Set<String> hosts;
+        private final Set<String> serverGroups;
+
+        private TestEffect(String host, String serverGroup) {
+            this.hosts = Collections.singleton(host);
+            this.serverGroups = Collections.singleton(serverGroup);
+        }
+
+        @Override
+        public PathAddress getResourceAddress() {
+            return PathAddress.EMPTY_ADDRESS;
+        }
+
+        @Override
+        public boolean isHostEffectGlobal() {
+            return false;
+        }
+
+        @Override
+        public boolean isServerEffect() {
+            return true;
+        }
+
+        @Override
+        public Set<String> getAffectedHosts() {
+            return new HashSet<>(hosts);
+        }
+
+        @Override
+        public boolean isServerGroupEffectGlobal() {
+            return false;
+        }
+
+        @Override
+        public boolean isServerGroupEffectUnassigned() {
+            return false;
+        }
+
+        @Override
+        public Set<String> getAffectedServerGroups() {
+            return new HashSet<>(serverGroups);
+        }
+
+        @Override
+        public boolean isServerGroupAdd() {
+            return false;
+        }
+
+        @Override
+        public boolean isServerGroupRemove() {
+            return false;
+        }
+    }
 }
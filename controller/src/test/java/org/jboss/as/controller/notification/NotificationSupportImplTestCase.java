@@ -26,16 +26,24 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.jboss.as.controller.PathAddress.pathAddress;
 import static org.jboss.as.controller.notification.NotificationFilter.ALL;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -107,4 +115,214 @@ public class NotificationSupportImplTestCase {
         // handled the 2nd notifications2 that were emitted
         assertEquals(notifications2, handler.getNotifications().subList(9, 12));
     }
+
+    @Test
+    public void testSlowHandlerDoesNotDelayOthers() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingHandler slow = new BlockingHandler(release, 2, NotificationHandler.OverflowPolicy.BLOCK);
+            CountDownLatch latch = new CountDownLatch(3);
+            CountdownListBackedNotificationHandler fast = new CountdownListBackedNotificationHandler(latch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slow, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, fast, ALL);
+
+            // The slow handler blocks but delivery to the other handler continues
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "1"));
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "2"));
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "3"));
+            assertTrue(latch.await(5, SECONDS));
+
+            release.countDown();
+            assertTrue(slow.delivered.await(5, SECONDS));
+            assertEquals(3, slow.notifications.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOverflowPolicies() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingHandler dropping = new BlockingHandler(release, 2, NotificationHandler.OverflowPolicy.DROP_OLDEST);
+            BlockingHandler coalescing = new BlockingHandler(release, 2, NotificationHandler.OverflowPolicy.COALESCE);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, dropping, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, coalescing, ALL);
+
+            Notification first = new Notification("foo", pathAddress("resource", "foo"), "first");
+            notificationSupport.emit(first);
+            // Wait until both handlers are blocked delivering the first notification, so the others are queued
+            assertTrue(dropping.started.await(5, SECONDS));
+            assertTrue(coalescing.started.await(5, SECONDS));
+
+            Notification a1 = new Notification("foo", pathAddress("resource", "a"), "a1");
+            Notification b = new Notification("foo", pathAddress("resource", "b"), "b");
+            Notification a2 = new Notification("foo", pathAddress("resource", "a"), "a2");
+            notificationSupport.emit(a1, b, a2);
+
+            ModelNode statistics = awaitStatistic(notificationSupport, dropping, "dropped", 1);
+            assertEquals(2, statistics.get("queued").asInt());
+            assertEquals(0, statistics.get("delivered").asInt());
+
+            release.countDown();
+            assertTrue(dropping.delivered.await(5, SECONDS));
+            assertTrue(coalescing.delivered.await(5, SECONDS));
+            assertEquals(3, dropping.notifications.size());
+            assertEquals(3, coalescing.notifications.size());
+            // The oldest queued notification was dropped
+            assertEquals(first, dropping.notifications.get(0));
+            assertEquals(b, dropping.notifications.get(1));
+            assertEquals(a2, dropping.notifications.get(2));
+            // The notification from the same source was replaced
+            assertFalse(coalescing.notifications.contains(a1));
+            assertEquals(a2, coalescing.notifications.get(2));
+
+            // The handler counts down before the delivery is recorded
+            statistics = awaitStatistic(notificationSupport, dropping, "delivered", 3);
+            assertTrue(statistics.get("max-lag").asLong() >= statistics.get("mean-lag").asLong());
+
+            notificationSupport.getNotificationRegistry().unregisterNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, dropping, ALL);
+            assertFalse(notificationSupport.getHandlerStatistics().has(NotificationSupports.NonBlockingNotificationSupport.getStatisticsKey(dropping)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDefaultOverflowPolicyIsLossless() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            CountDownLatch release = new CountDownLatch(1);
+            // Handlers with the same toString() have separate statistics
+            BlockingHandler slow = new BlockingHandler(release, 1, null);
+            BlockingHandler other = new BlockingHandler(release, 1, null);
+            assertEquals(NotificationHandler.OverflowPolicy.BLOCK, slow.getOverflowPolicy());
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slow, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, other, ALL);
+
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "1"));
+            assertTrue(slow.started.await(5, SECONDS));
+            assertTrue(other.started.await(5, SECONDS));
+            // More notifications than the full queues of the blocked handlers can hold
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "2"));
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "3"));
+            assertEquals(2, notificationSupport.getHandlerStatistics().keys().size());
+
+            release.countDown();
+            assertTrue(slow.delivered.await(5, SECONDS));
+            assertTrue(other.delivered.await(5, SECONDS));
+            assertEquals(3, slow.notifications.size());
+            assertEquals(3, other.notifications.size());
+            assertEquals(0, awaitStatistic(notificationSupport, slow, "delivered", 3).get("dropped").asInt());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ExecutorService executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, SECONDS, new SynchronousQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (reject.get()) {
+                    throw new RejectedExecutionException();
+                }
+                super.execute(command);
+            }
+        };
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            CountDownLatch latch = new CountDownLatch(2);
+            CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(latch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            Notification first = new Notification("foo", pathAddress("resource", "foo"), "1");
+            try {
+                notificationSupport.emit(first);
+                fail();
+            } catch (RejectedExecutionException expected) {
+                // expected
+            }
+
+            // Later emits still start delivery, including of the notification that could not be delivered
+            reject.set(false);
+            Notification second = new Notification("foo", pathAddress("resource", "foo"), "2");
+            notificationSupport.emit(second);
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(first, handler.getNotifications().get(0));
+            assertEquals(second, handler.getNotifications().get(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNoHandlerStatisticsWithoutExecutor() {
+        assertFalse(NotificationSupport.Factory.create(null).getHandlerStatistics().isDefined());
+    }
+
+    private static ModelNode awaitStatistic(NotificationSupport notificationSupport, NotificationHandler handler, String name, int value) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        ModelNode statistics;
+        do {
+            statistics = notificationSupport.getHandlerStatistics().get(NotificationSupports.NonBlockingNotificationSupport.getStatisticsKey(handler));
+            if (statistics.get(name).asInt() == value) {
+                return statistics;
+            }
+            Thread.sleep(10);
+        } while (System.currentTimeMillis() < end);
+        throw new AssertionError(statistics.toString());
+    }
+
+    /**
+     * Handler that blocks delivery of notifications until released.
+     */
+    private static class BlockingHandler implements NotificationHandler {
+
+        private final CountDownLatch release;
+        private final int capacity;
+        private final OverflowPolicy overflowPolicy;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch delivered = new CountDownLatch(3);
+        private final List<Notification> notifications = new CopyOnWriteArrayList<>();
+
+        private BlockingHandler(CountDownLatch release, int capacity, OverflowPolicy overflowPolicy) {
+            this.release = release;
+            this.capacity = capacity;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        @Override
+        public void handleNotification(Notification notification) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            notifications.add(notification);
+            delivered.countDown();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy == null ? NotificationHandler.super.getOverflowPolicy() : overflowPolicy;
+        }
+
+        @Override
+        public String toString() {
+            return BlockingHandler.class.getSimpleName();
+        }
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.LocalModuleLoader;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootOperationCache}.
+ */
+public class BootOperationCacheUnitTestCase {
+
+    private static final QName ROOT = new QName("urn:test", "root");
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Map<String, String> moduleStamps = new HashMap<>();
+    private File dir;
+    private File configFile;
+    private File cacheFile;
+
+    @Before
+    public void setup() throws Exception {
+        dir = new File("target", "boot-op-cache-test");
+        delete(dir);
+        assertTrue(dir.mkdirs());
+        configFile = new File(dir, "standard.xml");
+        cacheFile = new File(new File(dir, "data"), "standard.xml.boot-ops");
+        writeConfig("a", "b");
+        moduleStamps.put("a", "1.0");
+        moduleStamps.put("b", "1.0");
+    }
+
+    @After
+    public void cleanup() {
+        delete(dir);
+    }
+
+    @Test
+    public void testCachedOperationsAreUsed() throws Exception {
+        List<ModelNode> parsed = load();
+        assertEquals(1, parses.get());
+        assertEquals(2, parsed.size());
+        assertTrue(cacheFile.exists());
+
+        assertEquals(parsed, load());
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    public void testConfigurationChangeInvalidates() throws Exception {
+        load();
+        writeConfig("a", "c");
+        moduleStamps.put("c", "1.0");
+        List<ModelNode> ops = load();
+        assertEquals(2, parses.get());
+        assertEquals("c", ops.get(1).get(OP_ADDR).get(0).get(EXTENSION).asString());
+        load();
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testModuleChangeInvalidates() throws Exception {
+        load();
+        moduleStamps.put("b", "2.0");
+        load();
+        assertEquals(2, parses.get());
+        // Modules not used by the configuration don't matter
+        moduleStamps.put("c", "2.0");
+        load();
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testUnknownModuleDisablesCache() throws Exception {
+        load();
+        moduleStamps.put("b", null);
+        load();
+        load();
+        assertEquals(3, parses.get());
+        moduleStamps.put("b", "1.0");
+        load();
+        assertEquals(3, parses.get());
+    }
+
+    @Test
+    public void testModuleStampCoversDependencies() throws Exception {
+        File modules = new File(dir, "modules");
+        writeModule(modules, "test.a", "a", "<module name=\"test.b\"/>");
+        File dependency = writeModule(modules, "test.b", "b", "");
+        String stamp = getModuleStamp(modules, "test.a");
+        assertEquals(stamp, getModuleStamp(modules, "test.a"));
+
+        // Same size and modification time, different content
+        long modified = dependency.lastModified();
+        writeJar(dependency, "c");
+        assertTrue(dependency.setLastModified(modified));
+        assertNotEquals(stamp, getModuleStamp(modules, "test.a"));
+
+        assertNull(getModuleStamp(modules, "test.missing"));
+    }
+
+    @Test
+    public void testCorruptCacheIsIgnored() throws Exception {
+        List<ModelNode> parsed = load();
+        byte[] bytes = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals(parsed, load());
+        assertEquals(2, parses.get());
+    }
+
+    private List<ModelNode> load() throws ConfigurationPersistenceException {
+        XmlConfigurationPersister persister = new XmlConfigurationPersister(configFile, ROOT, new TestParser(), null);
+        persister.setBootOperationCache(new BootOperationCache(cacheFile, null) {
+            @Override
+            String getModuleStamp(String moduleName) {
+                return moduleStamps.containsKey(moduleName) ? moduleStamps.get(moduleName) : "";
+            }
+        });
+        return persister.load();
+    }
+
+    private static String getModuleStamp(File modules, String name) throws Exception {
+        try (LocalModuleLoader loader = new LocalModuleLoader(new File[] {modules})) {
+            return new BootOperationCache(new File(modules, "cache"), loader).getModuleStamp(name);
+        }
+    }
+
+    private static File writeModule(File modules, String name, String content, String dependencies) throws Exception {
+        File dir = new File(modules, name.replace('.', File.separatorChar) + File.separator + "main");
+        assertTrue(dir.mkdirs());
+        File jar = new File(dir, name + ".jar");
+        writeJar(jar, content);
+        String xml = "<module xmlns=\"urn:jboss:module:1.5\" name=\"" + name + "\">"
+                + "<resources><resource-root path=\"" + jar.getName() + "\"/></resources>"
+                + "<dependencies>" + dependencies + "</dependencies></module>";
+        Files.write(new File(dir, "module.xml").toPath(), xml.getBytes(StandardCharsets.UTF_8));
+        return jar;
+    }
+
+    private static void writeJar(File jar, String content) throws Exception {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            JarEntry entry = new JarEntry("data/content.txt");
+            entry.setTime(0);
+            out.putNextEntry(entry);
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    private void writeConfig(String... extensions) throws Exception {
+        StringBuilder sb = new StringBuilder("<root xmlns=\"urn:test\">");
+        for (String extension : extensions) {
+            sb.append("<extension module=\"").append(extension).append("\"/>");
+        }
+        sb.append("</root>");
+        Files.write(configFile.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private class TestParser implements XMLElementReader<List<ModelNode>> {
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> ops) throws XMLStreamException {
+            parses.incrementAndGet();
+            while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+                ModelNode op = new ModelNode();
+                op.get(OP).set(ADD);
+                op.get(OP_ADDR).add(EXTENSION, reader.getAttributeValue(null, "module"));
+                ops.add(op);
+                reader.nextTag();
+            }
+        }
+    }
+}
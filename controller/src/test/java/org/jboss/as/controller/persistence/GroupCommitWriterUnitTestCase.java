@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link GroupCommitWriter}.
+ */
+public class GroupCommitWriterUnitTestCase {
+
+    private File configDir;
+    private File standardFile;
+    private ConfigurationFile configurationFile;
+
+    @Before
+    public void setup() throws Exception {
+        configDir = new File("target", "group-commit-test-configs");
+        delete(configDir);
+        assertTrue(configDir.mkdirs());
+        standardFile = new File(configDir, "standard.xml");
+        Files.write(standardFile.toPath(), "std".getBytes(StandardCharsets.UTF_8));
+        configurationFile = new ConfigurationFile(configDir, "standard.xml", null, true);
+        assertEquals(standardFile.getCanonicalPath(), configurationFile.getBootFile().getCanonicalPath());
+        configurationFile.successfulBoot();
+    }
+
+    @After
+    public void cleanup() {
+        delete(configDir);
+    }
+
+    @Test
+    public void testCommitsAreCoalesced() throws Exception {
+        GroupCommitWriter writer = new GroupCommitWriter(TimeUnit.HOURS.toMillis(1));
+        TestGroupCommitPersister persister = new TestGroupCommitPersister(writer, false);
+        store(persister, "One");
+        store(persister, "Two");
+        store(persister, "Three");
+        assertEquals("std", read(standardFile));
+
+        writer.flush();
+        assertEquals("Three", read(standardFile));
+        // Only the single write backed up the original file
+        File currentHistory = new File(new File(configDir, "standard_xml_history"), "current");
+        assertEquals(1, currentHistory.list().length);
+
+        // Nothing further is pending
+        writer.flush();
+        assertEquals(1, currentHistory.list().length);
+    }
+
+    @Test
+    public void testSynchronousCommit() throws Exception {
+        GroupCommitWriter writer = new GroupCommitWriter(TimeUnit.HOURS.toMillis(1));
+        store(new TestGroupCommitPersister(writer, false), "One");
+        assertEquals("std", read(standardFile));
+        store(new TestGroupCommitPersister(writer, true), "Two");
+        assertEquals("Two", read(standardFile));
+    }
+
+    @Test
+    public void testDelayedWrite() throws Exception {
+        GroupCommitWriter writer = new GroupCommitWriter(10);
+        store(new TestGroupCommitPersister(writer, false), "One");
+        long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        boolean written = false;
+        while (!written && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+            try {
+                written = "One".equals(read(standardFile));
+            } catch (NoSuchFileException ignored) {
+                // The main file is briefly absent while it is replaced
+            }
+        }
+        // Wait for the write to complete before the files are deleted
+        writer.flush();
+        assertTrue(written);
+    }
+
+    private static void store(TestConfigurationPersister persister, String s) throws Exception {
+        persister.store(new ModelNode(s), null).commit();
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private class TestGroupCommitPersister extends TestConfigurationPersister {
+
+        private final GroupCommitWriter writer;
+        private final boolean synchronous;
+
+        TestGroupCommitPersister(GroupCommitWriter writer, boolean synchronous) {
+            this.writer = writer;
+            this.synchronous = synchronous;
+        }
+
+        @Override
+        PersistenceResource create(ModelNode model) throws ConfigurationPersistenceException {
+            return new ConfigurationFilePersistenceResource(model, configurationFile, this, writer, synchronous);
+        }
+    }
+}
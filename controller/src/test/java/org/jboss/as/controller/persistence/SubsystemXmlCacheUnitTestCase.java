@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the caching of subsystem writer output by {@link AbstractConfigurationPersister}.
+ */
+public class SubsystemXmlCacheUnitTestCase {
+
+    private static final String[] SUBSYSTEMS = {"a", "b", "c"};
+
+    private final Map<String, AtomicInteger> writes = new HashMap<>();
+    private ModelNode model;
+
+    @Before
+    public void setup() {
+        model = new ModelNode();
+        for (String name : SUBSYSTEMS) {
+            model.get("subsystem", name, "child", "one", "attr").set(name + "-value");
+            model.get("subsystem", name, "child", "two", "attr").set("text with <markup> & \"quotes\"");
+            writes.put(name, new AtomicInteger());
+        }
+    }
+
+    @Test
+    public void testOnlyChangedSubsystemsAreWritten() throws Exception {
+        XmlConfigurationPersister persister = createPersister();
+
+        String first = marshal(persister, model);
+        assertWrites(1, 1, 1);
+
+        // Unchanged; output is replayed
+        assertEquals(first, marshal(persister, model));
+        assertWrites(1, 1, 1);
+
+        model.get("subsystem", "b", "child", "three", "attr").set("new");
+        String changed = marshal(persister, model);
+        assertWrites(1, 2, 1);
+        assertEquals(marshal(createPersister(), model), changed);
+    }
+
+    @Test
+    public void testUnregisteredWriterIsNotCached() throws Exception {
+        XmlConfigurationPersister persister = createPersister();
+        marshal(persister, model);
+        persister.unregisterSubsystemWriter("a");
+        persister.registerSubsystemWriter("a", () -> new TestSubsystemWriter("a"));
+        marshal(persister, model);
+        assertWrites(2, 1, 1);
+    }
+
+    private void assertWrites(int... expected) {
+        for (int i = 0; i < SUBSYSTEMS.length; i++) {
+            assertEquals(SUBSYSTEMS[i], expected[i], writes.get(SUBSYSTEMS[i]).get());
+        }
+    }
+
+    private XmlConfigurationPersister createPersister() {
+        XmlConfigurationPersister persister = new XmlConfigurationPersister(new File("unused.xml"),
+                new QName("urn:test:root", "server"), null, new RootWriter());
+        for (String name : SUBSYSTEMS) {
+            persister.registerSubsystemWriter(name, () -> new TestSubsystemWriter(name));
+        }
+        return persister;
+    }
+
+    private static String marshal(XmlConfigurationPersister persister, ModelNode model) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            writer.writeStartDocument();
+            writer.writeStartElement("server");
+            writer.writeDefaultNamespace("urn:test:root");
+            for (Property subsystem : context.getModelNode().get("subsystem").asPropertyList()) {
+                String defaultNamespace = writer.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+                try {
+                    context.getSubsystemWriter(subsystem.getName()).writeContent(writer,
+                            new SubsystemMarshallingContext(subsystem.getValue(), writer));
+                } finally {
+                    writer.setDefaultNamespace(defaultNamespace);
+                }
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+    }
+
+    private class TestSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String name;
+
+        private TestSubsystemWriter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            writes.get(name).incrementAndGet();
+            context.startSubsystemElement("urn:test:" + name, false);
+            for (Property child : context.getModelNode().get("child").asPropertyList()) {
+                writer.writeStartElement("child");
+                writer.writeAttribute("name", child.getName());
+                writer.writeCharacters(child.getValue().get("attr").asString());
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CachingDescriptionProvider}.
+ */
+public class CachingDescriptionProviderUnitTestCase {
+
+    @Test
+    public void testDescriptionCachedPerLocale() {
+        AtomicInteger calls = new AtomicInteger();
+        DescriptionProvider provider = CachingDescriptionProvider.wrap(locale -> {
+            calls.incrementAndGet();
+            ModelNode description = new ModelNode();
+            description.get("locale").set(locale.toString());
+            return description;
+        }, true);
+        assertSame(provider, CachingDescriptionProvider.wrap(provider, true));
+
+        ModelNode first = provider.getModelDescription(Locale.ENGLISH);
+        // Callers may modify what they are given
+        first.get("locale").set("changed");
+        ModelNode second = provider.getModelDescription(Locale.ENGLISH);
+        assertNotSame(first, second);
+        assertEquals("en", second.get("locale").asString());
+        assertEquals(1, calls.get());
+
+        assertEquals("fr", provider.getModelDescription(Locale.FRENCH).get("locale").asString());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testRegistrationChangeInvalidates() {
+        ResourceDefinition definition = new SimpleResourceDefinition(PathElement.pathElement("test"), NonResolvingResourceDescriptionResolver.INSTANCE);
+        ManagementResourceRegistration registration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER).createRegistration(definition);
+        DescriptionProvider provider = CachingDescriptionProvider.wrap(registration.getModelDescription(PathAddress.EMPTY_ADDRESS), true);
+
+        long count = ImmutableManagementResourceRegistration.getModificationCount();
+        assertFalse(provider.getModelDescription(Locale.ENGLISH).get("attributes").has("attr"));
+
+        registration.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING).build(), null);
+        assertFalse(count == ImmutableManagementResourceRegistration.getModificationCount());
+        assertEquals(ModelType.STRING, provider.getModelDescription(Locale.ENGLISH).get("attributes", "attr", "type").asType());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CopyOnWriteScope}.
+ */
+public class CopyOnWriteScopeUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    private Resource original;
+
+    @Before
+    public void setup() {
+        original = Resource.Factory.create();
+        original.getModel().get("root-attr").set("root");
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource child = Resource.Factory.create();
+        child.getModel().get("attr").set("child");
+        a.registerChild(CHILD, child);
+        original.registerChild(SUBSYSTEM_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        original.registerChild(SUBSYSTEM_B, b);
+    }
+
+    @Test
+    public void testOnlyAccessedPathIsCopied() {
+        Resource originalA = original.getChild(SUBSYSTEM_A);
+        Resource originalB = original.getChild(SUBSYSTEM_B);
+        Resource originalChild = originalA.getChild(CHILD);
+
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+        assertNotSame(original, copy);
+
+        Resource copiedChild = copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD));
+        assertNotSame(originalChild, copiedChild);
+        copiedChild.getModel().get("attr").set("changed");
+
+        // The path was copied so the original is unaffected
+        assertEquals("child", originalChild.getModel().get("attr").asString());
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertNotSame(originalA, copy.getChild(SUBSYSTEM_A));
+
+        scope.close();
+        // Untouched subtrees are shared
+        assertSame(originalB, copy.getChild(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testStructuralChanges() {
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+
+        copy.removeChild(SUBSYSTEM_B);
+        copy.getChild(SUBSYSTEM_A).registerChild(PathElement.pathElement("child", "two"), Resource.Factory.create());
+        scope.close();
+
+        assertTrue(original.hasChild(SUBSYSTEM_B));
+        assertFalse(copy.hasChild(SUBSYSTEM_B));
+        assertEquals(1, original.getChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertEquals(2, copy.getChild(SUBSYSTEM_A).getChildrenNames("child").size());
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        CopyOnWriteScope first = new CopyOnWriteScope();
+        Resource firstCopy = first.copy(original);
+        firstCopy.getChild(SUBSYSTEM_A).getModel().get("attr").set("first");
+        first.close();
+
+        CopyOnWriteScope second = new CopyOnWriteScope();
+        Resource secondCopy = second.copy(firstCopy);
+        secondCopy.getChild(SUBSYSTEM_A).getModel().get("attr").set("second");
+        second.close();
+
+        assertEquals("a", original.getChild(SUBSYSTEM_A).getModel().get("attr").asString());
+        assertEquals("first", firstCopy.getChild(SUBSYSTEM_A).getModel().get("attr").asString());
+        assertEquals("second", secondCopy.getChild(SUBSYSTEM_A).getModel().get("attr").asString());
+        assertSame(firstCopy.getChild(SUBSYSTEM_B), secondCopy.getChild(SUBSYSTEM_B));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link OperationEntryCache}.
+ */
+public class OperationEntryCacheUnitTestCase {
+
+    private static final OperationDefinition OP = new SimpleOperationDefinitionBuilder("op", NonResolvingResourceDescriptionResolver.INSTANCE).build();
+    private static final OperationStepHandler WILDCARD_HANDLER = (context, operation) -> {};
+    private static final OperationStepHandler SPECIFIC_HANDLER = (context, operation) -> {};
+    private static final PathAddress FIRST = PathAddress.pathAddress("child", "first");
+    private static final PathAddress SPECIAL = PathAddress.pathAddress("child", "special");
+
+    private ManagementResourceRegistration root;
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private Function<PathAddress, OperationEntry> resolver;
+
+    @Before
+    public void setup() {
+        root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+        root.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE))
+                .registerOperationHandler(OP, WILDCARD_HANDLER);
+        root.registerSubModel(new SimpleResourceDefinition(SPECIAL.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE))
+                .registerOperationHandler(OP, SPECIFIC_HANDLER);
+        resolver = address -> {
+            resolutions.incrementAndGet();
+            return root.getOperationEntry(address, OP.getName());
+        };
+    }
+
+    @Test
+    public void testEntriesMemoizedPerAddress() {
+        OperationEntryCache cache = new OperationEntryCache();
+
+        assertSame(WILDCARD_HANDLER, cache.getOperationEntry(FIRST, OP.getName(), resolver).getOperationHandler());
+        assertSame(WILDCARD_HANDLER, cache.getOperationEntry(FIRST, OP.getName(), resolver).getOperationHandler());
+        assertEquals(1, resolutions.get());
+
+        assertSame(SPECIFIC_HANDLER, cache.getOperationEntry(SPECIAL, OP.getName(), resolver).getOperationHandler());
+        assertEquals(2, resolutions.get());
+
+        // Missing entries are memoized as well
+        assertNull(cache.getOperationEntry(PathAddress.EMPTY_ADDRESS, OP.getName(), resolver));
+        assertNull(cache.getOperationEntry(PathAddress.EMPTY_ADDRESS, OP.getName(), resolver));
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    public void testRegistrationChangeInvalidates() {
+        OperationEntryCache cache = new OperationEntryCache();
+        assertSame(SPECIFIC_HANDLER, cache.getOperationEntry(SPECIAL, OP.getName(), resolver).getOperationHandler());
+
+        root.getSubModel(SPECIAL).unregisterOperationHandler(OP.getName());
+        // The wildcard registration now applies
+        assertSame(WILDCARD_HANDLER, cache.getOperationEntry(SPECIAL, OP.getName(), resolver).getOperationHandler());
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    public void testSizeBounded() {
+        OperationEntryCache cache = new OperationEntryCache();
+        for (int i = 0; i < OperationEntryCache.MAX_ADDRESSES; i++) {
+            cache.getOperationEntry(PathAddress.pathAddress("child", String.valueOf(i)), OP.getName(), resolver);
+        }
+        cache.getOperationEntry(FIRST, OP.getName(), resolver);
+        assertEquals(OperationEntryCache.MAX_ADDRESSES + 1, resolutions.get());
+        // Reaching the bound discarded everything, including the first address
+        cache.getOperationEntry(PathAddress.pathAddress("child", "0"), OP.getName(), resolver);
+        assertEquals(OperationEntryCache.MAX_ADDRESSES + 2, resolutions.get());
+    }
+}
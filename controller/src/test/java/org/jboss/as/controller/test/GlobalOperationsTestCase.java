@@ -28,17 +28,22 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CAP
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CAPABILITY_REFERENCE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CAPABILITY_REFERENCE_PATTERN_ELEMENTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CURSOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DYNAMIC;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DYNAMIC_ELEMENTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INHERITED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LIMIT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NEXT_CURSOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OFFSET;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ORDER;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
@@ -52,6 +57,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
@@ -64,6 +71,7 @@ import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -380,6 +388,48 @@ public class GlobalOperationsTestCase extends AbstractGlobalOperationsTestCase {
 //        }
     }
 
+    @Test
+    public void testReadChildrenPages() throws Exception {
+        ModelNode operation = createOperation(READ_CHILDREN_NAMES_OPERATION, "profile", "profileA", "subsystem", "subsystem1");
+        operation.get(CHILD_TYPE).set("type1");
+        operation.get(LIMIT).set(1);
+
+        ModelNode response = executeCheckNoFailure(operation);
+        assertEquals(Arrays.asList("thing1"), modelNodeListToStringList(response.get(RESULT).asList()));
+        assertTrue(response.get(RESPONSE_HEADERS).hasDefined(NEXT_CURSOR));
+
+        operation.get(CURSOR).set(response.get(RESPONSE_HEADERS, NEXT_CURSOR));
+        response = executeCheckNoFailure(operation);
+        assertEquals(Arrays.asList("thing2"), modelNodeListToStringList(response.get(RESULT).asList()));
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NEXT_CURSOR));
+
+        operation.remove(CURSOR);
+        operation.get(ORDER).set("descending");
+        assertEquals(Arrays.asList("thing2"), modelNodeListToStringList(executeForResult(operation).asList()));
+        operation.get(OFFSET).set(1);
+        assertEquals(Arrays.asList("thing1"), modelNodeListToStringList(executeForResult(operation).asList()));
+        operation.get(OFFSET).set(2);
+        assertTrue(executeForResult(operation).asList().isEmpty());
+
+        operation = createOperation(READ_CHILDREN_RESOURCES_OPERATION, "profile", "profileA", "subsystem", "subsystem1");
+        operation.get(CHILD_TYPE).set("type1");
+        operation.get(ORDER).set("descending");
+        ModelNode result = executeForResult(operation);
+        assertEquals(Arrays.asList("thing2", "thing1"), new ArrayList<>(result.keys()));
+
+        operation.get(LIMIT).set(1);
+        response = executeCheckNoFailure(operation);
+        assertEquals(1, response.get(RESULT).keys().size());
+        assertEquals("Name12", response.get(RESULT, "thing2", "name").asString());
+        operation.get(CURSOR).set(response.get(RESPONSE_HEADERS, NEXT_CURSOR));
+        response = executeCheckNoFailure(operation);
+        assertEquals("Name11", response.get(RESULT, "thing1", "name").asString());
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NEXT_CURSOR));
+
+        operation.get(CURSOR).set("not a cursor");
+        executeCheckForFailure(operation);
+    }
+
     @Test
     public void testReadChildrenTypes() throws Exception {
         ModelNode operation = createOperation(READ_CHILDREN_TYPES_OPERATION, "profile", "profileA");
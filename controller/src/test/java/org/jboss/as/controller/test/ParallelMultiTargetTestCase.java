@@ -0,0 +1,253 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTION_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests of the concurrent execution of the targets of operations addressed to multiple targets.
+ */
+public class ParallelMultiTargetTestCase extends AbstractControllerTestBase {
+
+    private static final String PARALLELISM_PROPERTY = "jboss.as.management.multi-target-parallelism";
+    private static final int TARGETS = 4;
+    private static final long READ_TIME = 300;
+    private static final PathElement DATA_SOURCE = PathElement.pathElement("data-source");
+    private static final PathElement POOL = PathElement.pathElement("pool");
+    private static final SimpleAttributeDefinition STATISTIC = new SimpleAttributeDefinitionBuilder("statistic", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition SERVICE_NAME = new SimpleAttributeDefinitionBuilder("service-name", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition NOTIFYING = new SimpleAttributeDefinitionBuilder("notifying", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+    private static final RuntimeCapability<Void> CAPABILITY = RuntimeCapability.Builder.of("org.test.pool", true, String.class).build();
+    private static final String NOTIFICATION_TYPE = "read";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<String> readingThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeClass
+    public static void enableParallelism() {
+        System.setProperty(PARALLELISM_PROPERTY, String.valueOf(TARGETS));
+    }
+
+    @AfterClass
+    public static void disableParallelism() {
+        System.clearProperty(PARALLELISM_PROPERTY);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected ModelControllerService createModelControllerService(ProcessType processType) {
+        return new ModelControllerService(processType, new RunningModeControl(RunningMode.NORMAL), () -> executor);
+    }
+
+    @Test
+    public void testTargetsReadConcurrently() throws Exception {
+        for (int i = 0; i < TARGETS; i++) {
+            executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds" + i)));
+        }
+
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(DATA_SOURCE));
+        op.get(INCLUDE_RUNTIME).set(true);
+        long start = System.currentTimeMillis();
+        List<ModelNode> results = executeForResult(op).asList();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(String.valueOf(elapsed), elapsed < READ_TIME * TARGETS);
+        assertTrue(readingThreads.toString(), readingThreads.size() > 1);
+        assertEquals(TARGETS, results.size());
+        for (int i = 0; i < TARGETS; i++) {
+            // Results are in the order of the targets
+            ModelNode item = results.get(i);
+            assertEquals(PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds" + i), PathAddress.pathAddress(item.get(ADDRESS)));
+            assertEquals("ds" + i, item.get(RESULT, STATISTIC.getName()).asString());
+            assertTrue(item.toString(), item.get(RESPONSE_HEADERS, EXECUTION_TIME).asLong() >= READ_TIME * 1000);
+        }
+    }
+
+    @Test
+    public void testCapabilitiesRead() throws Exception {
+        for (int i = 0; i < TARGETS; i++) {
+            executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(POOL.getKey(), "p" + i)));
+        }
+
+        ModelNode op = createOperation(READ_ATTRIBUTE_OPERATION, PathAddress.pathAddress(POOL));
+        op.get(NAME).set(SERVICE_NAME.getName());
+        List<ModelNode> results = executeForResult(op).asList();
+
+        assertTrue(readingThreads.toString(), readingThreads.size() > 1);
+        assertEquals(TARGETS, results.size());
+        for (int i = 0; i < TARGETS; i++) {
+            assertEquals(CAPABILITY.fromBaseCapability("p" + i).getCapabilityServiceName().getCanonicalName(), results.get(i).get(RESULT).asString());
+        }
+    }
+
+    @Test
+    public void testUnsupportedCallExecutedSerially() throws Exception {
+        for (int i = 0; i < TARGETS; i++) {
+            executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(POOL.getKey(), "p" + i)));
+        }
+
+        // Emitting a notification is not possible in a read-only context, so each target executes as a step
+        ModelNode op = createOperation(READ_ATTRIBUTE_OPERATION, PathAddress.pathAddress(POOL));
+        op.get(NAME).set(NOTIFYING.getName());
+        List<ModelNode> results = executeForResult(op).asList();
+
+        assertEquals(TARGETS, results.size());
+        for (int i = 0; i < TARGETS; i++) {
+            assertEquals(PathAddress.pathAddress(POOL.getKey(), "p" + i), PathAddress.pathAddress(results.get(i).get(ADDRESS)));
+            assertEquals("p" + i, results.get(i).get(RESULT).asString());
+            assertFalse(results.get(i).toString(), results.get(i).get(RESPONSE_HEADERS).has(EXECUTION_TIME));
+        }
+    }
+
+    @Test
+    public void testFailedTarget() throws Exception {
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds0")));
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "broken")));
+
+        ModelNode op = createOperation(READ_ATTRIBUTE_OPERATION, PathAddress.pathAddress(DATA_SOURCE));
+        op.get(NAME).set(STATISTIC.getName());
+        // The operation fails as it would have if the targets had been read one after the other
+        executeCheckForFailure(op);
+    }
+
+    @Test
+    public void testNotConcurrentWithinWrite() throws Exception {
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds0")));
+
+        ModelNode composite = createOperation(COMPOSITE);
+        composite.get(STEPS).add(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1")));
+        ModelNode read = createOperation(READ_ATTRIBUTE_OPERATION, PathAddress.pathAddress(DATA_SOURCE));
+        read.get(NAME).set(STATISTIC.getName());
+        composite.get(STEPS).add(read);
+        ModelNode result = executeForResult(composite);
+
+        // The read sees the uncommitted add, and is executed on the calling thread
+        List<ModelNode> items = result.get("step-2", RESULT).asList();
+        assertEquals(2, items.size());
+        assertFalse(items.get(0).get(RESPONSE_HEADERS).has(EXECUTION_TIME));
+        assertEquals(1, readingThreads.size());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+
+        ManagementResourceRegistration dataSource = registration.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(DATA_SOURCE, new NonResolvingResourceDescriptionResolver())
+                        .setAddHandler(new ModelOnlyAddStepHandler())
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)));
+        dataSource.registerReadOnlyAttribute(STATISTIC, (context, operation) -> {
+            readingThreads.add(Thread.currentThread().getName());
+            String name = context.getCurrentAddressValue();
+            if (name.equals("broken")) {
+                throw new OperationFailedException("broken");
+            }
+            try {
+                Thread.sleep(READ_TIME);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            context.getResult().set(name);
+        });
+
+        ManagementResourceRegistration pool = registration.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(POOL, new NonResolvingResourceDescriptionResolver())
+                        .setAddHandler(new ModelOnlyAddStepHandler())
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)
+                        .setCapabilities(CAPABILITY)));
+        pool.registerNotification(NotificationDefinition.Builder.create(NOTIFICATION_TYPE, new NonResolvingResourceDescriptionResolver()).build());
+        pool.registerReadOnlyAttribute(SERVICE_NAME, (context, operation) -> context.addStep((ctx, op) -> {
+            readingThreads.add(Thread.currentThread().getName());
+            ctx.getResult().set(ctx.getCapabilityServiceName(CAPABILITY.getName(), ctx.getCurrentAddressValue(), String.class).getCanonicalName());
+            // Slow enough that the targets overlap
+            try {
+                Thread.sleep(READ_TIME);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, OperationContext.Stage.RUNTIME));
+        pool.registerReadOnlyAttribute(NOTIFYING, (context, operation) -> {
+            context.emit(new Notification(NOTIFICATION_TYPE, context.getCurrentAddress(), "read"));
+            context.getResult().set(context.getCurrentAddressValue());
+        });
+    }
+}
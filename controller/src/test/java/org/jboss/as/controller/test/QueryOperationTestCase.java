@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code query} global operation.
+ */
+public class QueryOperationTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement DATA_SOURCE = PathElement.pathElement("data-source");
+    private static final SimpleAttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    private static final SimpleAttributeDefinition STATUS = new SimpleAttributeDefinitionBuilder("status", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    private final AtomicInteger statusReads = new AtomicInteger();
+
+    @Test
+    public void testFilterOnConfiguration() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            ModelNode add = createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds" + i));
+            if (i % 5 == 0) {
+                add.get(ENABLED.getName()).set(false);
+            }
+            executeCheckNoFailure(add);
+        }
+
+        ModelNode query = createOperation(QUERY, PathAddress.pathAddress(DATA_SOURCE));
+        query.get(WHERE, ENABLED.getName()).set(false);
+        query.get(SELECT).add(STATUS.getName());
+        ModelNode result = executeForResult(query);
+
+        assertEquals(2, result.asInt());
+        assertEquals("ds0", PathAddress.pathAddress(result.get(0).get(OP_ADDR)).getLastElement().getValue());
+        assertEquals("ds5", PathAddress.pathAddress(result.get(1).get(OP_ADDR)).getLastElement().getValue());
+        assertEquals("ok", result.get(0).get(RESULT, STATUS.getName()).asString());
+        assertFalse(result.get(0).get(RESULT).has(ENABLED.getName()));
+        // Runtime attributes are only read for resources that match
+        assertEquals(2, statusReads.get());
+
+        // Defaults are considered
+        query.get(WHERE, ENABLED.getName()).set(true);
+        assertEquals(8, executeForResult(query).asInt());
+
+        // A filter on a runtime attribute is applied to the read-resource response
+        statusReads.set(0);
+        query.remove(WHERE);
+        query.get(WHERE, STATUS.getName()).set("ok");
+        assertEquals(10, executeForResult(query).asInt());
+        assertEquals(10, statusReads.get());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration dataSource = registration.registerSubModel(
+                new SimpleResourceDefinition(DATA_SOURCE, new NonResolvingResourceDescriptionResolver(), new ModelOnlyAddStepHandler(ENABLED), null));
+        dataSource.registerReadWriteAttribute(ENABLED, null, new ModelOnlyWriteAttributeHandler(ENABLED));
+        dataSource.registerReadOnlyAttribute(STATUS, (context, operation) -> {
+            statusReads.incrementAndGet();
+            context.getResult().set("ok");
+        });
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHANGES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EPOCH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHANGES_SINCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESYNC_REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REVISION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TIMEOUT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WATCH_CHANGES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code read-changes-since} and {@code watch-changes} global operations.
+ */
+public class ReadChangesSinceTestCase extends AbstractControllerTestBase {
+
+    private static final String JOURNAL_SIZE_PROPERTY = "jboss.as.management.change-journal-size";
+    private static final String MAX_WATCHES_PROPERTY = "jboss.as.management.max-concurrent-watches";
+    private static final PathElement DATA_SOURCE = PathElement.pathElement("data-source");
+    private static final PathElement DRIVER = PathElement.pathElement("driver");
+    private static final SimpleAttributeDefinition URL = new SimpleAttributeDefinitionBuilder("url", ModelType.STRING, true).build();
+
+    private ManagementResourceRegistration rootRegistration;
+    private String epoch;
+
+    @BeforeClass
+    public static void enableJournal() {
+        System.setProperty(JOURNAL_SIZE_PROPERTY, "5");
+        System.setProperty(MAX_WATCHES_PROPERTY, "1");
+    }
+
+    @AfterClass
+    public static void disableJournal() {
+        System.clearProperty(JOURNAL_SIZE_PROPERTY);
+        System.clearProperty(MAX_WATCHES_PROPERTY);
+    }
+
+    @Test
+    public void testReadChanges() throws Exception {
+        long revision = startTracking();
+
+        ModelNode unchanged = readChangesSince(revision);
+        assertFalse(unchanged.get(RESYNC_REQUIRED).asBoolean());
+        assertEquals(revision, unchanged.get(REVISION).asLong());
+        assertEquals(0, unchanged.get(CHANGES).asInt());
+
+        PathAddress ds1 = PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1");
+        PathAddress ds2 = PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds2");
+        ModelNode add = createOperation(ADD, ds1);
+        add.get(URL.getName()).set("a");
+        executeCheckNoFailure(add);
+        executeCheckNoFailure(createOperation(ADD, ds2));
+        ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, ds1);
+        write.get(NAME).set(URL.getName());
+        write.get(VALUE).set("b");
+        executeCheckNoFailure(write);
+        executeCheckNoFailure(createOperation(REMOVE, ds2));
+
+        ModelNode result = readChangesSince(revision);
+        assertFalse(result.get(RESYNC_REQUIRED).asBoolean());
+        assertEquals(revision + 4, result.get(REVISION).asLong());
+        List<ModelNode> changes = result.get(CHANGES).asList();
+        assertEquals(4, changes.size());
+        assertChange(changes.get(0), RESOURCE_ADDED_NOTIFICATION, ds1, revision + 1);
+        assertChange(changes.get(1), RESOURCE_ADDED_NOTIFICATION, ds2, revision + 2);
+        assertChange(changes.get(2), ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION, ds1, revision + 3);
+        assertEquals(URL.getName(), changes.get(2).get(NAME).asString());
+        assertEquals("a", changes.get(2).get(GlobalNotifications.OLD_VALUE).asString());
+        assertEquals("b", changes.get(2).get(GlobalNotifications.NEW_VALUE).asString());
+        assertChange(changes.get(3), RESOURCE_REMOVED_NOTIFICATION, ds2, revision + 4);
+
+        // Only later changes are returned
+        assertEquals(1, readChangesSince(revision + 3).get(CHANGES).asInt());
+
+        // Older changes are discarded once the journal is full
+        for (int i = 0; i < 2; i++) {
+            write.get(VALUE).set("c" + i);
+            executeCheckNoFailure(write);
+        }
+        assertTrue(readChangesSince(revision).get(RESYNC_REQUIRED).asBoolean());
+        assertEquals(5, readChangesSince(revision + 1).get(CHANGES).asInt());
+
+        // A revision from the future also requires a resync
+        assertTrue(readChangesSince(revision + 100).get(RESYNC_REQUIRED).asBoolean());
+    }
+
+    @Test
+    public void testEpoch() throws Exception {
+        long revision = startTracking();
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1")));
+        assertEquals(1, readChangesSince(revision).get(CHANGES).asInt());
+
+        // The changes are unknown without the epoch the revision was read in
+        String currentEpoch = epoch;
+        epoch = null;
+        assertTrue(readChangesSince(revision).get(RESYNC_REQUIRED).asBoolean());
+        epoch = "unknown";
+        assertTrue(readChangesSince(revision).get(RESYNC_REQUIRED).asBoolean());
+        epoch = currentEpoch;
+
+        // Simulate a reload, which creates a new controller whose revisions restart
+        shutdownServiceContainer();
+        setupController();
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1")));
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds2")));
+        ModelNode result = readChangesSince(revision);
+        assertTrue(result.toString(), result.get(RESYNC_REQUIRED).asBoolean());
+        assertNotEquals(currentEpoch, result.get(EPOCH).asString());
+
+        // Tracking resumes in the new epoch
+        epoch = result.get(EPOCH).asString();
+        result = readChangesSince(result.get(REVISION).asLong());
+        assertFalse(result.get(RESYNC_REQUIRED).asBoolean());
+        assertEquals(0, result.get(CHANGES).asInt());
+    }
+
+    @Test
+    public void testUnregisteredTypeOmitted() throws Exception {
+        long revision = startTracking();
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DRIVER.getKey(), "h2")));
+        executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1")));
+        assertEquals(2, readChangesSince(revision).get(CHANGES).asInt());
+
+        // The caller's access to resources of a type that is no longer registered cannot be checked
+        rootRegistration.unregisterSubModel(DRIVER);
+        List<ModelNode> changes = readChangesSince(revision).get(CHANGES).asList();
+        assertEquals(1, changes.size());
+        assertChange(changes.get(0), RESOURCE_ADDED_NOTIFICATION, PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1"), revision + 2);
+    }
+
+    @Test
+    public void testWatchChanges() throws Exception {
+        PathAddress ds1 = PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1");
+        executeCheckNoFailure(createOperation(ADD, ds1));
+        long revision = startTracking();
+
+        ModelNode watch = createOperation(WATCH_CHANGES_OPERATION);
+        watch.get(REVISION).set(revision);
+        watch.get(EPOCH).set(epoch);
+        watch.get(Notification.SOURCE).set(PathAddress.pathAddress(DATA_SOURCE).toModelNode());
+        watch.get(ATTRIBUTE).set(URL.getName());
+        watch.get(TIMEOUT).set(0);
+
+        // Nothing has changed, so the timeout expires
+        ModelNode result = executeForResult(watch);
+        assertFalse(result.get(RESYNC_REQUIRED).asBoolean());
+        assertEquals(revision, result.get(REVISION).asLong());
+        assertEquals(0, result.get(CHANGES).asInt());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            watch.get(TIMEOUT).set(30);
+            Future<ModelNode> watched = executor.submit(() -> executeForResult(watch));
+
+            // Changes not matching the pattern do not end the wait
+            executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DRIVER.getKey(), "h2")));
+            Thread.sleep(200);
+            assertFalse(watched.isDone());
+
+            ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, ds1);
+            write.get(NAME).set(URL.getName());
+            write.get(VALUE).set("a");
+            executeCheckNoFailure(write);
+
+            result = watched.get(30, TimeUnit.SECONDS);
+            assertEquals(revision + 2, result.get(REVISION).asLong());
+            List<ModelNode> changes = result.get(CHANGES).asList();
+            assertEquals(1, changes.size());
+            assertChange(changes.get(0), ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION, ds1, revision + 2);
+            assertEquals("a", changes.get(0).get(GlobalNotifications.NEW_VALUE).asString());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Matching changes already made are returned immediately
+        watch.get(TIMEOUT).set(30);
+        assertEquals(1, executeForResult(watch).get(CHANGES).asInt());
+    }
+
+    @Test
+    public void testWatchTimeoutLimited() throws Exception {
+        ModelNode watch = createOperation(WATCH_CHANGES_OPERATION);
+        watch.get(REVISION).set(startTracking());
+        watch.get(EPOCH).set(epoch);
+        watch.get(TIMEOUT).set(300);
+        executeCheckForFailure(watch);
+    }
+
+    @Test
+    public void testConcurrentWatchesLimited() throws Exception {
+        PathAddress ds1 = PathAddress.pathAddress(DATA_SOURCE.getKey(), "ds1");
+        executeCheckNoFailure(createOperation(ADD, ds1));
+        long revision = startTracking();
+
+        ModelNode watch = createOperation(WATCH_CHANGES_OPERATION);
+        watch.get(REVISION).set(revision);
+        watch.get(EPOCH).set(epoch);
+        watch.get(Notification.SOURCE).set(ds1.toModelNode());
+        watch.get(TIMEOUT).set(30);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ModelNode> watched = executor.submit(() -> executeForResult(watch));
+            Thread.sleep(200);
+            assertFalse(watched.isDone());
+
+            // Only one watch may wait at once, so another responds immediately with the current revision
+            executeCheckNoFailure(createOperation(ADD, PathAddress.pathAddress(DRIVER.getKey(), "h2")));
+            long start = System.nanoTime();
+            ModelNode result = executeForResult(watch);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+            assertFalse(result.get(RESYNC_REQUIRED).asBoolean());
+            assertEquals(revision + 1, result.get(REVISION).asLong());
+            assertEquals(0, result.get(CHANGES).asInt());
+            assertFalse(watched.isDone());
+
+            ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, ds1);
+            write.get(NAME).set(URL.getName());
+            write.get(VALUE).set("a");
+            executeCheckNoFailure(write);
+            assertEquals(1, watched.get(30, TimeUnit.SECONDS).get(CHANGES).asInt());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The permit of the completed watch is available again
+        executor = Executors.newSingleThreadExecutor();
+        try {
+            watch.get(REVISION).set(revision + 2);
+            Future<ModelNode> watched = executor.submit(() -> executeForResult(watch));
+            Thread.sleep(200);
+            assertFalse(watched.isDone());
+            executeCheckNoFailure(createOperation(REMOVE, ds1));
+            assertEquals(1, watched.get(30, TimeUnit.SECONDS).get(CHANGES).asInt());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Reads the current epoch and revision, from which changes are then read */
+    private long startTracking() throws OperationFailedException {
+        ModelNode result = readChangesSince(0);
+        assertTrue(result.get(RESYNC_REQUIRED).asBoolean());
+        epoch = result.get(EPOCH).asString();
+        return result.get(REVISION).asLong();
+    }
+
+    private ModelNode readChangesSince(long revision) throws OperationFailedException {
+        ModelNode op = createOperation(READ_CHANGES_SINCE_OPERATION);
+        op.get(REVISION).set(revision);
+        if (epoch != null) {
+            op.get(EPOCH).set(epoch);
+        }
+        return executeForResult(op);
+    }
+
+    private static void assertChange(ModelNode change, String type, PathAddress address, long revision) {
+        assertEquals(type, change.get(TYPE).asString());
+        assertEquals(address, PathAddress.pathAddress(change.get(ADDRESS)));
+        assertEquals(revision, change.get(REVISION).asLong());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        rootRegistration = registration;
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration dataSource = registration.registerSubModel(
+                new SimpleResourceDefinition(DATA_SOURCE, new NonResolvingResourceDescriptionResolver(), new ModelOnlyAddStepHandler(URL), ModelOnlyRemoveStepHandler.INSTANCE));
+        dataSource.registerReadWriteAttribute(URL, null, new ModelOnlyWriteAttributeHandler(URL));
+        registration.registerSubModel(new SimpleResourceDefinition(DRIVER, new NonResolvingResourceDescriptionResolver(), new ModelOnlyAddStepHandler(), ModelOnlyRemoveStepHandler.INSTANCE));
+    }
+}
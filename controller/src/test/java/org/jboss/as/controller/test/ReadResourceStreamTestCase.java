@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STREAM_RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests of {@code read-resource} with {@code stream-result} set.
+ */
+public class ReadResourceStreamTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement PARENT = PathElement.pathElement("parent");
+    private static final PathElement CHILD = PathElement.pathElement("child");
+    private static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING, true).build();
+
+    @Test
+    public void testStreamResult() throws Exception {
+        PathAddress parent = PathAddress.pathAddress(PARENT.getKey(), "p");
+        add(parent, "p");
+        add(parent.append(CHILD.getKey(), "c1"), "c1");
+        add(parent.append(CHILD.getKey(), "c2"), "c2");
+
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        ModelNode expected = executeForResult(op);
+
+        op.get(STREAM_RESULT).set(true);
+        try (OperationResponse response = getController().execute(Operation.Factory.create(op), OperationMessageHandler.DISCARD,
+                ModelController.OperationTransactionControl.COMMIT)) {
+            ModelNode responseNode = response.getResponseNode();
+            assertEquals(responseNode.toString(), SUCCESS, responseNode.get(OUTCOME).asString());
+
+            // The result only holds the names of the children
+            ModelNode result = responseNode.get(RESULT);
+            assertTrue(result.get(PARENT.getKey()).has("p"));
+            assertFalse(result.get(PARENT.getKey(), "p").isDefined());
+
+            List<OperationResponse.StreamEntry> streams = response.getInputStreams();
+            assertEquals(1, streams.size());
+            assertEquals("application/json", streams.get(0).getMimeType());
+            ModelNode records;
+            try (InputStream in = streams.get(0).getStream()) {
+                records = ModelNode.fromJSONStream(in);
+            }
+
+            Map<PathAddress, ModelNode> byAddress = new HashMap<>();
+            for (ModelNode record : records.asList()) {
+                byAddress.put(PathAddress.pathAddress(record.get(ADDRESS)), record.get(RESULT));
+            }
+            assertEquals(4, byAddress.size());
+            // Children precede their parent
+            assertEquals(PathAddress.EMPTY_ADDRESS, PathAddress.pathAddress(records.get(3).get(ADDRESS)));
+
+            ModelNode streamedParent = byAddress.get(parent);
+            assertEquals("p", streamedParent.get(VALUE.getName()).asString());
+            assertTrue(streamedParent.get(CHILD.getKey()).has("c1"));
+            assertFalse(streamedParent.get(CHILD.getKey(), "c1").isDefined());
+            assertEquals(expected.get(PARENT.getKey(), "p", CHILD.getKey(), "c2"), byAddress.get(parent.append(CHILD.getKey(), "c2")));
+        }
+    }
+
+    @Test
+    public void testSpoolFileDeletedOnResponse() throws Exception {
+        add(PathAddress.pathAddress(PARENT.getKey(), "p"), "p");
+        Set<Path> existing = getSpoolFiles();
+
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        op.get(STREAM_RESULT).set(true);
+        try (OperationResponse response = getController().execute(Operation.Factory.create(op), OperationMessageHandler.DISCARD,
+                ModelController.OperationTransactionControl.COMMIT)) {
+            // The file is gone before the client reads, or even closes, the stream
+            assertEquals(existing, getSpoolFiles());
+            try (InputStream in = response.getInputStreams().get(0).getStream()) {
+                assertEquals(2, ModelNode.fromJSONStream(in).asInt());
+            }
+        }
+    }
+
+    @Test
+    public void testNoStreamByDefault() throws Exception {
+        add(PathAddress.pathAddress(PARENT.getKey(), "p"), "p");
+
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        try (OperationResponse response = getController().execute(Operation.Factory.create(op), OperationMessageHandler.DISCARD,
+                ModelController.OperationTransactionControl.COMMIT)) {
+            assertEquals(0, response.getInputStreams().size());
+            assertEquals("p", response.getResponseNode().get(RESULT, PARENT.getKey(), "p", VALUE.getName()).asString());
+        }
+    }
+
+    private static Set<Path> getSpoolFiles() throws IOException {
+        Set<Path> files = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), "read-resource*.json")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private void add(PathAddress address, String value) throws Exception {
+        ModelNode op = createOperation(ADD, address);
+        op.get(VALUE.getName()).set(value);
+        executeCheckNoFailure(op);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration parent = registration.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(PARENT, new NonResolvingResourceDescriptionResolver())
+                        .setAddHandler(new ModelOnlyAddStepHandler(VALUE))
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)));
+        parent.registerReadWriteAttribute(VALUE, null, new ModelOnlyWriteAttributeHandler(VALUE));
+        ManagementResourceRegistration child = parent.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(CHILD, new NonResolvingResourceDescriptionResolver())
+                        .setAddHandler(new ModelOnlyAddStepHandler(VALUE))
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)));
+        child.registerReadWriteAttribute(VALUE, null, new ModelOnlyWriteAttributeHandler(VALUE));
+    }
+}
@@ -30,15 +30,15 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -67,6 +67,7 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private final File repoRoot;
     private final File tmpRoot;
     protected final MessageDigest messageDigest;
@@ -86,8 +87,12 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.tmpRoot = tmpRoot;
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
+        this.messageDigest = createMessageDigest();
+    }
+
+    private static MessageDigest createMessageDigest() {
         try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
         }
@@ -120,20 +125,23 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = bis.read(bytes)) > -1) {
-                        dos.write(bytes, 0, read);
+            // Hash the content while writing it to the staging file, using a digest of our own so that
+            // concurrent uploads don't wait for each other
+            final MessageDigest digest = createMessageDigest();
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                final byte[] bytes = new byte[BUFFER_SIZE];
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                int read;
+                while ((read = stream.read(bytes)) > -1) {
+                    digest.update(bytes, 0, read);
+                    buffer.clear();
+                    buffer.limit(read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
                     }
-                    fos.flush();
                 }
-                sha1Bytes = messageDigest.digest();
             }
+            sha1Bytes = digest.digest();
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
@@ -40,15 +40,22 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -125,6 +132,48 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test that content being added doesn't block other content from being added.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final byte[] first = new byte[256 * 1024];
+        Arrays.fill(first, (byte) 1);
+        final byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final InputStream blocking = new ByteArrayInputStream(first) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                if (pos > 0 && firstStarted.getCount() > 0) {
+                    firstStarted.countDown();
+                    try {
+                        releaseFirst.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.read(b, off, len);
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<byte[]> firstHash = executor.submit(() -> repository.addContent(blocking));
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+            assertThat(repository.addContent(new ByteArrayInputStream(second)), is(sha1(second)));
+            releaseFirst.countDown();
+            assertThat(firstHash.get(10, TimeUnit.SECONDS), is(sha1(first)));
+            assertTrue(repository.hasContent(sha1(first)));
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] sha1(byte[] content) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(content);
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
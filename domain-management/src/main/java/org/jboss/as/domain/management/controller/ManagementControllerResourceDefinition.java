@@ -22,20 +22,34 @@
 
 package org.jboss.as.domain.management.controller;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS_STATISTICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BOOT_COMPLETE_NOTIFICATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_STATISTICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_HANDLER_STATISTICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_STATISTICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_BEGUN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_COMPLETE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.ObjectMapAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@code ResourceDefinition} for the management of operation execution.
@@ -52,6 +66,59 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     private static final NotificationDefinition NOTIFICATION_COMPLETE_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_COMPLETE, RESOLVER).build();
     private static final NotificationDefinition NOTIFICATION_BOOT_COMPLETE = NotificationDefinition.Builder.create(BOOT_COMPLETE_NOTIFICATION, RESOLVER).build();
 
+    // The latency statistics of a group of operations, as recorded by the model controller
+    private static final String LATENCY = "latency";
+    private static final AttributeDefinition[] LATENCY_FIELDS = {
+            statisticsField("count", ModelType.LONG, MeasurementUnit.NONE),
+            statisticsField("mean-time", ModelType.LONG, MeasurementUnit.MICROSECONDS),
+            statisticsField("max-time", ModelType.LONG, MeasurementUnit.MICROSECONDS),
+            statisticsField("percentile-50", ModelType.LONG, MeasurementUnit.MICROSECONDS),
+            statisticsField("percentile-90", ModelType.LONG, MeasurementUnit.MICROSECONDS),
+            statisticsField("percentile-99", ModelType.LONG, MeasurementUnit.MICROSECONDS),
+    };
+    private static final ObjectTypeAttributeDefinition STAGE_LATENCIES = ObjectTypeAttributeDefinition.Builder.of("stages",
+                latency("model"), latency("runtime"), latency("verify"), latency("domain"), latency("persistence"), latency("total"))
+            .setStorageRuntime()
+            .build();
+
+    private static final AttributeDefinition OPERATION_STATISTICS_ATTRIBUTE =
+            ObjectMapAttributeDefinition.Builder.of(OPERATION_STATISTICS, STAGE_LATENCIES)
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+    private static final AttributeDefinition ADDRESS_STATISTICS_ATTRIBUTE =
+            ObjectMapAttributeDefinition.Builder.of(ADDRESS_STATISTICS, STAGE_LATENCIES)
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+    private static final AttributeDefinition LOCK_WAIT_STATISTICS_ATTRIBUTE =
+            ObjectTypeAttributeDefinition.Builder.of(LOCK_WAIT_STATISTICS,
+                        latency("write"), latency("read"))
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+    private static final AttributeDefinition NOTIFICATION_HANDLER_STATISTICS_ATTRIBUTE =
+            ObjectMapAttributeDefinition.Builder.of(NOTIFICATION_HANDLER_STATISTICS,
+                        ObjectTypeAttributeDefinition.Builder.of("handler",
+                                    statisticsField("queued", ModelType.INT, MeasurementUnit.NONE),
+                                    statisticsField("delivered", ModelType.LONG, MeasurementUnit.NONE),
+                                    statisticsField("dropped", ModelType.LONG, MeasurementUnit.NONE),
+                                    statisticsField("mean-lag", ModelType.LONG, MeasurementUnit.MILLISECONDS),
+                                    statisticsField("max-lag", ModelType.LONG, MeasurementUnit.MILLISECONDS))
+                                .setStorageRuntime()
+                                .build())
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+
+    /** Reads the statistics from the resource's model, which reflects the operation statistics if enabled and the notification handler queues */
+    private static final OperationStepHandler STATISTICS_READ_HANDLER = (context, operation) -> {
+        final ModelNode value = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel().get(operation.require(NAME).asString());
+        if (value.isDefined()) {
+            context.getResult().set(value);
+        }
+    };
+
     public static final ResourceDefinition INSTANCE = new ManagementControllerResourceDefinition();
 
     private ManagementControllerResourceDefinition() {
@@ -67,6 +134,31 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         resourceRegistration.registerOperationHandler(CancelNonProgressingOperationHandler.DEFINITION, CancelNonProgressingOperationHandler.INSTANCE);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(OPERATION_STATISTICS_ATTRIBUTE, STATISTICS_READ_HANDLER);
+        resourceRegistration.registerMetric(ADDRESS_STATISTICS_ATTRIBUTE, STATISTICS_READ_HANDLER);
+        resourceRegistration.registerMetric(LOCK_WAIT_STATISTICS_ATTRIBUTE, STATISTICS_READ_HANDLER);
+        resourceRegistration.registerMetric(NOTIFICATION_HANDLER_STATISTICS_ATTRIBUTE, STATISTICS_READ_HANDLER);
+    }
+
+    private static ObjectTypeAttributeDefinition latency(String name) {
+        // All latencies share the descriptions of their fields
+        return ObjectTypeAttributeDefinition.Builder.of(name, LATENCY_FIELDS)
+                .setSuffix(LATENCY)
+                .setRequired(false)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static AttributeDefinition statisticsField(String name, ModelType type, MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, type)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
     @Override
     public void registerNotifications(ManagementResourceRegistration resourceRegistration) {
         super.registerNotifications(resourceRegistration);
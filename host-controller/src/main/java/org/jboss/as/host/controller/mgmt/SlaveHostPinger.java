@@ -23,8 +23,8 @@
 package org.jboss.as.host.controller.mgmt;
 
 import java.io.IOException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -112,51 +112,83 @@ public class SlaveHostPinger {
         @Override
         public void run() {
             if (!cancelled) {
-                boolean fail = false;
-                AsyncFuture<Long> future = null;
-                try {
-                    if (interval < 1 || System.currentTimeMillis() - channelHandler.getLastMessageReceivedTime() > interval) {
-                        future = channelHandler.executeRequest(ManagementPingRequest.INSTANCE, null).getResult();
-                        Long id = future.get(timeout, TimeUnit.MILLISECONDS);
-                        if (!cancelled && remoteConnectionID != null && !remoteConnectionID.equals(id)) {
-                            HostControllerLogger.DOMAIN_LOGGER.slaveHostControllerChanged(hostName);
-                            fail = true;
-                        } else {
-                            remoteConnectionID = id;
-                        }
+                if (interval < 1 || System.currentTimeMillis() - channelHandler.getLastMessageReceivedTime() > interval) {
+                    try {
+                        // Rather than blocking a scheduler thread until the response arrives, let the shared
+                        // request timeout fail the ping and check the outcome once it completes
+                        final AsyncFuture<Long> future = channelHandler.executeRequest(ManagementPingRequest.INSTANCE, null,
+                                timeout, TimeUnit.MILLISECONDS).getResult();
+                        future.addListener(new AsyncFuture.Listener<Long, Void>() {
+                            @Override
+                            public void handleComplete(AsyncFuture<? extends Long> asyncFuture, Void attachment) {
+                                completed(asyncFuture);
+                            }
+
+                            @Override
+                            public void handleFailed(AsyncFuture<? extends Long> asyncFuture, Throwable cause, Void attachment) {
+                                completed(asyncFuture);
+                            }
+
+                            @Override
+                            public void handleCancelled(AsyncFuture<? extends Long> asyncFuture, Void attachment) {
+                                completed(asyncFuture);
+                            }
+                        }, null);
+                        return;
+                    } catch (IOException e) {
+                        HostControllerLogger.DOMAIN_LOGGER.debug("Caught exception sending ping request", e);
                     }
-                } catch (IOException e) {
-                    HostControllerLogger.DOMAIN_LOGGER.debug("Caught exception sending ping request", e);
-                } catch (InterruptedException e) {
-                    safeCancel(future);
-                    Thread.currentThread().interrupt();
-                } catch (ExecutionException e) {
-                    HostControllerLogger.DOMAIN_LOGGER.debug("Caught exception sending ping request", e);
-                } catch (TimeoutException e) {
+                }
+                reschedule();
+            }
+        }
+
+        private void completed(final AsyncFuture<? extends Long> future) {
+            // Not on the thread that completed the ping, which may be the one reading from the channel
+            scheduler.execute(() -> handleResult(future));
+        }
+
+        private void handleResult(final AsyncFuture<? extends Long> future) {
+            boolean fail = false;
+            try {
+                Long id = future.get();
+                if (!cancelled && remoteConnectionID != null && !remoteConnectionID.equals(id)) {
+                    HostControllerLogger.DOMAIN_LOGGER.slaveHostControllerChanged(hostName);
+                    fail = true;
+                } else {
+                    remoteConnectionID = id;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
                     if (!cancelled) {
                         fail = true;
                         HostControllerLogger.DOMAIN_LOGGER.slaveHostControllerUnreachable(hostName, timeout);
                     }
-                    safeCancel(future);
-                } finally {
-                    if (fail) {
-                        Channel channel = null;
-                        try {
-                            channel = channelHandler.getChannel();
-                        } catch (IOException e) {
-                            // ignore; shouldn't happen as the channel is already established if this task is running
-                        }
-                        StreamUtils.safeClose(channel);
-                    } else if (!cancelled && interval > 0) {
-                        scheduler.schedule(this, interval, TimeUnit.MILLISECONDS);
+                } else {
+                    HostControllerLogger.DOMAIN_LOGGER.debug("Caught exception sending ping request", e);
+                }
+            } catch (CancellationException e) {
+                HostControllerLogger.DOMAIN_LOGGER.debug("Ping request cancelled", e);
+            } finally {
+                if (fail) {
+                    Channel channel = null;
+                    try {
+                        channel = channelHandler.getChannel();
+                    } catch (IOException e) {
+                        // ignore; shouldn't happen as the channel is already established if this task is running
                     }
+                    StreamUtils.safeClose(channel);
+                } else {
+                    reschedule();
                 }
             }
         }
 
-        void safeCancel(Future<?> future) {
-            if (future != null) {
-                future.cancel(true);
+        private void reschedule() {
+            if (!cancelled && interval > 0) {
+                scheduler.schedule(this, interval, TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.ServerSocket;
 import java.net.URI;
+import java.util.concurrent.TimeoutException;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
@@ -343,4 +344,29 @@ public interface ProtocolLogger extends BasicLogger {
 
     @Message(id = 60, value = "Channel open request timed out")
     IOException channelTimedOut();
+
+    @LogMessage(level = ERROR)
+    @Message(id = 61, value = "Failed executing timeout task")
+    void timeoutTaskFailed(@Cause Throwable cause);
+
+    /**
+     * Creates an exception indicating a timeout was scheduled on a stopped timer.
+     *
+     * @param name the name of the timer
+     *
+     * @return an {@link IllegalStateException} for the error.
+     */
+    @Message(id = 62, value = "Timer %s is stopped")
+    IllegalStateException timeoutWheelStopped(String name);
+
+    /**
+     * Creates an exception indicating an active operation did not complete in time.
+     *
+     * @param operationId the operation id
+     * @param timeout the timeout in milliseconds
+     *
+     * @return a {@link TimeoutException} for the error.
+     */
+    @Message(id = 63, value = "Operation %d did not complete within %d ms")
+    TimeoutException operationTimedOut(int operationId, long timeout);
 }
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
@@ -81,6 +82,9 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         return callback;
     }
 
+    // Shared by all handlers; its thread only runs while timeouts are pending
+    private static final TimeoutWheel TIMEOUTS = new TimeoutWheel(100, TimeUnit.MILLISECONDS, 512, "management-request-timeout");
+
     private final ConcurrentMap<Integer, ActiveOperationImpl<?, ?>> activeRequests = new ConcurrentHashMap<> (16, 0.75f, Runtime.getRuntime().availableProcessors());
     private final ManagementBatchIdManager operationIdManager = new ManagementBatchIdManager.DefaultManagementBatchIdManager();
 
@@ -225,6 +229,9 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
             // Handle response to local requests
             final ManagementResponseHeader response =  (ManagementResponseHeader) header;
             final ActiveRequest<?, ?> request = requests.remove(response.getResponseId());
+            if (request != null && request.context instanceof ActiveOperationImpl) {
+                ((ActiveOperationImpl<?, ?>) request.context).requestIds.remove(response.getResponseId());
+            }
             if(request == null) {
                 ProtocolLogger.CONNECTION_LOGGER.noSuchRequest(response.getResponseId(), channel);
                 safeWriteErrorResponse(channel, header, ProtocolLogger.ROOT_LOGGER.responseHandlerNotFound(response.getResponseId()));
@@ -263,6 +270,9 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         final Integer requestId = this.requestID.incrementAndGet();
         final ActiveRequest<T, A> ar = new ActiveRequest<T, A>(support, request);
         requests.put(requestId, ar);
+        if (support instanceof ActiveOperationImpl) {
+            ((ActiveOperationImpl<?, ?>) support).requestIds.add(requestId);
+        }
         final ManagementRequestHeader header = new ManagementRequestHeader(ManagementProtocol.VERSION, requestId, support.getOperationId(), request.getOperationType());
         final ActiveOperation.ResultHandler<T> resultHandler = support.getResultHandler();
         try {
@@ -444,6 +454,44 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         return operations;
     }
 
+    /**
+     * Fails an active operation with a {@link java.util.concurrent.TimeoutException} if it has not completed within
+     * the given time. The timeout is tracked by a {@link TimeoutWheel} shared by all handlers and cancelled once
+     * the operation completes, so no timer task is created per operation.
+     *
+     * @param operation the active operation
+     * @param timeout the timeout
+     * @param unit the unit of {@code timeout}
+     */
+    public void setTimeout(final ActiveOperation<?, ?> operation, final long timeout, final TimeUnit unit) {
+        final TimeoutWheel.Timeout scheduled = TIMEOUTS.schedule(() -> {
+            final Runnable expire = () -> operation.getResultHandler().failed(
+                    ProtocolLogger.ROOT_LOGGER.operationTimedOut(operation.getOperationId(), unit.toMillis(timeout)));
+            // Completing the operation runs its callbacks, which must not hold up the timer thread
+            try {
+                getExecutor().execute(expire);
+            } catch (RejectedExecutionException e) {
+                expire.run();
+            }
+        }, timeout, unit);
+        operation.getResult().addListener(new AsyncFuture.Listener<Object, Void>() {
+            @Override
+            public void handleComplete(final AsyncFuture<?> future, final Void attachment) {
+                scheduled.cancel();
+            }
+
+            @Override
+            public void handleFailed(final AsyncFuture<?> future, final Throwable cause, final Void attachment) {
+                scheduled.cancel();
+            }
+
+            @Override
+            public void handleCancelled(final AsyncFuture<?> future, final Void attachment) {
+                scheduled.cancel();
+            }
+        }, null);
+    }
+
     /**
      * Remove an active operation.
      *
@@ -452,7 +500,12 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      */
     protected <T, A> ActiveOperation<T, A> removeActiveOperation(Integer id) {
         final ActiveOperation<T, A> removed = removeUnderLock(id);
-        if(removed != null) {
+        if (removed instanceof ActiveOperationImpl) {
+            // Only remove the operation's own requests rather than scanning all of them
+            for (final Integer requestId : ((ActiveOperationImpl<?, ?>) removed).requestIds) {
+                requests.remove(requestId);
+            }
+        } else if(removed != null) {
             for(final Map.Entry<Integer, ActiveRequest<?, ?>> requestEntry : requests.entrySet()) {
                 final ActiveRequest<?, ?> request = requestEntry.getValue();
                 if(request.context == removed) {
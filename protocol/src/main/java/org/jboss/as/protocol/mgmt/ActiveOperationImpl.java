@@ -19,6 +19,8 @@ package org.jboss.as.protocol.mgmt;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.logging.ProtocolLogger;
@@ -45,6 +47,8 @@ class ActiveOperationImpl<T, A> extends AsyncFutureTask<T> implements ActiveOper
     private final A attachment;
     private final Integer operationId;
     private final ResultHandler<T> resultHandler;
+    // The ids of the requests sent on behalf of this operation that still await a response
+    final Set<Integer> requestIds = ConcurrentHashMap.newKeySet();
     private List<Cancellable> cancellables;
     private volatile Channel channel;
 
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.jboss.as.protocol.logging.ProtocolLogger;
+
+/**
+ * Output stream for a response message which deflates the response body once it grows beyond a threshold.
+ * <p>
+ * Whether the body is compressed is signalled in the {@link ManagementResponseHeader}, so the header is only
+ * written once that is known. Up to {@code threshold} bytes of the body are buffered, and flushing has no effect
+ * until the threshold is exceeded; if the stream is closed before that the body is sent as is. Otherwise the header is written with
+ * {@link ManagementProtocol#RESPONSE_COMPRESSED_BODY} and the body, including the bytes buffered so far, is
+ * deflated.
+ */
+final class CompressedResponseOutputStream extends OutputStream {
+
+    /**
+     * The body size in bytes above which responses are compressed. A negative value disables compression.
+     */
+    static final String COMPRESSION_THRESHOLD_PROPERTY = "jboss.as.management.protocol.compression-threshold";
+    static final int DEFAULT_THRESHOLD = 64 * 1024;
+    private static final int THRESHOLD = getConfiguredThreshold();
+
+    private final ManagementResponseHeader header;
+    private final OutputStream output;
+    private final int threshold;
+    private ByteArrayOutputStream buffer;
+    private OutputStream delegate;
+    private Deflater deflater;
+    private boolean closed;
+
+    CompressedResponseOutputStream(final ManagementResponseHeader header, final OutputStream output, final int threshold) {
+        this.header = header;
+        this.output = output;
+        this.threshold = threshold;
+        this.buffer = new ByteArrayOutputStream(Math.min(threshold, 8192));
+    }
+
+    /**
+     * Writes a message with the given header, compressing the body if the header is a response to a peer
+     * supporting compression.
+     *
+     * @param header the message header
+     * @param os the message output stream
+     * @return the output for the message body
+     * @throws IOException for any error
+     */
+    static FlushableDataOutput writeMessage(final ManagementProtocolHeader header, final OutputStream os) throws IOException {
+        if (isCompressible(header, THRESHOLD)) {
+            return FlushableDataOutputImpl.create(new CompressedResponseOutputStream((ManagementResponseHeader) header, os, THRESHOLD));
+        }
+        return AbstractMessageHandler.writeHeader(header, os);
+    }
+
+    static boolean isCompressible(final ManagementProtocolHeader header, final int threshold) {
+        if (threshold < 0 || header.getType() != ManagementProtocol.TYPE_RESPONSE) {
+            return false;
+        }
+        final ManagementResponseHeader response = (ManagementResponseHeader) header;
+        return !response.isFailed() && !response.isCompressed() && response.getVersion() >= ManagementProtocol.COMPRESSION_VERSION;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (delegate == null) {
+            buffer.write(b);
+            if (buffer.size() > threshold) {
+                start(true);
+            }
+        } else {
+            delegate.write(b);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (delegate == null) {
+            if (buffer.size() + len > threshold) {
+                start(true);
+                delegate.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        } else {
+            delegate.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Closing the data output flushes first, so a body still being buffered must not be committed here
+        if (delegate != null) {
+            delegate.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (delegate == null) {
+                start(false);
+            } else if (deflater != null) {
+                ((DeflaterOutputStream) delegate).finish();
+            }
+            output.close();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private void start(final boolean compress) throws IOException {
+        if (compress) {
+            new ManagementResponseHeader(header.getVersion(), header.getResponseId(), true).write(new DataOutputStream(output));
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            delegate = new DeflaterOutputStream(output, deflater, 8192, true);
+        } else {
+            header.write(new DataOutputStream(output));
+            delegate = output;
+        }
+        buffer.writeTo(delegate);
+        buffer = null;
+    }
+
+    private static int getConfiguredThreshold() {
+        final String value = SecurityActions.getSystemProperty(COMPRESSION_THRESHOLD_PROPERTY);
+        if (value == null) {
+            return DEFAULT_THRESHOLD;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            ProtocolLogger.ROOT_LOGGER.tracef("Ignoring invalid value %s of %s", value, COMPRESSION_THRESHOLD_PROPERTY);
+            return DEFAULT_THRESHOLD;
+        }
+    }
+}
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
@@ -119,6 +120,25 @@ public final class ManagementChannelHandler extends AbstractMessageHandler imple
         return operation;
     }
 
+    /**
+     * Execute a request as a new active operation, which fails with a {@link java.util.concurrent.TimeoutException}
+     * if it has not completed within the given time.
+     *
+     * @param request the request
+     * @param attachment the attachment
+     * @param timeout the timeout
+     * @param unit the unit of {@code timeout}
+     * @return the created active operation
+     * @throws IOException
+     * @see #setTimeout(ActiveOperation, long, TimeUnit)
+     */
+    public <T, A> ActiveOperation<T, A> executeRequest(final ManagementRequest<T, A> request, final A attachment, final long timeout, final TimeUnit unit) throws IOException {
+        final ActiveOperation<T, A> operation = super.registerActiveOperation(attachment);
+        setTimeout(operation, timeout, unit);
+        executeRequest(operation, request);
+        return operation;
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T, A> AsyncFuture<T> executeRequest(final Integer operationId, final ManagementRequest<T, A> request) throws IOException {
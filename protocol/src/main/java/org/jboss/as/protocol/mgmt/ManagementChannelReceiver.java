@@ -26,6 +26,8 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.logging.ProtocolLogger;
@@ -64,9 +66,10 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
         try {
             ProtocolLogger.ROOT_LOGGER.tracef("%s handling incoming data", this);
             lastMessageTime = System.currentTimeMillis();
-            final DataInput input = new DataInputStream(message);
-            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(input);
+            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(new DataInputStream(message));
             final byte type = header.getType();
+            final Inflater inflater = type == ManagementProtocol.TYPE_RESPONSE && ((ManagementResponseHeader) header).isCompressed() ? new Inflater() : null;
+            final DataInput input = new DataInputStream(inflater == null ? message : new InflaterInputStream(message, inflater));
             try {
                 if (type == ManagementProtocol.TYPE_PING) {
                     // Handle legacy ping/pong directly
@@ -93,6 +96,9 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
                 } catch (IOException ignore) {
                     //
                 }
+                if (inflater != null) {
+                    inflater.end();
+                }
             }
             message.close();
         } catch(IOException e) {
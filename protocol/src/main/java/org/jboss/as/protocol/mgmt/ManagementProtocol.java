@@ -29,7 +29,8 @@ public interface ManagementProtocol {
     // Headers
     byte[] SIGNATURE = {Byte.MAX_VALUE, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.MIN_VALUE};
     int VERSION_FIELD = 0x00; // The version field header
-    int VERSION = 2; // The current protocol version
+    int VERSION = 3; // The current protocol version
+    int COMPRESSION_VERSION = 3; // The first protocol version supporting compressed response bodies
 
     byte TYPE = 0x1;
     byte TYPE_REQUEST = 0x2;
@@ -50,4 +51,5 @@ public interface ManagementProtocol {
     byte RESPONSE_BODY = 0x22;
     byte RESPONSE_ERROR = 0x23;
     byte RESPONSE_END = 0x24;
+    byte RESPONSE_COMPRESSED_BODY = 0x25;
 }
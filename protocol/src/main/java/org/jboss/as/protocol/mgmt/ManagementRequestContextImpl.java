@@ -120,7 +120,7 @@ class ManagementRequestContextImpl<T, A> implements ManagementRequestContext<A>
     @Override
     public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
         final MessageOutputStream os = channel.writeMessage();
-        return AbstractMessageHandler.writeHeader(header, os);
+        return CompressedResponseOutputStream.writeMessage(header, os);
     }
 
     private abstract static class AsyncTaskRunner implements Runnable, Cancellable {
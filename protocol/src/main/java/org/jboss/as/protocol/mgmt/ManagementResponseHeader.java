@@ -40,6 +40,7 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
     private int responseId;
     private boolean failed = false;
     private String error;
+    private boolean compressed;
 
     /**
      * Construct an instance with the protocol version for the header.
@@ -55,6 +56,11 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         this.failed = error != null;
     }
 
+    ManagementResponseHeader(final int version, final int responseId, final boolean compressed) {
+        this(version, responseId, null);
+        this.compressed = compressed;
+    }
+
     ManagementResponseHeader(final int version, final DataInput input) throws IOException {
         super(version);
         read(input);
@@ -68,6 +74,8 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         if (type == ManagementProtocol.RESPONSE_ERROR) {
             this.failed = true;
             error = input.readUTF();
+        } else if (type == ManagementProtocol.RESPONSE_COMPRESSED_BODY) {
+            this.compressed = true;
         } else if (type != ManagementProtocol.RESPONSE_BODY) {
             throw ProtocolLogger.ROOT_LOGGER.invalidType("RESPONSE_ERROR", "RESPONSE_BODY", type);
         }
@@ -81,6 +89,8 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         if (error != null) {
             output.write(ManagementProtocol.RESPONSE_ERROR);
             output.writeUTF(error);
+        } else if (compressed) {
+            output.write(ManagementProtocol.RESPONSE_COMPRESSED_BODY);
         } else {
             output.write(ManagementProtocol.RESPONSE_BODY);
         }
@@ -95,6 +105,16 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         return failed;
     }
 
+    /**
+     * Whether the remainder of the message following this header is deflate compressed. Only responses to
+     * peers using at least {@link ManagementProtocol#COMPRESSION_VERSION} may be compressed.
+     *
+     * @return {@code true} if the response body is compressed, {@code false} otherwise
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
     /**
      * The response id.  This should correspond to the id of the request.
      *
@@ -0,0 +1,303 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.protocol.logging.ProtocolLogger;
+
+/**
+ * Hashed wheel timer for the timeouts of management requests.
+ * <p>
+ * Timeouts are held in a ring of buckets, one per tick, so scheduling and cancelling a timeout are constant time
+ * operations and no per-timeout scheduler task is created. A single thread advances the wheel once per tick and
+ * runs the tasks of the timeouts expiring in that tick, so timeouts expire up to one tick late. Expired tasks run
+ * on the wheel thread and must not block; tasks doing more than trivial work should hand it off to an executor.
+ * <p>
+ * The thread is started on first use and ends once no timeouts have been pending for a while, to be started again
+ * when the next timeout is scheduled, so a timer shared for the lifetime of the process does not keep an idle thread
+ * around. A timer can also be {@link #stop() stopped} by a user that owns it.
+ */
+public final class TimeoutWheel {
+
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final long DEFAULT_IDLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final String name;
+    private final long idleNanos;
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread worker;
+    private volatile boolean stopped;
+
+    // Only accessed by the worker thread
+    private long startTime;
+    private long tick;
+    private int size;
+
+    /**
+     * Creates a new timer.
+     *
+     * @param tickDuration the duration of a tick, which is the precision of the timeouts
+     * @param unit the unit of {@code tickDuration}
+     * @param ticksPerWheel the number of buckets. Rounded up to a power of two
+     * @param name the name of the timer thread
+     */
+    public TimeoutWheel(final long tickDuration, final TimeUnit unit, final int ticksPerWheel, final String name) {
+        this(tickDuration, unit, ticksPerWheel, name, DEFAULT_IDLE_NANOS);
+    }
+
+    TimeoutWheel(final long tickDuration, final TimeUnit unit, final int ticksPerWheel, final String name, final long idleNanos) {
+        this.idleNanos = idleNanos;
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        final int buckets = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.wheel = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = buckets - 1;
+        this.name = name;
+    }
+
+    /**
+     * Schedules a task to run once the given delay has elapsed, unless the returned timeout is cancelled before.
+     *
+     * @param task the task
+     * @param delay the delay
+     * @param unit the unit of {@code delay}
+     * @return the timeout
+     * @throws IllegalStateException if the timer was stopped
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (stopped) {
+            throw ProtocolLogger.ROOT_LOGGER.timeoutWheelStopped(name);
+        }
+        final Entry entry = new Entry(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pending.add(entry);
+        if (started.compareAndSet(false, true)) {
+            final Thread thread = SecurityActions.createDaemonThread(this::run, name);
+            worker = thread;
+            thread.start();
+        } else {
+            final Thread thread = worker;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Stops the timer. The timeouts still pending are discarded without running their tasks, and the timer thread
+     * ends.
+     */
+    public void stop() {
+        stopped = true;
+        final Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        startTime = System.nanoTime();
+        tick = 0;
+        while (!stopped) {
+            processCancelled();
+            if (size == 0 && pending.isEmpty()) {
+                LockSupport.parkNanos(this, idleNanos);
+                if (size == 0 && pending.isEmpty() && !exitIdle()) {
+                    return;
+                }
+                // Nothing is in the wheel, so restart the ticks from now
+                startTime = System.nanoTime();
+                tick = 0;
+                continue;
+            }
+            final long deadline = startTime + (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime()) < deadline && !stopped) {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+            if (stopped) {
+                break;
+            }
+            processCancelled();
+            processPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * Ends the worker thread if no timeouts were scheduled while it was idle.
+     *
+     * @return {@code true} if the thread should continue, {@code false} if it should end
+     */
+    private boolean exitIdle() {
+        started.set(false);
+        // A timeout scheduled before the flag was cleared saw a running thread and left it to us; one scheduled
+        // afterwards starts a new thread, unless we continue first
+        return !pending.isEmpty() && started.compareAndSet(false, true);
+    }
+
+    private void processPending() {
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            if (entry.state.get() != INIT) {
+                continue;
+            }
+            final long ticks = Math.max(tick, (entry.deadline - startTime) / tickNanos);
+            entry.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(entry);
+            size++;
+        }
+    }
+
+    private void processCancelled() {
+        Entry entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+                size--;
+            }
+        }
+    }
+
+    private void expire(final Bucket bucket) {
+        Entry entry = bucket.head;
+        while (entry != null) {
+            final Entry next = entry.next;
+            if (entry.remainingRounds <= 0) {
+                bucket.remove(entry);
+                size--;
+                if (entry.state.compareAndSet(INIT, EXPIRED)) {
+                    try {
+                        entry.task.run();
+                    } catch (Throwable t) {
+                        ProtocolLogger.ROOT_LOGGER.timeoutTaskFailed(t);
+                    }
+                }
+            } else {
+                entry.remainingRounds--;
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the timeout, so its task will not run.
+         *
+         * @return {@code true} if the timeout was cancelled, {@code false} if it already expired or was cancelled
+         */
+        boolean cancel();
+
+        /**
+         * Gets whether the timeout expired and its task was run.
+         *
+         * @return {@code true} if the timeout expired
+         */
+        boolean isExpired();
+    }
+
+    private final class Entry implements Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                // Unlinked by the worker thread; entries still pending are simply skipped
+                cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    private static final class Bucket {
+
+        private Entry head;
+        private Entry tail;
+
+        void add(final Entry entry) {
+            entry.bucket = this;
+            if (tail == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        void remove(final Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.prev = entry.next = null;
+            entry.bucket = null;
+        }
+    }
+}
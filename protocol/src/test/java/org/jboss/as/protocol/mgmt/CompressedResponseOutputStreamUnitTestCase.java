@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CompressedResponseOutputStream}.
+ */
+public class CompressedResponseOutputStreamUnitTestCase {
+
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    public void testLargeBodyIsCompressed() throws IOException {
+        final byte[] body = createBody(64 * THRESHOLD);
+        final byte[] message = writeMessage(body);
+        assertTrue(message.length < body.length);
+
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(message));
+        final ManagementResponseHeader header = (ManagementResponseHeader) ManagementProtocolHeader.parse(input);
+        assertTrue(header.isCompressed());
+        assertEquals(7, header.getResponseId());
+        assertBody(body, new DataInputStream(new InflaterInputStream(input)));
+    }
+
+    @Test
+    public void testSmallBodyIsNotCompressed() throws IOException {
+        final byte[] body = createBody(THRESHOLD / 2);
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(writeMessage(body)));
+        final ManagementResponseHeader header = (ManagementResponseHeader) ManagementProtocolHeader.parse(input);
+        assertFalse(header.isCompressed());
+        assertBody(body, input);
+    }
+
+    @Test
+    public void testCompressionIsNegotiated() {
+        assertTrue(CompressedResponseOutputStream.isCompressible(new ManagementResponseHeader(ManagementProtocol.VERSION, 1, null), THRESHOLD));
+        // Peers using an older protocol version cannot read compressed bodies
+        assertFalse(CompressedResponseOutputStream.isCompressible(new ManagementResponseHeader(2, 1, null), THRESHOLD));
+        assertFalse(CompressedResponseOutputStream.isCompressible(new ManagementResponseHeader(ManagementProtocol.VERSION, 1, "error"), THRESHOLD));
+        assertFalse(CompressedResponseOutputStream.isCompressible(new ManagementRequestHeader(ManagementProtocol.VERSION, 1, 1, (byte) 1), THRESHOLD));
+        assertFalse(CompressedResponseOutputStream.isCompressible(new ManagementResponseHeader(ManagementProtocol.VERSION, 1, null), -1));
+    }
+
+    private static byte[] writeMessage(final byte[] body) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final ManagementResponseHeader header = new ManagementResponseHeader(ManagementProtocol.VERSION, 7, null);
+        final FlushableDataOutput output = FlushableDataOutputImpl.create(new CompressedResponseOutputStream(header, os, THRESHOLD));
+        for (byte b : body) {
+            output.writeByte(b);
+        }
+        output.flush();
+        output.writeByte(ManagementProtocol.RESPONSE_END);
+        output.close();
+        return os.toByteArray();
+    }
+
+    private static byte[] createBody(final int size) {
+        final byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) (i % 16);
+        }
+        return body;
+    }
+
+    private static void assertBody(final byte[] expected, final DataInputStream input) throws IOException {
+        final byte[] actual = new byte[expected.length];
+        input.readFully(actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(ManagementProtocol.RESPONSE_END, input.readByte());
+    }
+}
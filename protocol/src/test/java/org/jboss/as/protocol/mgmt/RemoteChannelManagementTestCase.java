@@ -28,6 +28,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jboss.as.protocol.mgmt.support.RemoteChannelPairSetup;
 import org.jboss.as.protocol.mgmt.support.RemotingChannelPairSetup;
@@ -198,6 +199,19 @@ public class RemoteChannelManagementTestCase {
         Assert.assertEquals(future.getStatus(), AsyncFuture.Status.CANCELLED);
     }
 
+    @Test
+    public void testRequestTimeout() throws Exception {
+        final SimpleClient client = SimpleClient.create(channels);
+        final SimpleHandlers.Request request = new SimpleHandlers.Request(SimpleHandlers.REQUEST_WITH_NO_RESPONSE, 600);
+        final AsyncFuture<Integer> future = client.execute(request, 500, TimeUnit.MILLISECONDS);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException expected) {
+            Assert.assertTrue(expected.getCause() instanceof TimeoutException);
+        }
+    }
+
     @Test
     public void testCancelAsyncTask() throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
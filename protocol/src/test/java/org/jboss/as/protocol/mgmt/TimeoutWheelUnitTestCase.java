@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link TimeoutWheel}.
+ */
+public class TimeoutWheelUnitTestCase {
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel(10, TimeUnit.MILLISECONDS, 4, "test");
+        final CountDownLatch expired = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        // Longer than a full turn of the wheel
+        final TimeoutWheel.Timeout timeout = wheel.schedule(expired::countDown, 100, TimeUnit.MILLISECONDS);
+        assertTrue(expired.await(10, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel(10, TimeUnit.MILLISECONDS, 8, "test");
+        final AtomicInteger expired = new AtomicInteger();
+        final CountDownLatch last = new CountDownLatch(1);
+        for (int i = 0; i < 1000; i++) {
+            final TimeoutWheel.Timeout timeout = wheel.schedule(expired::incrementAndGet, i % 50, TimeUnit.MILLISECONDS);
+            if (i % 2 == 0) {
+                assertTrue(timeout.cancel());
+                assertFalse(timeout.cancel());
+            }
+        }
+        wheel.schedule(last::countDown, 100, TimeUnit.MILLISECONDS);
+        assertTrue(last.await(10, TimeUnit.SECONDS));
+        assertEquals(500, expired.get());
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel(10, TimeUnit.MILLISECONDS, 8, "test");
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final AtomicReference<ClassLoader> loader = new AtomicReference<>(getClass().getClassLoader());
+        wheel.schedule(() -> {
+            thread.set(Thread.currentThread());
+            loader.set(Thread.currentThread().getContextClassLoader());
+            started.countDown();
+        }, 0, TimeUnit.MILLISECONDS);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        // The timer thread must not keep the class loader of the thread that started it
+        assertNull(loader.get());
+
+        final AtomicBoolean expired = new AtomicBoolean();
+        wheel.schedule(() -> expired.set(true), 1, TimeUnit.HOURS);
+        wheel.stop();
+        thread.get().join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(thread.get().isAlive());
+        assertFalse(expired.get());
+        try {
+            wheel.schedule(() -> expired.set(true), 0, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIdleThreadEnds() throws InterruptedException {
+        final TimeoutWheel wheel = new TimeoutWheel(10, TimeUnit.MILLISECONDS, 8, "test", TimeUnit.MILLISECONDS.toNanos(50));
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final CountDownLatch first = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            thread.set(Thread.currentThread());
+            first.countDown();
+        }, 0, TimeUnit.MILLISECONDS);
+        assertTrue(first.await(10, TimeUnit.SECONDS));
+        thread.get().join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(thread.get().isAlive());
+
+        // A new thread is started for the next timeout
+        final CountDownLatch second = new CountDownLatch(1);
+        wheel.schedule(second::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(second.await(10, TimeUnit.SECONDS));
+        wheel.stop();
+    }
+}
@@ -204,6 +204,12 @@ public class SimpleHandlers {
             return super.executeRequest(request, channel, support);
         }
 
+        public AsyncFuture<Integer> execute(ManagementRequest<Integer, Void> request, long timeout, TimeUnit unit) {
+            final ActiveOperation<Integer, Void> support = super.registerActiveOperation(null);
+            setTimeout(support, timeout, unit);
+            return super.executeRequest(request, channel, support);
+        }
+
         public static SimpleClient create(final Channel channel, final ExecutorService executorService) {
             final SimpleClient client = new SimpleClient(channel, executorService);
             channel.addCloseHandler(new CloseHandler<Channel>() {
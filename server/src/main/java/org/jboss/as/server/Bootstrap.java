@@ -22,6 +22,7 @@
 
 package org.jboss.as.server;
 
+import java.io.File;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -36,6 +37,7 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
 import org.jboss.as.controller.parsing.Namespace;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootOperationCache;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.server.controller.git.GitConfigurationPersister;
@@ -47,6 +49,7 @@ import org.jboss.msc.service.ServiceActivator;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The application server bootstrap interface.  Get a new instance via {@link Factory#newInstance()}.
@@ -222,6 +225,10 @@ public interface Bootstrap {
                                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "server"), parser);
                             }
                         }
+                        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BootOperationCache.ENABLED_PROPERTY, "false"))) {
+                            File cacheFile = new File(serverEnvironment.getServerDataDir(), configurationFile.getMainFile().getName() + ".boot-ops");
+                            persister.setBootOperationCache(new BootOperationCache(cacheFile, Module.getBootModuleLoader()));
+                        }
                         extensionRegistry.setWriterRegistry(persister);
                         return persister;
                     }
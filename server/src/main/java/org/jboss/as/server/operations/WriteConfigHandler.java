@@ -24,6 +24,8 @@ public class WriteConfigHandler implements OperationStepHandler {
 
     @Override
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        // Marking the root resource as affected also ensures the configuration is written before the
+        // operation completes, even if the persister otherwise defers writes
         context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
     }
 }
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.jboss.as.controller.ExpressionResolverImpl;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleClassLoader;
@@ -159,12 +160,15 @@ final class VaultReaderImpl extends AbstractVaultReader {
             throw ServerLogger.ROOT_LOGGER.cannotCreateVault(e, e);
         }
         this.vault = vault;
+        // Expressions may now resolve to vaulted values
+        ExpressionResolverImpl.invalidateResolutionCaches();
     }
 
     protected void destroyVault() {
         //TODO - there are no cleanup methods in the vault itself
         vault = null;
         missingVaultLogged.set(false);
+        ExpressionResolverImpl.invalidateResolutionCaches();
     }
 
     @Override